@@ -0,0 +1,66 @@
+package com.kestrel.benchmarks;
+
+import com.kestrel.api.clients.ApiClient;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Kestrel Engine ApiClient Benchmark
+ * Request specification construction done for every scenario (new ApiClient) and negative test
+ *
+ * No request is sent; api.url is never contacted.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dapi.mode=live",
+    "-Dorg.slf4j.simpleLogger.logFile=build/reports/jmh/benchmark.log"
+})
+public class ApiClientBenchmark {
+    
+    @Benchmark
+    public ApiClient clientConstruction() {
+        return new ApiClient();
+    }
+    
+    @Benchmark
+    public RequestSpecification unauthenticatedSpec(ClientState state) {
+        return state.client.getUnauthenticatedSpec();
+    }
+    
+    @Benchmark
+    public RequestSpecification cachedSpecRequest(ClientState state) {
+        return state.client.getRequestSpec();
+    }
+    
+    @Benchmark
+    public RequestSpecification bareSpec() {
+        return given()
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .log().ifValidationFails();
+    }
+    
+    @State(Scope.Thread)
+    public static class ClientState {
+        final ApiClient client = new ApiClient();
+    }
+}
@@ -0,0 +1,21 @@
+package com.kestrel.benchmarks;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Kestrel Engine Async Logging Benchmark
+ * LoggingBenchmark re-run with the async JSON pipeline as SLF4J binding (-Dlog.mode=async)
+ *
+ * Compare with LoggingBenchmark for the caller-side cost before/after. Benchmarks log
+ * continuously, so on machines with few cores the writer thread, not the queue, sets the limit.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dslf4j.provider=com.kestrel.logging.KestrelLogServiceProvider",
+    "-Dlog.async.path=build/reports/jmh/logs",
+    "-Dlog.async.console.level=off"
+})
+public class AsyncLoggingBenchmark extends LoggingBenchmark {
+}
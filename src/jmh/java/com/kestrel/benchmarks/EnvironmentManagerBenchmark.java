@@ -0,0 +1,76 @@
+package com.kestrel.benchmarks;
+
+import com.kestrel.utils.EnvironmentManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kestrel Engine EnvironmentManager Benchmark
+ * Cost of configuration lookups made from hooks, page objects and clients on every step
+ *
+ * legacy* benchmarks reproduce the previous System.getProperty + parse-per-call lookup
+ * for comparison with the typed KestrelConfig snapshot.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=build/reports/jmh/benchmark.log")
+public class EnvironmentManagerBenchmark {
+    
+    private final Properties legacyProperties = new Properties();
+    
+    @Setup
+    public void setup() {
+        // Force static initialization outside the measured region
+        EnvironmentManager.getConfig();
+        legacyProperties.setProperty("implicit.wait", "10");
+        legacyProperties.setProperty("headless", "true");
+    }
+    
+    @Benchmark
+    public int typedImplicitWait() {
+        return EnvironmentManager.getImplicitWait();
+    }
+    
+    @Benchmark
+    public boolean typedHeadless() {
+        return EnvironmentManager.isHeadless();
+    }
+    
+    @Benchmark
+    public String snapshotProperty() {
+        return EnvironmentManager.getProperty("base.url");
+    }
+    
+    @Benchmark
+    public String fallbackProperty() {
+        // Key outside the snapshot: falls through to System.getProperty
+        return EnvironmentManager.getProperty("kestrel.benchmark.missing", "default");
+    }
+    
+    @Benchmark
+    public int legacyImplicitWait() {
+        return Integer.parseInt(System.getProperty("implicit.wait", legacyProperties.getProperty("implicit.wait")));
+    }
+    
+    @Benchmark
+    public boolean legacyHeadless() {
+        return Boolean.parseBoolean(System.getProperty("headless", legacyProperties.getProperty("headless")));
+    }
+}
@@ -0,0 +1,94 @@
+package com.kestrel.benchmarks;
+
+import com.kestrel.api.validation.JsonSchemaRegistry;
+import com.kestrel.api.validation.StreamingJsonValidator;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kestrel Engine JSON Extraction Benchmark
+ * JSON handling done by ApiStepDefinitions helpers on collection responses
+ *
+ * Responses are built in-process with ResponseBuilder (JSONPlaceholder-shaped users),
+ * so no HTTP is involved.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=build/reports/jmh/benchmark.log")
+public class JsonExtractionBenchmark {
+    
+    @Param({"10", "1000"})
+    public int users;
+    
+    private Response response;
+    private StreamingJsonValidator userRules;
+    
+    @Setup
+    public void setup() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= users; i++) {
+            json.append(i > 1 ? "," : "")
+                .append("{\"id\":").append(i)
+                .append(",\"name\":\"Leanne Graham ").append(i).append("\"")
+                .append(",\"username\":\"Bret").append(i).append("\"")
+                .append(",\"email\":\"Sincere").append(i).append("@april.biz\"")
+                .append(",\"address\":{\"street\":\"Kulas Light\",\"suite\":\"Apt. 556\",\"city\":\"Gwenborough\",")
+                .append("\"zipcode\":\"92998-3874\",\"geo\":{\"lat\":\"-37.3159\",\"lng\":\"81.1496\"}}")
+                .append(",\"phone\":\"1-770-736-8031 x56442\",\"website\":\"hildegard.org\"")
+                .append(",\"company\":{\"name\":\"Romaguera-Crona\",\"catchPhrase\":\"Multi-layered client-server\",")
+                .append("\"bs\":\"harness real-time e-markets\"}}");
+        }
+        response = new ResponseBuilder()
+            .setStatusCode(200)
+            .setContentType("application/json")
+            .setBody(json.append("]").toString())
+            .build();
+        userRules = new StreamingJsonValidator()
+            .require("id").require("name").require("username").require("email");
+        JsonSchemaRegistry.getSchema("users");
+    }
+    
+    @Benchmark
+    public int jsonPathGetList() {
+        List<Map<String, Object>> list = response.jsonPath().getList("$");
+        int valid = 0;
+        for (Map<String, Object> user : list) {
+            if (user.get("id") != null && user.get("name") != null
+                    && user.get("username") != null && user.get("email") != null) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+    
+    @Benchmark
+    public StreamingJsonValidator.Result streamingValidator() {
+        return userRules.validateArray(response.asInputStream());
+    }
+    
+    @Benchmark
+    public JsonSchemaRegistry.Result cachedSchemaValidation() {
+        return JsonSchemaRegistry.validate("users", response.asString());
+    }
+}
@@ -0,0 +1,62 @@
+package com.kestrel.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kestrel Engine Logging Benchmark
+ * Overhead of the emoji-formatted logger.info calls made on every step
+ *
+ * Output goes to build/reports/jmh/benchmark.log (slf4j-simple logFile) so console
+ * speed does not dominate the result.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=build/reports/jmh/benchmark.log")
+public class LoggingBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingBenchmark.class);
+    
+    private final String endpoint = "/users/1";
+    private final int status = 200;
+    
+    @Benchmark
+    public void emojiInfo() {
+        logger.info("🎯 GET Hunt: {} -> {}", endpoint, status);
+    }
+    
+    @Benchmark
+    public void plainInfo() {
+        logger.info("GET Hunt: {} -> {}", endpoint, status);
+    }
+    
+    @Benchmark
+    public void multiLineInfo() {
+        // logResponseDetails() style: several info lines per response
+        logger.info("🔍 {} Results:", "User Reconnaissance");
+        logger.info("   ↳ Status: {} ({})", status, "HTTP/1.1 200 OK");
+        logger.info("   ↳ Response Time: {}ms", 42);
+        logger.info("   ↳ Content Type: {}", "application/json");
+    }
+    
+    @Benchmark
+    public void disabledDebug() {
+        logger.debug("✅ JavaScript executed successfully: {}", endpoint);
+    }
+}
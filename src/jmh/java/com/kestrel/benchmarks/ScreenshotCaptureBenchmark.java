@@ -0,0 +1,105 @@
+package com.kestrel.benchmarks;
+
+import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.ScreenshotCapture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kestrel Engine ScreenshotCapture Benchmark
+ * Screenshot decoding (Base64 PNG to bytes) and writing done for every failure and dev-mode step
+ *
+ * A proxy WebDriver returns a pre-rendered 1366x768 PNG, so the browser's own capture time
+ * is excluded and only the framework side is measured.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=build/reports/jmh/benchmark.log")
+public class ScreenshotCaptureBenchmark {
+    
+    private String base64Png;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BufferedImage image = new BufferedImage(1366, 768, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        // Blocky noise compresses roughly like a real page screenshot
+        for (int y = 0; y < image.getHeight(); y += 8) {
+            for (int x = 0; x < image.getWidth(); x += 8) {
+                int rgb = random.nextInt(0xFFFFFF);
+                for (int dy = 0; dy < 8 && y + dy < image.getHeight(); dy++) {
+                    for (int dx = 0; dx < 8 && x + dx < image.getWidth(); dx++) {
+                        image.setRGB(x + dx, y + dy, rgb);
+                    }
+                }
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        base64Png = Base64.getEncoder().encodeToString(png.toByteArray());
+        
+        DriverManager.registerDriver(stubDriver());
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.registerDriver(null);
+        File[] files = new File("build/screenshots").listFiles((dir, name) -> name.startsWith("jmh_"));
+        for (File file : files != null ? files : new File[0]) {
+            file.delete();
+        }
+    }
+    
+    @Benchmark
+    public byte[] captureToBytes() {
+        return ScreenshotCapture.captureScreenshot();
+    }
+    
+    @Benchmark
+    public String captureToFile() {
+        return ScreenshotCapture.captureScreenshotToFile("jmh_capture");
+    }
+    
+    private WebDriver stubDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {WebDriver.class, TakesScreenshot.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getScreenshotAs" -> ((OutputType<?>) args[0]).convertFromBase64Png(base64Png);
+                case "getCurrentUrl" -> "about:blank";
+                case "getTitle" -> "Kestrel Benchmark";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "KestrelStubDriver";
+                default -> null;
+            });
+    }
+}
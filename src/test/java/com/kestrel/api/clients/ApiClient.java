@@ -1,12 +1,24 @@
 package com.kestrel.api.clients;
 
+import com.kestrel.api.stubs.ApiFixtureStore;
+import com.kestrel.api.stubs.ApiStubServer;
+import com.kestrel.api.stubs.ApiTrafficRecorder;
+import com.kestrel.impact.ImpactRecorder;
 import com.kestrel.utils.EnvironmentManager;
-import io.restassured.RestAssured;
+import com.kestrel.utils.HostCircuitBreaker;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
 import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -18,49 +30,68 @@ import static io.restassured.RestAssured.given;
  * - No authentication required (JSONPlaceholder)
  * - Request/Response logging
  * - Error handling
+ * - Record/replay traffic modes (api.mode=live|record|replay)
+ * - Parallel-safe: per-target immutable specifications, no RestAssured globals
+ * - Fail-fast against unreachable hosts (HostCircuitBreaker)
  * 
  * @author Kestrel Engine
  * @version 1.0.0
  */
 public class ApiClient {
     private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
-    private RequestSpecification requestSpec;
+    private static final String JSON = "application/json";
+    private static final Map<String, RequestSpecification> SPEC_CACHE = new ConcurrentHashMap<>();
+    private static final Set<Integer> HOST_DOWN_STATUSES = Set.of(502, 503, 504);
+    private static ApiTrafficRecorder trafficRecorder;
+    private RequestSpecification baseSpec;
     private String baseUri;
     
+    // Target passed to the constructor, null when the client follows the environment configuration
+    private final String explicitUri;
+    
     /**
      * Initialize API Client with environment configuration
      */
     public ApiClient() {
-        initializeClient();
+        this.explicitUri = null;
+        initializeClient(EnvironmentManager.getApiUrl());
+    }
+    
+    /**
+     * Initialize API Client against an explicit target
+     * Clients for different targets can be used concurrently; no RestAssured global is touched
+     * @param baseUri API base URI (e.g., https://jsonplaceholder.typicode.com)
+     */
+    public ApiClient(String baseUri) {
+        this.explicitUri = baseUri;
+        initializeClient(baseUri);
     }
     
     /**
      * Initialize client with environment settings
+     * @param targetUri API base URI
      */
-    private void initializeClient() {
-        baseUri = EnvironmentManager.getApiUrl();
+    private void initializeClient(String targetUri) {
+        baseUri = targetUri;
         
         logger.info("🦅 Kestrel API Client armed for: {}", baseUri);
         logger.info("🔓 Using JSONPlaceholder - No authentication required");
+        logger.info("📼 API traffic mode: {}", EnvironmentManager.getApiMode());
         
-        // Configure RestAssured base URI
-        RestAssured.baseURI = baseUri;
-        
-        // Build default request specification (NO authentication headers)
-        requestSpec = given()
-            .header("Content-Type", "application/json")
-            .header("Accept", "application/json")
-            .log().ifValidationFails();
+        // Shared immutable base specification (NO authentication headers), built once per target
+        baseSpec = specFor(baseUri, JSON, JSON);
         
         logger.debug("✅ Kestrel API Client ready for hunt");
     }
     
     /**
      * Get configured request specification
+     * A new specification is returned on every call, so path/query params and bodies
+     * never leak between requests
      * @return RequestSpecification with headers and base config
      */
     public RequestSpecification getRequestSpec() {
-        return requestSpec;
+        return request();
     }
     
     /**
@@ -70,10 +101,80 @@ public class ApiClient {
      */
     public RequestSpecification getUnauthenticatedSpec() {
         logger.info("🎯 Kestrel standard operation - JSONPlaceholder requires no auth");
-        return given()
-            .header("Content-Type", "application/json")
-            .header("Accept", "application/json")
-            .log().ifValidationFails();
+        return request();
+    }
+    
+    /**
+     * Start a request from the cached base specification
+     * @return Fresh request specification for a single call
+     */
+    private RequestSpecification request() {
+        ImpactRecorder.recordCallers();
+        return given().spec(baseSpec).log().ifValidationFails();
+    }
+    
+    /**
+     * Get the cached base specification for a target and header combination
+     * Built specifications are never modified after creation and are shared between clients
+     * @param targetUri API base URI
+     * @param contentType Content-Type header
+     * @param accept Accept header
+     * @return Immutable base specification
+     */
+    private static RequestSpecification specFor(String targetUri, String contentType, String accept) {
+        boolean record = EnvironmentManager.isApiRecordMode();
+        String key = targetUri + "|" + contentType + "|" + accept + "|" + (record ? "record" : "plain");
+        return SPEC_CACHE.computeIfAbsent(key, k -> {
+            RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(targetUri)
+                .addHeader("Content-Type", contentType)
+                .addHeader("Accept", accept)
+                .addFilter(ApiClient::guardHost);
+            // Attach the fixture recorder when running with api.mode=record
+            if (record) {
+                builder.addFilter(getTrafficRecorder());
+            }
+            logger.debug("🧱 Built request specification for {}", k);
+            return builder.build();
+        });
+    }
+    
+    /**
+     * Circuit breaker filter: skips calls to a host that is down and reports every outcome
+     * Transport errors and 502/503/504 count as host failures; any other status is a normal answer.
+     * Faults injected by ApiStubServer are deliberate test conditions and are not reported.
+     */
+    private static Response guardHost(FilterableRequestSpecification request,
+                                      FilterableResponseSpecification response, FilterContext context) {
+        String uri = request.getURI();
+        HostCircuitBreaker.checkAvailable(uri);
+        try {
+            Response result = context.next(request, response);
+            if (result.getHeader(ApiStubServer.INJECTED_FAULT_HEADER) != null) {
+                return result;
+            }
+            if (HOST_DOWN_STATUSES.contains(result.getStatusCode())) {
+                HostCircuitBreaker.recordFailure(uri, "HTTP " + result.getStatusCode());
+            } else {
+                HostCircuitBreaker.recordSuccess(uri);
+            }
+            return result;
+        } catch (Exception e) {
+            HostCircuitBreaker.recordFailure(uri, e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Get shared traffic recorder (one fixture store per JVM)
+     * @return Traffic recorder
+     */
+    private static synchronized ApiTrafficRecorder getTrafficRecorder() {
+        if (trafficRecorder == null) {
+            trafficRecorder = new ApiTrafficRecorder(new ApiFixtureStore(EnvironmentManager.getApiFixturesPath()));
+            logger.info("📼 Recording API fixtures to: {}", EnvironmentManager.getApiFixturesPath());
+        }
+        return trafficRecorder;
     }
     
     // ===== USER ENDPOINTS =====
@@ -84,7 +185,7 @@ public class ApiClient {
      */
     public Response getAllUsers() {
         logger.info("🎯 GET Hunt: /users (all users)");
-        return requestSpec
+        return request()
             .when()
             .get("/users")
             .then()
@@ -102,7 +203,7 @@ public class ApiClient {
     public Response getAllUsers(int page, int limit) {
         logger.info("🎯 GET Hunt: /users (simulated pagination - page: {}, limit: {})", page, limit);
         logger.warn("⚠️ JSONPlaceholder doesn't support pagination - returning all users");
-        return requestSpec
+        return request()
             .when()
             .get("/users")
             .then()
@@ -117,7 +218,7 @@ public class ApiClient {
      */
     public Response getUserById(String userId) {
         logger.info("🎯 GET Hunt: /users/{}", userId);
-        return requestSpec
+        return request()
             .pathParam("id", userId)
             .when()
             .get("/users/{id}")
@@ -133,7 +234,7 @@ public class ApiClient {
      */
     public Response createUser(Object userPayload) {
         logger.info("🎯 POST Hunt: /users (create user)");
-        return requestSpec
+        return request()
             .body(userPayload)
             .when()
             .post("/users")
@@ -150,7 +251,7 @@ public class ApiClient {
      */
     public Response updateUser(String userId, Object userPayload) {
         logger.info("🎯 PUT Hunt: /users/{}", userId);
-        return requestSpec
+        return request()
             .pathParam("id", userId)
             .body(userPayload)
             .when()
@@ -167,7 +268,7 @@ public class ApiClient {
      */
     public Response deleteUser(String userId) {
         logger.info("🎯 DELETE Hunt: /users/{}", userId);
-        return requestSpec
+        return request()
             .pathParam("id", userId)
             .when()
             .delete("/users/{id}")
@@ -184,7 +285,7 @@ public class ApiClient {
      */
     public Response getAllPosts() {
         logger.info("🎯 GET Hunt: /posts (all posts)");
-        return requestSpec
+        return request()
             .when()
             .get("/posts")
             .then()
@@ -199,7 +300,7 @@ public class ApiClient {
      */
     public Response getPostById(String postId) {
         logger.info("🎯 GET Hunt: /posts/{}", postId);
-        return requestSpec
+        return request()
             .pathParam("id", postId)
             .when()
             .get("/posts/{id}")
@@ -216,7 +317,7 @@ public class ApiClient {
      */
     public Response getPostsByUserId(String userId) {
         logger.info("🎯 GET Hunt: /posts?userId={} (posts by user)", userId);
-        return requestSpec
+        return request()
             .queryParam("userId", userId)
             .when()
             .get("/posts")
@@ -232,7 +333,7 @@ public class ApiClient {
      */
     public Response createPost(Object postPayload) {
         logger.info("🎯 POST Hunt: /posts (create post)");
-        return requestSpec
+        return request()
             .body(postPayload)
             .when()
             .post("/posts")
@@ -249,7 +350,7 @@ public class ApiClient {
      */
     public Response updatePost(String postId, Object postPayload) {
         logger.info("🎯 PUT Hunt: /posts/{}", postId);
-        return requestSpec
+        return request()
             .pathParam("id", postId)
             .body(postPayload)
             .when()
@@ -266,7 +367,7 @@ public class ApiClient {
      */
     public Response deletePost(String postId) {
         logger.info("🎯 DELETE Hunt: /posts/{}", postId);
-        return requestSpec
+        return request()
             .pathParam("id", postId)
             .when()
             .delete("/posts/{id}")
@@ -283,7 +384,7 @@ public class ApiClient {
      */
     public Response getAllComments() {
         logger.info("🎯 GET Hunt: /comments (all comments)");
-        return requestSpec
+        return request()
             .when()
             .get("/comments")
             .then()
@@ -298,7 +399,7 @@ public class ApiClient {
      */
     public Response getCommentsByPostId(String postId) {
         logger.info("🎯 GET Hunt: /posts/{}/comments", postId);
-        return requestSpec
+        return request()
             .pathParam("postId", postId)
             .when()
             .get("/posts/{postId}/comments")
@@ -314,7 +415,7 @@ public class ApiClient {
      */
     public Response getCommentsByPostIdQuery(String postId) {
         logger.info("🎯 GET Hunt: /comments?postId={}", postId);
-        return requestSpec
+        return request()
             .queryParam("postId", postId)
             .when()
             .get("/comments")
@@ -331,7 +432,7 @@ public class ApiClient {
      */
     public Response getAllAlbums() {
         logger.info("🎯 GET Hunt: /albums (all albums)");
-        return requestSpec
+        return request()
             .when()
             .get("/albums")
             .then()
@@ -346,7 +447,7 @@ public class ApiClient {
      */
     public Response getAlbumById(String albumId) {
         logger.info("🎯 GET Hunt: /albums/{}", albumId);
-        return requestSpec
+        return request()
             .pathParam("id", albumId)
             .when()
             .get("/albums/{id}")
@@ -362,7 +463,7 @@ public class ApiClient {
      */
     public Response getAlbumsByUserId(String userId) {
         logger.info("🎯 GET Hunt: /albums?userId={}", userId);
-        return requestSpec
+        return request()
             .queryParam("userId", userId)
             .when()
             .get("/albums")
@@ -379,7 +480,7 @@ public class ApiClient {
      */
     public Response getAllPhotos() {
         logger.info("🎯 GET Hunt: /photos (all photos)");
-        return requestSpec
+        return request()
             .when()
             .get("/photos")
             .then()
@@ -394,7 +495,7 @@ public class ApiClient {
      */
     public Response getPhotoById(String photoId) {
         logger.info("🎯 GET Hunt: /photos/{}", photoId);
-        return requestSpec
+        return request()
             .pathParam("id", photoId)
             .when()
             .get("/photos/{id}")
@@ -410,7 +511,7 @@ public class ApiClient {
      */
     public Response getPhotosByAlbumId(String albumId) {
         logger.info("🎯 GET Hunt: /photos?albumId={}", albumId);
-        return requestSpec
+        return request()
             .queryParam("albumId", albumId)
             .when()
             .get("/photos")
@@ -427,7 +528,7 @@ public class ApiClient {
      */
     public Response getAllTodos() {
         logger.info("🎯 GET Hunt: /todos (all todos)");
-        return requestSpec
+        return request()
             .when()
             .get("/todos")
             .then()
@@ -442,7 +543,7 @@ public class ApiClient {
      */
     public Response getTodoById(String todoId) {
         logger.info("🎯 GET Hunt: /todos/{}", todoId);
-        return requestSpec
+        return request()
             .pathParam("id", todoId)
             .when()
             .get("/todos/{id}")
@@ -458,7 +559,7 @@ public class ApiClient {
      */
     public Response getTodosByUserId(String userId) {
         logger.info("🎯 GET Hunt: /todos?userId={}", userId);
-        return requestSpec
+        return request()
             .queryParam("userId", userId)
             .when()
             .get("/todos")
@@ -476,7 +577,7 @@ public class ApiClient {
      */
     public Response get(String endpoint) {
         logger.info("🎯 GET Hunt: {}", endpoint);
-        return requestSpec
+        return request()
             .when()
             .get(endpoint)
             .then()
@@ -492,7 +593,7 @@ public class ApiClient {
      */
     public Response post(String endpoint, Object body) {
         logger.info("🎯 POST Hunt: {}", endpoint);
-        return requestSpec
+        return request()
             .body(body)
             .when()
             .post(endpoint)
@@ -509,7 +610,7 @@ public class ApiClient {
      */
     public Response put(String endpoint, Object body) {
         logger.info("🎯 PUT Hunt: {}", endpoint);
-        return requestSpec
+        return request()
             .body(body)
             .when()
             .put(endpoint)
@@ -525,7 +626,7 @@ public class ApiClient {
      */
     public Response delete(String endpoint) {
         logger.info("🎯 DELETE Hunt: {}", endpoint);
-        return requestSpec
+        return request()
             .when()
             .delete(endpoint)
             .then()
@@ -543,8 +644,7 @@ public class ApiClient {
     public Response getWithMalformedRequest(String endpoint) {
         logger.info("🎯 GET Hunt (Malformed): {}", endpoint);
         return given()
-            .header("Content-Type", "application/xml") // Wrong content type
-            .header("Accept", "text/plain") // Wrong accept type
+            .spec(specFor(baseUri, "application/xml", "text/plain")) // Wrong content and accept types
             .log().ifValidationFails()
             .when()
             .get(endpoint)
@@ -561,7 +661,7 @@ public class ApiClient {
      */
     public Response postWithInvalidData(String endpoint, Object invalidBody) {
         logger.info("🎯 POST Hunt (Invalid Data): {}", endpoint);
-        return requestSpec
+        return request()
             .body(invalidBody)
             .when()
             .post(endpoint)
@@ -577,7 +677,7 @@ public class ApiClient {
      */
     public Response getInvalidEndpoint(String invalidEndpoint) {
         logger.info("🎯 GET Hunt (Invalid Endpoint): {}", invalidEndpoint);
-        return requestSpec
+        return request()
             .when()
             .get(invalidEndpoint)
             .then()
@@ -613,10 +713,11 @@ public class ApiClient {
     
     /**
      * Reset client configuration (useful for testing different environments)
+     * Clients built for an explicit target keep it; others re-read the environment target
      */
     public void resetClient() {
         logger.info("🔄 Resetting Kestrel API Client configuration");
-        initializeClient();
+        initializeClient(explicitUri != null ? explicitUri : EnvironmentManager.getApiUrl());
     }
     
     /**
@@ -626,7 +727,7 @@ public class ApiClient {
     public boolean isApiReachable() {
         try {
             logger.info("🔍 Testing API connectivity...");
-            Response response = requestSpec
+            Response response = request()
                 .when()
                 .get("/users/1")
                 .then()
@@ -647,7 +748,7 @@ public class ApiClient {
      */
     public Response getHealthStatus() {
         logger.info("🔍 Checking API health status...");
-        return requestSpec
+        return request()
             .when()
             .get("/users/1") // Using user/1 as health check for JSONPlaceholder
             .then()
@@ -1,6 +1,8 @@
 package com.kestrel.api.stepdefs;
 
 import com.kestrel.api.clients.ApiClient;
+import com.kestrel.api.validation.JsonSchemaRegistry;
+import com.kestrel.api.validation.StreamingJsonValidator;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
 import io.restassured.response.Response;
@@ -30,6 +32,14 @@ import static org.junit.jupiter.api.Assertions.*;
 public class ApiStepDefinitions {
     private static final Logger logger = LoggerFactory.getLogger(ApiStepDefinitions.class);
     
+    // Streaming field rules for collection responses (no jsonPath List<Map> materialization)
+    private static final StreamingJsonValidator USER_PROFILE_RULES = new StreamingJsonValidator()
+        .require("id").require("name").require("username").require("email");
+    private static final StreamingJsonValidator POST_TITLE_RULES = new StreamingJsonValidator()
+        .require("title");
+    private static final StreamingJsonValidator POST_STRUCTURE_RULES = new StreamingJsonValidator()
+        .require("id").require("userId").require("title").require("body");
+    
     private ApiClient apiClient;
     private Response lastResponse;
     private String currentUserId;
@@ -107,6 +117,7 @@ public class ApiStepDefinitions {
         Response usersResponse = apiClient.getAllUsers();
         
         assertThat("Users list should be available", usersResponse.getStatusCode(), is(200));
+        assertMatchesSchema("users", usersResponse);
         
         // JSONPlaceholder returns array directly, not in "data" wrapper
         List<Map<String, Object>> users = usersResponse.jsonPath().getList("$");
@@ -569,14 +580,7 @@ public class ApiStepDefinitions {
     
     @Then("each user profile should have required fields")
     public void eachUserProfileShouldHaveRequiredFields() {
-        List<Map<String, Object>> users = lastResponse.jsonPath().getList("$");
-        
-        for (Map<String, Object> user : users) {
-            assertThat("User should have ID", user.get("id"), is(notNullValue()));
-            assertThat("User should have name", user.get("name"), is(notNullValue()));
-            assertThat("User should have username", user.get("username"), is(notNullValue()));
-            assertThat("User should have email", user.get("email"), is(notNullValue()));
-        }
+        assertStreamedCollection(USER_PROFILE_RULES, "User profiles should have id, name, username and email");
         
         logger.info("✅ All user profiles contain required fields");
     }
@@ -593,6 +597,7 @@ public class ApiStepDefinitions {
     
     @Then("the user should have valid data structure")
     public void theUserShouldHaveValidDataStructure() {
+        assertMatchesSchema("user");
         theUserProfileShouldContainCompleteInformation();
     }
     
@@ -741,6 +746,7 @@ public class ApiStepDefinitions {
     @Then("the intelligence should contain tag collection")
     public void theIntelligenceShouldContainTagCollection() {
         // For posts response
+        assertMatchesSchema("posts");
         List<Map<String, Object>> posts = lastResponse.jsonPath().getList("$");
         assertThat("Posts collection should not be empty", posts, is(not(empty())));
         logger.info("✅ Intelligence contains {} posts", posts.size());
@@ -749,10 +755,7 @@ public class ApiStepDefinitions {
     @Then("each tag should be properly formatted")
     public void eachTagShouldBeProperlyFormatted() {
         // For posts, check title field
-        List<Map<String, Object>> posts = lastResponse.jsonPath().getList("$");
-        for (Map<String, Object> post : posts) {
-            assertThat("Post should have title", post.get("title"), is(notNullValue()));
-        }
+        assertStreamedCollection(POST_TITLE_RULES, "Posts should have title");
         logger.info("✅ All posts properly formatted");
     }
     
@@ -781,6 +784,7 @@ public class ApiStepDefinitions {
     
     @Then("post metadata should be complete")
     public void postMetadataShouldBeComplete() {
+        assertMatchesSchema("post");
         assertThat("Post should have id", lastResponse.jsonPath().get("id"), is(notNullValue()));
         assertThat("Post should have userId", lastResponse.jsonPath().get("userId"), is(notNullValue()));
         assertThat("Post should have title", lastResponse.jsonPath().get("title"), is(notNullValue()));
@@ -917,6 +921,8 @@ public class ApiStepDefinitions {
     
     @Then("user data structure should be consistent")
     public void userDataStructureShouldBeConsistent() {
+        assertMatchesSchema("users");
+        
         List<Map<String, Object>> users = lastResponse.jsonPath().getList("$");
         
         if (!users.isEmpty()) {
@@ -1050,13 +1056,10 @@ public class ApiStepDefinitions {
     
     @Then("data integrity should be maintained")
     public void dataIntegrityShouldBeMaintained() {
-        List<Map<String, Object>> posts = lastResponse.jsonPath().getList("$");
+        StreamingJsonValidator.Result result = assertStreamedCollection(POST_STRUCTURE_RULES,
+            "Posts should have id, userId, title and body");
         
-        for (Map<String, Object> post : posts) {
-            validatePostStructure(post, posts.indexOf(post));
-        }
-        
-        logger.info("✅ Data integrity maintained across {} posts", posts.size());
+        logger.info("✅ Data integrity maintained across {} posts", result.getElementCount());
     }
     
     @Then("boundary conditions should be handled correctly")
@@ -1144,20 +1147,32 @@ public class ApiStepDefinitions {
     }
     
     /**
-     * Validates the basic structure of a JSONPlaceholder post object
+     * Validates every element of the last collection response by streaming over its buffered body
      * 
-     * @param post The post object to validate
-     * @param postIndex The index of the post (for error messages)
+     * @param rules Field rules each element must satisfy
+     * @param description Assertion description
+     * @return Validation result (element count, timing)
      */
-    private void validatePostStructure(Map<String, Object> post, int postIndex) {
-        assertThat("Post " + postIndex + " should have ID", 
-                  post.get("id"), is(notNullValue()));
-        assertThat("Post " + postIndex + " should have userId", 
-                  post.get("userId"), is(notNullValue()));
-        assertThat("Post " + postIndex + " should have title", 
-                  post.get("title"), is(notNullValue()));
-        assertThat("Post " + postIndex + " should have body", 
-                  post.get("body"), is(notNullValue()));
+    private StreamingJsonValidator.Result assertStreamedCollection(StreamingJsonValidator rules, String description) {
+        StreamingJsonValidator.Result result = rules.validateArray(lastResponse.asInputStream());
+        assertTrue(result.isValid(), description + " - " + result);
+        logger.debug("🌊 Streamed validation: {} element(s) in {}ms", result.getElementCount(), result.getElapsedMillis());
+        return result;
+    }
+    
+    /**
+     * Validates the last response against a cached, pre-compiled JSON schema
+     * 
+     * @param schemaName Schema name under json-schemas/ without extension
+     */
+    private void assertMatchesSchema(String schemaName) {
+        assertMatchesSchema(schemaName, lastResponse);
+    }
+    
+    private void assertMatchesSchema(String schemaName, Response response) {
+        JsonSchemaRegistry.Result result = JsonSchemaRegistry.validate(schemaName, response.asString());
+        assertTrue(result.isValid(), "Response should match " + result);
+        logger.info("📐 Schema '{}' validated in {}ms", schemaName, String.format("%.3f", result.getElapsedMillis()));
     }
     
     /**
@@ -0,0 +1,209 @@
+package com.kestrel.api.stubs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kestrel Engine API Fixture Store
+ * File-based storage for recorded API traffic used by record/replay mode
+ *
+ * Features:
+ * - One JSON fixture file per recorded request
+ * - Request matching on method, path, sorted query and body hash
+ * - Body-agnostic fallback only for body-less methods (GET, HEAD, DELETE); a write request
+ *   with an unrecorded payload is a miss, never another request's response
+ * - Thread-safe in-memory index for the replay server
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ApiFixtureStore {
+    private static final Logger logger = LoggerFactory.getLogger(ApiFixtureStore.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private final File directory;
+    private final Map<String, Fixture> fixtures = new ConcurrentHashMap<>();
+    
+    /**
+     * Recorded request/response pair as stored on disk
+     */
+    public static class Fixture {
+        public String method;
+        public String path;
+        public String query;
+        public String bodyHash;
+        public int status;
+        public String contentType;
+        public String body;
+    }
+    
+    /**
+     * Create a fixture store rooted at the given directory
+     * @param directoryPath Fixture directory (created on first save)
+     */
+    public ApiFixtureStore(String directoryPath) {
+        this.directory = new File(directoryPath);
+    }
+    
+    /**
+     * Load all fixture files from disk into the in-memory index
+     * @return Number of fixtures loaded
+     */
+    public int loadAll() {
+        fixtures.clear();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            logger.warn("⚠️ No API fixtures found at: {}", directory.getAbsolutePath());
+            return 0;
+        }
+        
+        for (File file : files) {
+            try {
+                Fixture fixture = mapper.readValue(file, Fixture.class);
+                fixtures.put(exactKey(fixture.method, fixture.path, fixture.query, fixture.bodyHash), fixture);
+            } catch (IOException e) {
+                logger.warn("⚠️ Skipping unreadable fixture {}: {}", file.getName(), e.getMessage());
+            }
+        }
+        
+        logger.info("📼 Loaded {} API fixture(s) from: {}", fixtures.size(), directory.getAbsolutePath());
+        return fixtures.size();
+    }
+    
+    /**
+     * Find the fixture recorded for a request
+     * For GET, HEAD and DELETE, falls back to a fixture with the same method, path and query when the
+     * body differs; write requests must match their recorded body
+     * @param method HTTP method
+     * @param path Request path
+     * @param rawQuery Raw query string (may be null)
+     * @param body Request body (may be null or empty)
+     * @return Matching fixture or null
+     */
+    public Fixture find(String method, String path, String rawQuery, String body) {
+        String query = normalizeQuery(rawQuery);
+        Fixture exact = fixtures.get(exactKey(method, path, query, hashBody(body)));
+        if (exact != null) {
+            return exact;
+        }
+        if (!isBodyless(method)) {
+            return null;
+        }
+        
+        for (Fixture candidate : fixtures.values()) {
+            if (candidate.method.equalsIgnoreCase(method) && candidate.path.equals(path)
+                    && candidate.query.equals(query)) {
+                logger.debug("📼 Using body-agnostic fixture for {} {}", method, path);
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isBodyless(String method) {
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) || "DELETE".equalsIgnoreCase(method);
+    }
+    
+    /**
+     * Persist a recorded exchange as a fixture file
+     * @param method HTTP method
+     * @param path Request path
+     * @param rawQuery Raw query string (may be null)
+     * @param requestBody Request body (may be null)
+     * @param status Response status code
+     * @param contentType Response content type
+     * @param responseBody Response body
+     */
+    public void save(String method, String path, String rawQuery, String requestBody,
+                     int status, String contentType, String responseBody) {
+        Fixture fixture = new Fixture();
+        fixture.method = method.toUpperCase();
+        fixture.path = path;
+        fixture.query = normalizeQuery(rawQuery);
+        fixture.bodyHash = hashBody(requestBody);
+        fixture.status = status;
+        fixture.contentType = contentType;
+        fixture.body = responseBody;
+        
+        try {
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            File file = new File(directory, fileName(fixture));
+            mapper.writeValue(file, fixture);
+            fixtures.put(exactKey(fixture.method, fixture.path, fixture.query, fixture.bodyHash), fixture);
+            logger.info("📼 Recorded fixture: {} {} -> {}", fixture.method, path, file.getName());
+        } catch (IOException e) {
+            logger.error("❌ Failed to record fixture for {} {}: {}", method, path, e.getMessage());
+        }
+    }
+    
+    /**
+     * Get fixture directory
+     * @return Fixture directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+    
+    // ===== UTILITY METHODS =====
+    
+    private static String exactKey(String method, String path, String query, String bodyHash) {
+        return method.toUpperCase() + " " + path + "?" + query + "#" + bodyHash;
+    }
+    
+    /**
+     * Sort query parameters so that parameter order does not affect matching
+     */
+    private static String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        String[] parts = rawQuery.split("&");
+        Arrays.sort(parts);
+        return String.join("&", parts);
+    }
+    
+    private static String hashBody(String body) {
+        if (body == null || body.isEmpty()) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 4; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String fileName(Fixture fixture) {
+        StringBuilder name = new StringBuilder(fixture.method);
+        name.append(sanitize(fixture.path));
+        if (!fixture.query.isEmpty()) {
+            name.append("_q-").append(sanitize(fixture.query));
+        }
+        if (!fixture.bodyHash.isEmpty()) {
+            name.append("_b-").append(fixture.bodyHash);
+        }
+        return name.append(".json").toString();
+    }
+    
+    private static String sanitize(String value) {
+        return value.replaceAll("[^a-zA-Z0-9\\-\\.]", "_");
+    }
+}
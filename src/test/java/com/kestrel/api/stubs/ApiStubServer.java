@@ -0,0 +1,254 @@
+package com.kestrel.api.stubs;
+
+import com.kestrel.utils.EnvironmentManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Kestrel Engine API Stub Server
+ * In-process HTTP server replaying recorded API fixtures for hermetic runs
+ *
+ * Features:
+ * - Loopback-only server on a random free port
+ * - Serves fixtures recorded by ApiTrafficRecorder
+ * - Configurable latency injection (fixed + jitter)
+ * - Configurable fault injection (error rate, status, path filter), marked with X-Kestrel-Injected-Fault
+ * - Started lazily on first use, stopped by Hooks.globalTeardown()
+ *
+ * Configuration (config/*.properties or -D):
+ * - api.mode=replay            Route ApiClient traffic to this server
+ * - api.fixtures.path          Fixture directory
+ * - api.stub.latency.ms        Fixed latency added to every response
+ * - api.stub.latency.jitter.ms Random extra latency (0..jitter)
+ * - api.stub.error.rate        Fraction of requests answered with an error (0.0-1.0)
+ * - api.stub.error.status      Status code used for injected errors
+ * - api.stub.error.path        Regex limiting fault injection to matching paths
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ApiStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(ApiStubServer.class);
+    private static final int UNMATCHED_STATUS = 501;
+    
+    // Header set on injected faults, so ApiClient does not mistake them for a real outage
+    public static final String INJECTED_FAULT_HEADER = "X-Kestrel-Injected-Fault";
+    private static ApiStubServer instance;
+    
+    private final ApiFixtureStore store;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final int errorStatus;
+    private final Pattern errorPath;
+    private final AtomicLong servedCount = new AtomicLong();
+    private final AtomicLong unmatchedCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Create stub server with explicit settings
+     * @param store Fixture store to serve from
+     * @param latencyMs Fixed latency in milliseconds
+     * @param jitterMs Random extra latency in milliseconds
+     * @param errorRate Fraction of requests to fail (0.0-1.0)
+     * @param errorStatus Status code for injected failures
+     * @param errorPathRegex Regex of paths eligible for fault injection
+     */
+    public ApiStubServer(ApiFixtureStore store, long latencyMs, long jitterMs,
+                         double errorRate, int errorStatus, String errorPathRegex) {
+        this.store = store;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.errorPath = Pattern.compile(errorPathRegex);
+    }
+    
+    /**
+     * Get the shared stub server configured from the environment, starting it on first use
+     * @return Running stub server
+     */
+    public static synchronized ApiStubServer getInstance() {
+        if (instance == null) {
+            ApiStubServer stub = new ApiStubServer(
+                new ApiFixtureStore(EnvironmentManager.getApiFixturesPath()),
+                Long.parseLong(EnvironmentManager.getProperty("api.stub.latency.ms", "0")),
+                Long.parseLong(EnvironmentManager.getProperty("api.stub.latency.jitter.ms", "0")),
+                Double.parseDouble(EnvironmentManager.getProperty("api.stub.error.rate", "0.0")),
+                Integer.parseInt(EnvironmentManager.getProperty("api.stub.error.status", "503")),
+                EnvironmentManager.getProperty("api.stub.error.path", ".*"));
+            stub.start();
+            instance = stub;
+        }
+        return instance;
+    }
+    
+    /**
+     * Stop the shared stub server if it was started
+     * The JDK dispatcher thread is non-daemon, so runs must stop the server explicitly
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+    
+    /**
+     * Load fixtures and start listening on a random loopback port
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            store.loadAll();
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "kestrel-api-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+            server.start();
+            logger.info("📼 Kestrel API stub server replaying at: {} (latency: {}ms+{}ms, error rate: {})",
+                       getBaseUrl(), latencyMs, jitterMs, errorRate);
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to start API stub server: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stop the server and report traffic statistics
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("📼 API stub server stopped (served: {}, unmatched: {}, injected errors: {})",
+                   servedCount.get(), unmatchedCount.get(), injectedErrorCount.get());
+    }
+    
+    /**
+     * Get base URL of the running server
+     * @return Base URL (e.g., http://127.0.0.1:54321)
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("❌ API stub server is not running");
+        }
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+    
+    /**
+     * Get number of requests answered from fixtures
+     * @return Served request count
+     */
+    public long getServedCount() {
+        return servedCount.get();
+    }
+    
+    /**
+     * Get number of requests without a recorded fixture
+     * @return Unmatched request count
+     */
+    public long getUnmatchedCount() {
+        return unmatchedCount.get();
+    }
+    
+    /**
+     * Get number of injected failures
+     * @return Injected error count
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+    
+    // ===== REQUEST HANDLING =====
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getRawPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            
+            injectLatency();
+            
+            if (shouldInjectError(path)) {
+                injectedErrorCount.incrementAndGet();
+                logger.debug("💥 Injected {} for {} {}", errorStatus, method, path);
+                exchange.getResponseHeaders().set(INJECTED_FAULT_HEADER, "true");
+                respond(exchange, errorStatus, "application/json",
+                        "{\"error\":\"Kestrel injected fault\"}");
+                return;
+            }
+            
+            ApiFixtureStore.Fixture fixture = store.find(method, path, query, body);
+            if (fixture == null) {
+                unmatchedCount.incrementAndGet();
+                logger.warn("⚠️ No recorded fixture for {} {}{} - record it with -Dapi.mode=record",
+                           method, path, query != null ? "?" + query : "");
+                respond(exchange, UNMATCHED_STATUS, "application/json",
+                        "{\"error\":\"No recorded fixture for " + method + " " + path + "\"}");
+                return;
+            }
+            
+            servedCount.incrementAndGet();
+            respond(exchange, fixture.status, fixture.contentType, fixture.body);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void injectLatency() {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private boolean shouldInjectError(String path) {
+        return errorRate > 0
+            && errorPath.matcher(path).matches()
+            && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (contentType != null && !contentType.isEmpty()) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kestrel.api.stubs;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kestrel Engine API Traffic Recorder
+ * RestAssured filter that captures live API exchanges as replay fixtures
+ *
+ * Attached to ApiClient request specifications when api.mode=record.
+ * Recording never changes the response seen by the step definitions.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ApiTrafficRecorder implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ApiTrafficRecorder.class);
+    
+    private final ApiFixtureStore store;
+    
+    /**
+     * Create recorder writing into the given fixture store
+     * @param store Fixture store
+     */
+    public ApiTrafficRecorder(ApiFixtureStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        
+        try {
+            URI uri = URI.create(requestSpec.getURI());
+            store.save(requestSpec.getMethod(), uri.getRawPath(), uri.getRawQuery(),
+                       bodyAsString(requestSpec.getBody()),
+                       response.getStatusCode(), response.getContentType(), response.asString());
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not record API exchange: {}", e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Serialized request bodies are stored by RestAssured as String or byte[]
+     */
+    static String bodyAsString(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return new String((byte[]) body, StandardCharsets.UTF_8);
+        }
+        return body.toString();
+    }
+}
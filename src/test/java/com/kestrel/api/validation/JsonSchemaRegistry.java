@@ -0,0 +1,222 @@
+package com.kestrel.api.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.kestrel.impact.ImpactRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Kestrel Engine JSON Schema Registry
+ * Loads and compiles each schema under json-schemas/ once and reuses the compiled validator
+ *
+ * matchesJsonSchemaInClasspath() re-reads and re-compiles the schema on every response;
+ * this registry keeps one thread-safe JsonSchema per name for the whole run.
+ *
+ * Features:
+ * - Schemas resolved as resource:/json-schemas/{name}.json ($ref between files supported)
+ * - Compile-once cache shared by parallel scenarios
+ * - Validation time per response, aggregated per schema
+ * - Run statistics logged by Hooks.globalTeardown()
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class JsonSchemaRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(JsonSchemaRegistry.class);
+    private static final String SCHEMA_DIRECTORY = "json-schemas";
+    private static final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    private static final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+    private static final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    
+    /**
+     * Compile every schema found in the json-schemas resource directory
+     * (exploded on the file system or packaged in a jar)
+     * @return Number of schemas compiled
+     */
+    public static int preloadAll() {
+        URL directoryUrl = JsonSchemaRegistry.class.getClassLoader().getResource(SCHEMA_DIRECTORY);
+        if (directoryUrl == null) {
+            logger.debug("📐 Schema directory not found - compiling schemas lazily");
+            return 0;
+        }
+        
+        try {
+            URI directoryUri = directoryUrl.toURI();
+            if ("jar".equals(directoryUri.getScheme())) {
+                try (FileSystem jarFileSystem = FileSystems.newFileSystem(directoryUri, Collections.emptyMap())) {
+                    compileAll(jarFileSystem.getPath(SCHEMA_DIRECTORY));
+                }
+            } else {
+                compileAll(Paths.get(directoryUri));
+            }
+        } catch (URISyntaxException | IOException | RuntimeException e) {
+            logger.warn("⚠️ Could not preload schemas from {} - compiling lazily: {}", directoryUrl, e.getMessage());
+        }
+        logger.info("📐 Compiled {} JSON schema(s)", schemas.size());
+        return schemas.size();
+    }
+    
+    private static void compileAll(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(".json"))
+                .forEach(name -> getSchema(name.substring(0, name.length() - ".json".length())));
+        }
+    }
+    
+    /**
+     * Get the compiled schema for a name, compiling it on first use
+     * @param schemaName Schema name without extension (e.g., "user")
+     * @return Compiled schema
+     */
+    public static JsonSchema getSchema(String schemaName) {
+        ImpactRecorder.recordResource(SCHEMA_DIRECTORY + "/" + schemaName + ".json");
+        return schemas.computeIfAbsent(schemaName, JsonSchemaRegistry::compile);
+    }
+    
+    /**
+     * Validate a JSON document against a cached schema
+     * @param schemaName Schema name without extension
+     * @param json JSON document
+     * @return Validation result with timing
+     */
+    public static Result validate(String schemaName, String json) {
+        JsonSchema schema = getSchema(schemaName);
+        long startNanos = System.nanoTime();
+        Result result = new Result(schemaName);
+        
+        try {
+            JsonNode document = mapper.readTree(json);
+            ProcessingReport report = schema.validate(document);
+            for (ProcessingMessage message : report) {
+                result.messages.add(message.getMessage());
+            }
+            result.valid = report.isSuccess();
+        } catch (IOException | ProcessingException e) {
+            result.messages.add("Could not validate response: " + e.getMessage());
+        }
+        
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        timings.computeIfAbsent(schemaName, name -> new Timing()).record(result.elapsedNanos);
+        logger.debug("📐 Schema '{}' validated in {}ms (valid: {})", schemaName, result.getElapsedMillis(), result.valid);
+        return result;
+    }
+    
+    /**
+     * Log per-schema validation counts and times for this run
+     */
+    public static void logStatistics() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        logger.info("📐 JSON schema validation statistics:");
+        timings.forEach((name, timing) -> logger.info("   ↳ {}: {} validation(s), avg {}ms, max {}ms",
+            name, timing.count.sum(), String.format("%.3f", timing.averageMillis()),
+            String.format("%.3f", timing.max.get() / 1_000_000.0)));
+    }
+    
+    private static JsonSchema compile(String schemaName) {
+        String uri = "resource:/" + SCHEMA_DIRECTORY + "/" + schemaName + ".json";
+        long startNanos = System.nanoTime();
+        try {
+            JsonSchema schema = schemaFactory.getJsonSchema(uri);
+            // Validator chains are built lazily on first validate; build the top-level ones now
+            schema.validate(mapper.createObjectNode());
+            schema.validate(mapper.createArrayNode().add(mapper.createObjectNode()));
+            logger.debug("📐 Compiled schema '{}' in {}ms", schemaName, (System.nanoTime() - startNanos) / 1_000_000.0);
+            return schema;
+        } catch (ProcessingException e) {
+            throw new RuntimeException("❌ Failed to load JSON schema " + uri + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Aggregated validation time for one schema
+     */
+    private static class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+        
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            max.accumulate(nanos);
+        }
+        
+        private double averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000.0;
+        }
+    }
+    
+    /**
+     * Outcome of validating one response
+     */
+    public static class Result {
+        private final String schemaName;
+        private final List<String> messages = new ArrayList<>();
+        private boolean valid;
+        private long elapsedNanos;
+        
+        private Result(String schemaName) {
+            this.schemaName = schemaName;
+        }
+        
+        /**
+         * Check if the document matched the schema
+         * @return true if valid
+         */
+        public boolean isValid() {
+            return valid;
+        }
+        
+        /**
+         * Get validation messages
+         * @return Messages reported by the validator
+         */
+        public List<String> getMessages() {
+            return Collections.unmodifiableList(messages);
+        }
+        
+        /**
+         * Get validation time (excluding schema compilation)
+         * @return Elapsed time in milliseconds
+         */
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("schema '%s' %s in %.3fms%s", schemaName, valid ? "matched" : "violated",
+                                 getElapsedMillis(), messages.isEmpty() ? "" : ": " + String.join("; ", messages));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.kestrel.api.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Kestrel Engine Streaming JSON Validator
+ * Validates large JSON collection responses element by element
+ *
+ * Replaces the jsonPath().getList("$") pattern for field checks: no response String and
+ * no List&lt;Map&gt; object tree is built, only the current element's top-level fields are tracked.
+ * Step definitions pass the body RestAssured has already buffered, so the saving is the
+ * object tree, not the raw bytes.
+ *
+ * Features:
+ * - Jackson streaming (JsonParser) over an InputStream
+ * - Required-field rules (non-null value); value types are left to JSON schema validation
+ * - Nested objects/arrays skipped without materialization
+ * - Bounded violation list for readable assertion messages
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class StreamingJsonValidator {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingJsonValidator.class);
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+    
+    private final Set<String> requiredFields = new LinkedHashSet<>();
+    
+    /**
+     * Require a top-level field with any non-null value in every element
+     * @param field Field name
+     * @return this validator for chaining
+     */
+    public StreamingJsonValidator require(String field) {
+        requiredFields.add(field);
+        return this;
+    }
+    
+    /**
+     * Validate a JSON array of objects read from the stream
+     * The stream is consumed but not closed
+     * @param body JSON body stream
+     * @return Validation result
+     */
+    public Result validateArray(InputStream body) {
+        long startNanos = System.nanoTime();
+        Result result = new Result();
+        
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                result.addViolation("Response body is not a JSON array");
+                return result.finish(startNanos);
+            }
+            
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    result.addViolation("Element " + result.elementCount + " is not a JSON object");
+                    parser.skipChildren();
+                } else {
+                    validateElement(parser, result.elementCount, result);
+                }
+                result.elementCount++;
+            }
+            result.bytesRead = parser.getCurrentLocation().getByteOffset();
+            
+        } catch (IOException e) {
+            result.addViolation("Malformed JSON at element " + result.elementCount + ": " + e.getMessage());
+        }
+        
+        result.finish(startNanos);
+        logger.debug("🌊 Streamed {} element(s), {} bytes in {}ms ({} violation(s))",
+                    result.elementCount, result.bytesRead, result.getElapsedMillis(), result.violationCount);
+        return result;
+    }
+    
+    /**
+     * Validate one object element; parser is positioned on START_OBJECT
+     */
+    private void validateElement(JsonParser parser, int index, Result result) throws IOException {
+        Set<String> present = new HashSet<>(requiredFields.size() * 2);
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (valueToken != JsonToken.VALUE_NULL && requiredFields.contains(field)) {
+                present.add(field);
+            }
+            parser.skipChildren();
+        }
+        
+        for (String field : requiredFields) {
+            if (!present.contains(field)) {
+                result.addViolation("Element " + index + " missing required field '" + field + "'");
+            }
+        }
+    }
+    
+    /**
+     * Outcome of a streaming validation pass
+     */
+    public static class Result {
+        private final List<String> violations = new ArrayList<>();
+        private int violationCount;
+        private int elementCount;
+        private long bytesRead;
+        private long elapsedNanos;
+        
+        private void addViolation(String message) {
+            violationCount++;
+            if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+                violations.add(message);
+            }
+        }
+        
+        private Result finish(long startNanos) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            return this;
+        }
+        
+        /**
+         * Check if all elements satisfied all rules
+         * @return true if no violations were found
+         */
+        public boolean isValid() {
+            return violationCount == 0;
+        }
+        
+        /**
+         * Get first violations (bounded)
+         * @return Violation messages
+         */
+        public List<String> getViolations() {
+            return Collections.unmodifiableList(violations);
+        }
+        
+        /**
+         * Get total number of violations
+         * @return Violation count
+         */
+        public int getViolationCount() {
+            return violationCount;
+        }
+        
+        /**
+         * Get number of array elements seen
+         * @return Element count
+         */
+        public int getElementCount() {
+            return elementCount;
+        }
+        
+        /**
+         * Get number of body bytes consumed
+         * @return Bytes read
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+        
+        /**
+         * Get validation time
+         * @return Elapsed time in milliseconds
+         */
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d element(s), %d violation(s)%s", elementCount, violationCount,
+                                 violations.isEmpty() ? "" : ": " + String.join("; ", violations));
+        }
+    }
+}
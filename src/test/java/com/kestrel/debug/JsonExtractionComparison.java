@@ -0,0 +1,114 @@
+package com.kestrel.debug;
+
+import com.kestrel.api.validation.StreamingJsonValidator;
+import io.restassured.path.json.JsonPath;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kestrel Engine JSON Extraction Comparison
+ * Compares jsonPath().getList("$") field checks against StreamingJsonValidator
+ * on synthetic /photos (5000) and /comments (500) sized payloads
+ *
+ * Run with: ./gradlew jsonExtractionComparison
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class JsonExtractionComparison {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 30;
+    
+    public static void main(String[] args) {
+        System.out.println("🦅 Comparing jsonPath vs streaming extraction...");
+        
+        compare("/photos", photosPayload(5000), new String[] {"albumId", "id", "title", "url", "thumbnailUrl"});
+        compare("/comments", commentsPayload(500), new String[] {"postId", "id", "name", "email", "body"});
+    }
+    
+    private static void compare(String endpoint, byte[] payload, String[] fields) {
+        StreamingJsonValidator validator = new StreamingJsonValidator();
+        for (String field : fields) {
+            validator.require(field);
+        }
+        
+        Runnable jsonPathCheck = () -> {
+            List<Map<String, Object>> items = JsonPath.from(new String(payload, StandardCharsets.UTF_8)).getList("$");
+            for (Map<String, Object> item : items) {
+                for (String field : fields) {
+                    if (item.get(field) == null) {
+                        throw new IllegalStateException("Missing " + field);
+                    }
+                }
+            }
+        };
+        Runnable streamingCheck = () -> {
+            if (!validator.validateArray(new ByteArrayInputStream(payload)).isValid()) {
+                throw new IllegalStateException("Streaming validation failed");
+            }
+        };
+        
+        long[] jsonPath = measure(jsonPathCheck);
+        long[] streaming = measure(streamingCheck);
+        
+        System.out.printf("🎯 %s (%d KB)%n", endpoint, payload.length / 1024);
+        System.out.printf("   jsonPath : %8.2f ms/op %10d KB allocated/op%n", jsonPath[0] / 1_000_000.0, jsonPath[1] / 1024);
+        System.out.printf("   streaming: %8.2f ms/op %10d KB allocated/op%n", streaming[0] / 1_000_000.0, streaming[1] / 1024);
+    }
+    
+    /**
+     * @return {average nanos per op, average allocated bytes per op}
+     */
+    private static long[] measure(Runnable check) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            check.run();
+        }
+        
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            check.run();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        
+        return new long[] {elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS};
+    }
+    
+    // ===== SYNTHETIC PAYLOADS =====
+    
+    private static byte[] photosPayload(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            json.append(i > 1 ? "," : "")
+                .append("{\"albumId\":").append((i - 1) / 50 + 1)
+                .append(",\"id\":").append(i)
+                .append(",\"title\":\"accusamus beatae ad facilis cum similique qui sunt ").append(i).append("\"")
+                .append(",\"url\":\"https://via.placeholder.com/600/").append(Integer.toHexString(i * 7919)).append("\"")
+                .append(",\"thumbnailUrl\":\"https://via.placeholder.com/150/").append(Integer.toHexString(i * 7919)).append("\"}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] commentsPayload(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            json.append(i > 1 ? "," : "")
+                .append("{\"postId\":").append((i - 1) / 5 + 1)
+                .append(",\"id\":").append(i)
+                .append(",\"name\":\"id labore ex et quam laborum ").append(i).append("\"")
+                .append(",\"email\":\"Eliseo").append(i).append("@gardner.biz\"")
+                .append(",\"body\":\"laudantium enim quasi est quidem magnam voluptate ipsam eos\\n")
+                .append("tempora quo necessitatibus\\ndolor quam autem quasi\\nreiciendis et nam sapiente accusantium\"}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
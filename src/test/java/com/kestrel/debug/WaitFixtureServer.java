@@ -0,0 +1,154 @@
+package com.kestrel.debug;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kestrel Engine Wait Fixture Server
+ * Loopback HTTP server serving the static wait-strategy fixture page
+ *
+ * Features:
+ * - GET /                 wait-fixture.html (DOM changes scripted in the page)
+ * - GET /?load=N          Same page with an image held back N ms, delaying the load event
+ * - GET /slow?ms=N        1x1 GIF answered after N ms
+ * - Random free port, no caching, daemon threads
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class WaitFixtureServer {
+    private static final Logger logger = LoggerFactory.getLogger(WaitFixtureServer.class);
+    private static final String FIXTURE_RESOURCE = "/wait-fixtures/wait-fixture.html";
+    private static final byte[] PIXEL_GIF = Base64.getDecoder()
+        .decode("R0lGODlhAQABAIAAAP///wAAACH5BAEAAAAALAAAAAABAAEAAAICRAEAOw==");
+    
+    private final String template;
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Create fixture server from the classpath template
+     */
+    public WaitFixtureServer() {
+        try (InputStream in = WaitFixtureServer.class.getResourceAsStream(FIXTURE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("❌ Fixture not found on classpath: " + FIXTURE_RESOURCE);
+            }
+            this.template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to read wait fixture: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Start listening on a random loopback port
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "kestrel-wait-fixture");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/slow", this::handleSlow);
+            server.createContext("/", this::handlePage);
+            server.start();
+            logger.info("🧪 Wait fixture server listening at: {}", getBaseUrl());
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to start wait fixture server: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stop the server
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("🧪 Wait fixture server stopped");
+    }
+    
+    /**
+     * Get base URL of the running server
+     * @return Base URL (e.g., http://127.0.0.1:54321)
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("❌ Wait fixture server is not running");
+        }
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+    
+    // ===== REQUEST HANDLING =====
+    
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try {
+            long loadDelay = queryLong(exchange, "load");
+            String slowResource = loadDelay > 0
+                ? "<img alt=\"\" src=\"/slow?ms=" + loadDelay + "&t=" + System.nanoTime() + "\">"
+                : "";
+            respond(exchange, "text/html; charset=utf-8",
+                    template.replace("{{SLOW_RESOURCE}}", slowResource).getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void handleSlow(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(queryLong(exchange, "ms"));
+            respond(exchange, "image/gif", PIXEL_GIF);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private static long queryLong(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return 0;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                try {
+                    return Long.parseLong(pair.substring(name.length() + 1));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+    
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
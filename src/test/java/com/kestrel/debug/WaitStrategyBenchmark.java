@@ -0,0 +1,513 @@
+package com.kestrel.debug;
+
+import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.utils.WaitUtils;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Kestrel Engine Wait Strategy Benchmark
+ * Compares WaitUtils, DriverManager and plain WebDriverWait strategies against a local
+ * fixture page with scripted, delayed DOM changes in headless Chrome
+ *
+ * Features:
+ * - Detection latency: time from the DOM change (stamped in the page) to the wait returning
+ * - WebDriver command count per wait, counted with a WebDriverListener
+ * - Early returns (wait returned before the change) and timeouts reported separately
+ * - Markdown comparison table on stdout and in build/reports/wait-strategies/
+ *
+ * Scenarios:
+ * - REVEAL   Hidden element becomes visible
+ * - DISMISS  Visible modal is hidden
+ * - INSERT   Cart row is added to an empty table
+ * - LOAD     Page load event held back by a slow image (page load strategy "none")
+ *
+ * Configuration (-D):
+ * - wait.benchmark.iterations  Runs per strategy, scenario and delay (default 5)
+ * - wait.benchmark.delays      Comma-separated change delays in ms (default 300,1200)
+ * - wait.benchmark.timeout     Wait timeout in seconds (default 10)
+ *
+ * Run with: ./gradlew waitStrategyBenchmark
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class WaitStrategyBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(WaitStrategyBenchmark.class);
+    private static final String REPORT_DIR = "build/reports/wait-strategies";
+    
+    private static final By TARGET = By.id("target");
+    private static final By MODAL = By.id("modal");
+    private static final By CART_ROW = By.cssSelector("#tbodyid tr");
+    
+    private static final Map<Scenario, String> PREDICATES = new EnumMap<>(Map.of(
+        Scenario.REVEAL, "var e = document.getElementById('target'); return !!e && getComputedStyle(e).display !== 'none';",
+        Scenario.DISMISS, "var e = document.getElementById('modal'); return !e || getComputedStyle(e).display === 'none';",
+        Scenario.INSERT, "return document.querySelectorAll('#tbodyid tr').length > 0;",
+        Scenario.LOAD, "return document.readyState === 'complete';"));
+    
+    // Resolves as soon as the predicate holds: one WebDriver command, no client-side polling
+    private static final String OBSERVER_SCRIPT =
+        "var predicate = new Function(arguments[0]);" +
+        "var done = arguments[arguments.length - 1];" +
+        "if (predicate()) { done(true); return; }" +
+        "var observer = new MutationObserver(function () {" +
+        "  if (predicate()) { observer.disconnect(); done(true); }" +
+        "});" +
+        "observer.observe(document, {attributes: true, childList: true, subtree: true});" +
+        "window.addEventListener('load', function () {" +
+        "  if (predicate()) { observer.disconnect(); done(true); }" +
+        "});";
+    
+    enum Scenario { REVEAL, DISMISS, INSERT, LOAD }
+    
+    enum Outcome { DETECTED, EARLY, TIMEOUT, ERROR }
+    
+    public static void main(String[] args) {
+        int iterations = Integer.parseInt(EnvironmentManager.getProperty("wait.benchmark.iterations", "5"));
+        int timeoutSeconds = Integer.parseInt(EnvironmentManager.getProperty("wait.benchmark.timeout", "10"));
+        long[] delays = Arrays.stream(EnvironmentManager.getProperty("wait.benchmark.delays", "300,1200").split(","))
+            .map(String::trim)
+            .mapToLong(Long::parseLong)
+            .toArray();
+        
+        System.out.println("🦅 Benchmarking wait strategies (iterations: " + iterations
+            + ", delays: " + Arrays.toString(delays) + "ms, timeout: " + timeoutSeconds + "s)...");
+        
+        WaitFixtureServer server = new WaitFixtureServer();
+        server.start();
+        WebDriver rawDriver = createDriver();
+        CommandCounter counter = new CommandCounter();
+        WebDriver driver = new EventFiringDecorator<>(counter).decorate(rawDriver);
+        DriverManager.registerDriver(driver);
+        
+        try {
+            WaitStrategyBenchmark benchmark = new WaitStrategyBenchmark(
+                server.getBaseUrl(), rawDriver, driver, counter, timeoutSeconds);
+            List<Sample> samples = benchmark.run(delays, iterations);
+            String table = renderTable(samples);
+            System.out.println();
+            System.out.println(table);
+            writeReports(table, samples);
+        } finally {
+            DriverManager.registerDriver(null);
+            rawDriver.quit();
+            server.stop();
+        }
+    }
+    
+    // ===== STRATEGIES =====
+    
+    private static List<Strategy> strategies() {
+        List<Strategy> strategies = new ArrayList<>();
+        
+        strategies.add(new Strategy("WaitUtils fluent")
+            .on(Scenario.REVEAL, f -> { new WaitUtils(f.driver, f.timeoutSeconds).forElementVisible(f.target); return true; })
+            .on(Scenario.DISMISS, f -> { new WaitUtils(f.driver, f.timeoutSeconds).forElementInvisible(f.modal); return true; })
+            .on(Scenario.INSERT, f -> {
+                new WaitUtils(f.driver, f.timeoutSeconds)
+                    .forCondition(d -> !d.findElements(CART_ROW).isEmpty(), "cart row");
+                return true;
+            })
+            .on(Scenario.LOAD, f -> { new WaitUtils(f.driver, f.timeoutSeconds).forPageLoaded(); return true; }));
+        
+        strategies.add(new Strategy("WaitUtils JS condition")
+            .on(Scenario.REVEAL, WaitStrategyBenchmark::waitUtilsScript)
+            .on(Scenario.DISMISS, WaitStrategyBenchmark::waitUtilsScript)
+            .on(Scenario.INSERT, WaitStrategyBenchmark::waitUtilsScript)
+            .on(Scenario.LOAD, WaitStrategyBenchmark::waitUtilsScript));
+        
+        strategies.add(new Strategy("WaitUtils static (deprecated)")
+            .on(Scenario.REVEAL, f -> WaitUtils.waitForElementVisible(f.driver, f.target, f.timeoutSeconds))
+            .on(Scenario.DISMISS, f -> WaitUtils.waitForCondition(f.driver, d -> !f.modal.isDisplayed(), f.timeoutSeconds))
+            .on(Scenario.INSERT, f -> WaitUtils.waitForCondition(f.driver, d -> !d.findElements(CART_ROW).isEmpty(), f.timeoutSeconds)));
+        
+        strategies.add(new Strategy("WaitUtils.forDemoblazeHomepage")
+            .on(Scenario.LOAD, f -> { new WaitUtils(f.driver).forDemoblazeHomepage(); return true; }));
+        
+        strategies.add(new Strategy("WebDriverWait locator (500ms poll)")
+            .on(Scenario.REVEAL, f -> webDriverWait(f, null, ExpectedConditions.visibilityOfElementLocated(TARGET)))
+            .on(Scenario.DISMISS, f -> webDriverWait(f, null, ExpectedConditions.invisibilityOfElementLocated(MODAL)))
+            .on(Scenario.INSERT, f -> webDriverWait(f, null, ExpectedConditions.presenceOfElementLocated(CART_ROW)))
+            .on(Scenario.LOAD, f -> webDriverWait(f, null, readyStateComplete())));
+        
+        strategies.add(new Strategy("WebDriverWait locator (50ms poll)")
+            .on(Scenario.REVEAL, f -> webDriverWait(f, Duration.ofMillis(50), ExpectedConditions.visibilityOfElementLocated(TARGET)))
+            .on(Scenario.DISMISS, f -> webDriverWait(f, Duration.ofMillis(50), ExpectedConditions.invisibilityOfElementLocated(MODAL)))
+            .on(Scenario.INSERT, f -> webDriverWait(f, Duration.ofMillis(50), ExpectedConditions.presenceOfElementLocated(CART_ROW)))
+            .on(Scenario.LOAD, f -> webDriverWait(f, Duration.ofMillis(50), readyStateComplete())));
+        
+        strategies.add(new Strategy("DriverManager.waitForCondition")
+            .on(Scenario.REVEAL, f -> DriverManager.waitForCondition(ExpectedConditions.visibilityOfElementLocated(TARGET), f.timeoutSeconds))
+            .on(Scenario.DISMISS, f -> DriverManager.waitForCondition(ExpectedConditions.invisibilityOfElementLocated(MODAL), f.timeoutSeconds))
+            .on(Scenario.INSERT, f -> DriverManager.waitForCondition(ExpectedConditions.presenceOfElementLocated(CART_ROW), f.timeoutSeconds))
+            .on(Scenario.LOAD, f -> DriverManager.waitForCondition(readyStateComplete(), f.timeoutSeconds)));
+        
+        strategies.add(new Strategy("DriverManager.waitForPageReady")
+            .on(Scenario.LOAD, f -> DriverManager.waitForPageReady(f.timeoutSeconds)));
+        
+        strategies.add(new Strategy("DriverManager.waitForPageFullyLoaded")
+            .on(Scenario.LOAD, f -> DriverManager.waitForPageFullyLoaded(f.timeoutSeconds)));
+        
+        strategies.add(new Strategy("Implicit wait findElement")
+            .on(Scenario.INSERT, f -> {
+                f.driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(f.timeoutSeconds));
+                try {
+                    f.driver.findElement(CART_ROW);
+                    return true;
+                } finally {
+                    f.driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+                }
+            }));
+        
+        strategies.add(new Strategy("MutationObserver async script")
+            .on(Scenario.REVEAL, WaitStrategyBenchmark::observe)
+            .on(Scenario.DISMISS, WaitStrategyBenchmark::observe)
+            .on(Scenario.INSERT, WaitStrategyBenchmark::observe)
+            .on(Scenario.LOAD, WaitStrategyBenchmark::observe));
+        
+        return strategies;
+    }
+    
+    private static boolean waitUtilsScript(Fixture f) {
+        String predicate = PREDICATES.get(f.scenario);
+        new WaitUtils(f.driver, f.timeoutSeconds).forCondition(
+            d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(predicate)),
+            f.scenario + " predicate");
+        return true;
+    }
+    
+    private static boolean webDriverWait(Fixture f, Duration polling, Function<WebDriver, ?> condition) {
+        WebDriverWait wait = new WebDriverWait(f.driver, Duration.ofSeconds(f.timeoutSeconds));
+        if (polling != null) {
+            wait.pollingEvery(polling);
+        }
+        wait.until(condition);
+        return true;
+    }
+    
+    private static ExpectedCondition<Boolean> readyStateComplete() {
+        return d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState"));
+    }
+    
+    private static boolean observe(Fixture f) {
+        return Boolean.TRUE.equals(((JavascriptExecutor) f.driver)
+            .executeAsyncScript(OBSERVER_SCRIPT, PREDICATES.get(f.scenario)));
+    }
+    
+    // ===== RUNNER =====
+    
+    private final String baseUrl;
+    private final WebDriver rawDriver;
+    private final WebDriver driver;
+    private final CommandCounter counter;
+    private final int timeoutSeconds;
+    private long clockOffsetMs;
+    private int navigationCount;
+    
+    private WaitStrategyBenchmark(String baseUrl, WebDriver rawDriver, WebDriver driver,
+                                  CommandCounter counter, int timeoutSeconds) {
+        this.baseUrl = baseUrl;
+        this.rawDriver = rawDriver;
+        this.driver = driver;
+        this.counter = counter;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+    
+    private List<Sample> run(long[] delays, int iterations) {
+        List<Strategy> strategies = strategies();
+        List<Sample> samples = new ArrayList<>();
+        rawDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(timeoutSeconds + 5L));
+        
+        for (Scenario scenario : Scenario.values()) {
+            logger.info("🎯 Scenario {}", scenario);
+            for (long delay : delays) {
+                for (int i = 0; i < iterations; i++) {
+                    // Interleave strategies so page or browser drift affects all of them alike
+                    for (Strategy strategy : strategies) {
+                        if (strategy.calls.containsKey(scenario)) {
+                            samples.add(runTrial(strategy, scenario, delay));
+                        }
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+    
+    private Sample runTrial(Strategy strategy, Scenario scenario, long delayMs) {
+        Fixture fixture = scenario == Scenario.LOAD ? startPageLoad(delayMs) : startDomChange(scenario, delayMs);
+        
+        counter.reset();
+        Outcome outcome;
+        try {
+            outcome = strategy.calls.get(scenario).await(fixture) ? Outcome.DETECTED : Outcome.TIMEOUT;
+        } catch (TimeoutException | ScriptTimeoutException e) {
+            outcome = Outcome.TIMEOUT;
+        } catch (WebDriverException e) {
+            logger.debug("⚠️ {} failed on {}: {}", strategy.name, scenario, e.getMessage());
+            outcome = Outcome.ERROR;
+        }
+        long returnedAt = System.currentTimeMillis();
+        int commands = counter.get();
+        
+        double changedAt = scenario == Scenario.LOAD ? awaitLoadEventEnd() : awaitDomChange();
+        double latencyMs = returnedAt - (changedAt - clockOffsetMs);
+        if (outcome == Outcome.DETECTED && latencyMs < 0) {
+            outcome = Outcome.EARLY;
+        }
+        logger.debug("⏱️ {} / {} / {}ms: {} after {}ms, {} commands",
+                     strategy.name, scenario, delayMs, outcome, Math.round(latencyMs), commands);
+        return new Sample(strategy.name, scenario, delayMs, outcome, latencyMs, commands);
+    }
+    
+    private Fixture startDomChange(Scenario scenario, long delayMs) {
+        if (!rawDriver.getCurrentUrl().equals(baseUrl + "/")) {
+            rawDriver.get(baseUrl + "/");
+            awaitUntimed("return document.readyState === 'complete' && !!window.kestrelFixture;");
+            calibrateClock();
+        }
+        ((JavascriptExecutor) rawDriver).executeScript("kestrelFixture.schedule(arguments[0], arguments[1]);",
+                                                       scenario.name(), delayMs);
+        return new Fixture(driver, scenario, driver.findElement(TARGET), driver.findElement(MODAL), timeoutSeconds);
+    }
+    
+    private Fixture startPageLoad(long delayMs) {
+        // Page load strategy is "none": get() returns as soon as navigation starts
+        rawDriver.get(baseUrl + "/?load=" + delayMs + "&n=" + (++navigationCount));
+        return new Fixture(driver, Scenario.LOAD, null, null, timeoutSeconds);
+    }
+    
+    private double awaitDomChange() {
+        awaitUntimed("return kestrelFixture.changedAt !== null;");
+        return ((Number) ((JavascriptExecutor) rawDriver).executeScript("return kestrelFixture.changedAt;")).doubleValue();
+    }
+    
+    private double awaitLoadEventEnd() {
+        awaitUntimed("var n = performance.getEntriesByType('navigation')[0];"
+            + " return location.search.indexOf('n=" + navigationCount + "') >= 0 && !!n && n.loadEventEnd > 0;");
+        calibrateClock();
+        return ((Number) ((JavascriptExecutor) rawDriver).executeScript(
+            "return performance.timeOrigin + performance.getEntriesByType('navigation')[0].loadEventEnd;")).doubleValue();
+    }
+    
+    private void awaitUntimed(String predicate) {
+        new WebDriverWait(rawDriver, Duration.ofSeconds(timeoutSeconds * 2L))
+            .pollingEvery(Duration.ofMillis(20))
+            .ignoring(WebDriverException.class)
+            .until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(predicate)));
+    }
+    
+    /**
+     * Estimate browser clock minus JVM clock from the lowest round trip of a few samples
+     */
+    private void calibrateClock() {
+        long bestRoundTrip = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = System.currentTimeMillis();
+            double browserNow = ((Number) ((JavascriptExecutor) rawDriver)
+                .executeScript("return performance.timeOrigin + performance.now();")).doubleValue();
+            long after = System.currentTimeMillis();
+            if (after - before < bestRoundTrip) {
+                bestRoundTrip = after - before;
+                clockOffsetMs = Math.round(browserNow - (before + after) / 2.0);
+            }
+        }
+    }
+    
+    private static WebDriver createDriver() {
+        WebDriverManager.chromedriver().setup();
+        
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--window-size=1366,768");
+        options.setPageLoadStrategy(PageLoadStrategy.NONE);
+        
+        WebDriver webDriver = new ChromeDriver(options);
+        webDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        return webDriver;
+    }
+    
+    // ===== REPORTING =====
+    
+    private static String renderTable(List<Sample> samples) {
+        StringBuilder table = new StringBuilder();
+        table.append("| Scenario | Strategy | Runs | Early | Timeouts | Errors | Median latency ms | p90 latency ms | Median commands | Max commands |\n");
+        table.append("|---|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        
+        for (Scenario scenario : Scenario.values()) {
+            Map<String, List<Sample>> byStrategy = new LinkedHashMap<>();
+            for (Sample sample : samples) {
+                if (sample.scenario == scenario) {
+                    byStrategy.computeIfAbsent(sample.strategy, k -> new ArrayList<>()).add(sample);
+                }
+            }
+            for (Map.Entry<String, List<Sample>> entry : byStrategy.entrySet()) {
+                List<Sample> runs = entry.getValue();
+                double[] latencies = runs.stream()
+                    .filter(s -> s.outcome == Outcome.DETECTED)
+                    .mapToDouble(s -> s.latencyMs).sorted().toArray();
+                double[] commands = runs.stream().mapToDouble(s -> s.commands).sorted().toArray();
+                table.append(String.format("| %s | %s | %d | %d | %d | %d | %s | %s | %s | %.0f |%n",
+                    scenario, entry.getKey(), runs.size(),
+                    count(runs, Outcome.EARLY), count(runs, Outcome.TIMEOUT), count(runs, Outcome.ERROR),
+                    format(percentile(latencies, 0.5)), format(percentile(latencies, 0.9)),
+                    format(percentile(commands, 0.5)), commands.length > 0 ? commands[commands.length - 1] : 0.0));
+            }
+        }
+        return table.toString();
+    }
+    
+    private static long count(List<Sample> runs, Outcome outcome) {
+        return runs.stream().filter(s -> s.outcome == outcome).count();
+    }
+    
+    private static double percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+    
+    private static String format(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.0f", value);
+    }
+    
+    private static void writeReports(String table, List<Sample> samples) {
+        File dir = new File(REPORT_DIR);
+        dir.mkdirs();
+        StringBuilder csv = new StringBuilder("strategy,scenario,delay_ms,outcome,latency_ms,commands\n");
+        for (Sample sample : samples) {
+            csv.append(String.format("\"%s\",%s,%d,%s,%.1f,%d%n", sample.strategy, sample.scenario,
+                                     sample.delayMs, sample.outcome, sample.latencyMs, sample.commands));
+        }
+        try {
+            Files.writeString(new File(dir, "wait-strategies.md").toPath(),
+                              "# Kestrel Wait Strategy Comparison\n\n" + table, StandardCharsets.UTF_8);
+            Files.writeString(new File(dir, "wait-strategies.csv").toPath(), csv.toString(), StandardCharsets.UTF_8);
+            System.out.println("📊 Reports written to " + dir.getPath());
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write wait strategy reports: {}", e.getMessage());
+        }
+    }
+    
+    // ===== MODEL =====
+    
+    @FunctionalInterface
+    private interface WaitCall {
+        /**
+         * @return true if the wait reported success, false if it reported a timeout
+         */
+        boolean await(Fixture fixture);
+    }
+    
+    private static final class Strategy {
+        final String name;
+        final Map<Scenario, WaitCall> calls = new EnumMap<>(Scenario.class);
+        
+        Strategy(String name) {
+            this.name = name;
+        }
+        
+        Strategy on(Scenario scenario, WaitCall call) {
+            calls.put(scenario, call);
+            return this;
+        }
+    }
+    
+    private static final class Fixture {
+        final WebDriver driver;
+        final Scenario scenario;
+        final WebElement target;
+        final WebElement modal;
+        final int timeoutSeconds;
+        
+        Fixture(WebDriver driver, Scenario scenario, WebElement target, WebElement modal, int timeoutSeconds) {
+            this.driver = driver;
+            this.scenario = scenario;
+            this.target = target;
+            this.modal = modal;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+    }
+    
+    private static final class Sample {
+        final String strategy;
+        final Scenario scenario;
+        final long delayMs;
+        final Outcome outcome;
+        final double latencyMs;
+        final int commands;
+        
+        Sample(String strategy, Scenario scenario, long delayMs, Outcome outcome, double latencyMs, int commands) {
+            this.strategy = strategy;
+            this.scenario = scenario;
+            this.delayMs = delayMs;
+            this.outcome = outcome;
+            this.latencyMs = latencyMs;
+            this.commands = commands;
+        }
+    }
+    
+    /**
+     * Counts calls that reach the browser; accessor calls (manage(), navigate(), ...) are local
+     */
+    private static final class CommandCounter implements WebDriverListener {
+        private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (!LOCAL_METHODS.contains(method.getName())) {
+                count.incrementAndGet();
+            }
+        }
+        
+        void reset() {
+            count.set(0);
+        }
+        
+        int get() {
+            return count.get();
+        }
+    }
+}
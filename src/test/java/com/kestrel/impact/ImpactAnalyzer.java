@@ -0,0 +1,306 @@
+package com.kestrel.impact;
+
+import com.kestrel.utils.EnvironmentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Kestrel Engine Impact Analyzer
+ * Selects the scenarios affected by a git diff, using the impact map recorded by ImpactRecordingPlugin
+ *
+ * Selection rules:
+ * - Changed feature file: all of its scenarios
+ * - Changed source or resource recorded as a scenario dependency: those scenarios
+ * - Changed file matching impact.ignore (docs, benchmarks): nothing
+ * - Anything else (build script, config, a class no recorded scenario reached): run everything
+ * - Scenario that has not passed since it was recorded (failed, skipped): always, its
+ *   dependencies are unknown
+ * - No git diff or no impact map: run everything
+ *
+ * A selected scenario whose feature file changed since it was recorded is widened to the whole
+ * feature, since its recorded line may no longer point at it.
+ *
+ * Configuration (-D or config/*.properties):
+ * - impact.base             Git ref to diff against (default origin/main, merge-base semantics)
+ * - impact.changed.files    Comma-separated changed paths, instead of asking git
+ * - impact.ignore           Regex of paths that never affect scenarios
+ * - impact.selection.path   Selection file read by ./gradlew impactTests (default build/impact/selection.txt)
+ * - impact.report.path      Report directory (default build/reports/impact)
+ *
+ * Run with: ./gradlew impactTests -Dimpact.base=origin/main
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ImpactAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactAnalyzer.class);
+    private static final String RESOURCE_ROOT = "src/test/resources/";
+    private static final String FEATURE_ROOT = RESOURCE_ROOT + "features/";
+    private static final String DEFAULT_IGNORE = "\\.md$|^docs/|^src/jmh/|^LICENSE|^\\.gitignore$";
+    
+    private final Pattern ignored;
+    private final File projectDirectory;
+    
+    /**
+     * What to run
+     */
+    public enum Mode {
+        /** Every scenario (fallback) */
+        ALL,
+        /** Only the listed features/scenarios */
+        SELECTED,
+        /** Nothing affected */
+        NONE
+    }
+    
+    /**
+     * Result of an analysis
+     */
+    public static class Selection {
+        public Mode mode;
+        /** cucumber.features entries: feature URIs, optionally with :line */
+        public Set<String> features = new TreeSet<>();
+        /** Why each changed file did or did not select scenarios */
+        public List<String> reasons = new ArrayList<>();
+        public List<String> changedFiles = new ArrayList<>();
+        
+        static Selection all(List<String> changedFiles, List<String> reasons, String reason) {
+            Selection selection = new Selection();
+            selection.mode = Mode.ALL;
+            selection.changedFiles = changedFiles != null ? changedFiles : new ArrayList<>();
+            selection.reasons = reasons;
+            selection.reasons.add("⚠️ Running everything: " + reason);
+            return selection;
+        }
+    }
+    
+    /**
+     * Create analyzer
+     * @param ignoreRegex Regex of repository paths that never affect scenarios
+     * @param projectDirectory Project root (feature files are read relative to it)
+     */
+    public ImpactAnalyzer(String ignoreRegex, File projectDirectory) {
+        this.ignored = Pattern.compile(ignoreRegex);
+        this.projectDirectory = projectDirectory;
+    }
+    
+    /**
+     * Select scenarios affected by the changed files
+     * @param changedFiles Project-relative changed paths, or null if unknown
+     * @param impactMap Scenario location to recorded dependencies
+     * @return Selection
+     */
+    public Selection select(List<String> changedFiles, Map<String, ImpactMapStore.ScenarioImpact> impactMap) {
+        List<String> reasons = new ArrayList<>();
+        if (changedFiles == null) {
+            return Selection.all(null, reasons, "changed files could not be determined");
+        }
+        if (impactMap.isEmpty()) {
+            return Selection.all(changedFiles, reasons, "no impact map recorded yet (run the suite once)");
+        }
+        
+        // Only passing records list every dependency of their scenario
+        Set<String> recordedDependencies = new TreeSet<>();
+        impactMap.values().stream().filter(impact -> impact.passed)
+            .forEach(impact -> recordedDependencies.addAll(impact.dependencies));
+        
+        Set<String> wholeFeatures = new TreeSet<>();
+        Set<ImpactMapStore.ScenarioImpact> scenarios = new LinkedHashSet<>();
+        for (String file : changedFiles) {
+            if (ignored.matcher(file).find()) {
+                reasons.add("· " + file + " → ignored");
+            } else if (file.startsWith(FEATURE_ROOT) && file.endsWith(".feature")) {
+                if (new File(projectDirectory, file).exists()) {
+                    wholeFeatures.add(classpathUri(file.substring(RESOURCE_ROOT.length())));
+                    reasons.add("· " + file + " → whole feature");
+                } else {
+                    reasons.add("· " + file + " → deleted feature, nothing to run");
+                }
+            } else if (recordedDependencies.contains(file)) {
+                int before = scenarios.size();
+                impactMap.values().stream().filter(impact -> impact.passed && impact.dependencies.contains(file))
+                    .forEach(scenarios::add);
+                reasons.add("· " + file + " → " + (scenarios.size() - before) + " more scenario(s)");
+            } else {
+                return Selection.all(changedFiles, reasons, file + " is not covered by the impact map");
+            }
+        }
+        
+        for (ImpactMapStore.ScenarioImpact impact : impactMap.values()) {
+            if (!impact.passed && scenarios.add(impact)) {
+                reasons.add("· " + impact.name + " has not passed since it was recorded → always selected");
+            }
+        }
+        
+        // Recorded lines are only trusted while the feature file is unchanged
+        List<ImpactMapStore.ScenarioImpact> byLine = new ArrayList<>();
+        for (ImpactMapStore.ScenarioImpact scenario : scenarios) {
+            if (wholeFeatures.contains(scenario.featureUri)) {
+                continue;
+            }
+            String currentHash = currentFeatureHash(scenario.featureUri);
+            if (currentHash == null) {
+                reasons.add("· " + scenario.featureUri + " no longer exists, skipping " + scenario.name);
+            } else if (currentHash.equals(scenario.featureHash)) {
+                byLine.add(scenario);
+            } else if (wholeFeatures.add(scenario.featureUri)) {
+                reasons.add("· " + scenario.featureUri + " changed since it was recorded → whole feature");
+            }
+        }
+        
+        Selection selection = new Selection();
+        selection.changedFiles = changedFiles;
+        selection.reasons = reasons;
+        selection.features.addAll(wholeFeatures);
+        byLine.stream().filter(scenario -> !wholeFeatures.contains(scenario.featureUri))
+            .forEach(scenario -> selection.features.add(scenario.location));
+        selection.mode = selection.features.isEmpty() ? Mode.NONE : Mode.SELECTED;
+        return selection;
+    }
+    
+    // ===== CHANGED FILES =====
+    
+    /**
+     * Ask git for files changed since the merge base with a ref, plus uncommitted and untracked files
+     * @param base Git ref
+     * @param directory Project directory
+     * @return Project-relative paths, or null if git failed (e.g. unknown ref in a shallow clone)
+     */
+    public static List<String> gitChangedFiles(String base, File directory) {
+        Set<String> files = new TreeSet<>();
+        String[][] commands = {
+            {"git", "diff", "-z", "--name-only", "--no-renames", "--relative", base + "...HEAD"},
+            {"git", "diff", "-z", "--name-only", "--no-renames", "--relative", "HEAD"},
+            {"git", "ls-files", "-z", "--others", "--exclude-standard"}
+        };
+        for (String[] command : commands) {
+            try {
+                Process process = new ProcessBuilder(command).directory(directory)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+                String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                if (process.waitFor() != 0) {
+                    logger.warn("⚠️ '{}' failed", String.join(" ", command));
+                    return null;
+                }
+                Arrays.stream(output.split("\0")).filter(path -> !path.isBlank()).forEach(files::add);
+            } catch (IOException e) {
+                logger.warn("⚠️ git is not available: {}", e.getMessage());
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return new ArrayList<>(files);
+    }
+    
+    // ===== FEATURE FILES =====
+    
+    private String currentFeatureHash(String featureUri) {
+        File file = featureFile(featureUri);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        try {
+            return ImpactMapStore.hash(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private File featureFile(String featureUri) {
+        try {
+            URI uri = new URI(featureUri);
+            if ("classpath".equals(uri.getScheme())) {
+                return new File(projectDirectory, RESOURCE_ROOT + uri.getSchemeSpecificPart());
+            }
+            return "file".equals(uri.getScheme()) ? new File(uri) : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Build the feature URI Cucumber reports for a classpath resource (percent-encoded)
+     */
+    private static String classpathUri(String resourcePath) {
+        try {
+            return new URI("classpath", resourcePath, null).toString();
+        } catch (URISyntaxException e) {
+            return "classpath:" + resourcePath;
+        }
+    }
+    
+    // ===== REPORTING =====
+    
+    private static void writeSelection(Selection selection, File file) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            out.println("# mode: " + selection.mode);
+            selection.features.forEach(out::println);
+        }
+    }
+    
+    private static void writeReport(Selection selection, int mappedScenarios, File directory) throws IOException {
+        directory.mkdirs();
+        try (PrintWriter md = new PrintWriter(new File(directory, "impact-report.md"), StandardCharsets.UTF_8)) {
+            md.println("# 🧭 Test Impact Analysis");
+            md.println();
+            md.printf("Mode: **%s** · changed files: %d · scenarios in impact map: %d%n",
+                      selection.mode, selection.changedFiles.size(), mappedScenarios);
+            md.println();
+            md.println("## Decisions");
+            md.println();
+            selection.reasons.forEach(reason -> md.println("- " + reason));
+            md.println();
+            md.println("## Selected");
+            md.println();
+            if (selection.mode == Mode.ALL) {
+                md.println("All scenarios.");
+            } else if (selection.features.isEmpty()) {
+                md.println("Nothing to run.");
+            } else {
+                selection.features.forEach(entry -> md.println("- `" + entry + "`"));
+            }
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        File projectDirectory = new File(System.getProperty("user.dir"));
+        String explicit = EnvironmentManager.getProperty("impact.changed.files", "");
+        List<String> changedFiles = explicit.isBlank()
+            ? gitChangedFiles(EnvironmentManager.getProperty("impact.base", "origin/main"), projectDirectory)
+            : new ArrayList<>(Arrays.asList(explicit.trim().split("\\s*,\\s*")));
+        
+        Map<String, ImpactMapStore.ScenarioImpact> impactMap = ImpactMapStore.fromEnvironment().loadMap();
+        ImpactAnalyzer analyzer = new ImpactAnalyzer(
+            EnvironmentManager.getProperty("impact.ignore", DEFAULT_IGNORE), projectDirectory);
+        Selection selection = analyzer.select(changedFiles, impactMap);
+        
+        File selectionFile = new File(EnvironmentManager.getProperty("impact.selection.path", "build/impact/selection.txt"));
+        File reportDirectory = new File(EnvironmentManager.getProperty("impact.report.path", "build/reports/impact"));
+        writeSelection(selection, selectionFile);
+        writeReport(selection, impactMap.size(), reportDirectory);
+        
+        selection.reasons.forEach(reason -> logger.info("🧭 {}", reason));
+        logger.info("🧭 Impact mode {}: {} selection entr(y/ies) from {} changed file(s) -> {}", selection.mode,
+                   selection.features.size(), selection.changedFiles.size(), selectionFile.getPath());
+        logger.info("📄 Report: {}", new File(reportDirectory, "impact-report.md").getPath());
+    }
+}
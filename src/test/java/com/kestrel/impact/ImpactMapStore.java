@@ -0,0 +1,132 @@
+package com.kestrel.impact;
+
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.utils.RunJsonlStore;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kestrel Engine Impact Map Store
+ * File-based scenario-to-source dependency records, one directory per run
+ *
+ * Layout: {impact.path}/{runId}/{jvm-pid}.jsonl, written through RunJsonlStore.
+ * The impact map is the most recent record of every scenario across the kept runs, so a
+ * partial run (e.g. apiTests only) refreshes its scenarios without losing the others.
+ * Only a passing run records a scenario's complete dependencies: a failed or skipped run never
+ * replaces an earlier passing record, and a scenario with no passing record is always selected.
+ *
+ * Configuration:
+ * - impact.path        Recording directory (default build/impact)
+ * - impact.max.runs    Runs kept before the oldest are pruned (default 10)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ImpactMapStore {
+    private final RunJsonlStore<ScenarioImpact> runs;
+    
+    /**
+     * Recorded dependencies of one scenario
+     */
+    public static class ScenarioImpact {
+        /** Feature URI and line, e.g. classpath:features/api/UserHunting.feature:12 */
+        public String location;
+        public String featureUri;
+        /** Hash of the feature source when recorded; a mismatch means the line may be stale */
+        public String featureHash;
+        public String name;
+        /** Repository-relative source paths */
+        public List<String> dependencies;
+        /** Whether the scenario passed, i.e. reached every class it depends on */
+        public boolean passed = true;
+        
+        public ScenarioImpact() {
+        }
+        
+        public ScenarioImpact(String location, String featureUri, String featureHash, String name,
+                              List<String> dependencies, boolean passed) {
+            this.location = location;
+            this.featureUri = featureUri;
+            this.featureHash = featureHash;
+            this.name = name;
+            this.dependencies = dependencies;
+            this.passed = passed;
+        }
+    }
+    
+    /**
+     * Create store rooted at the given directory
+     * @param directoryPath Recording directory
+     * @param maxRuns Number of runs to keep
+     */
+    public ImpactMapStore(String directoryPath, int maxRuns) {
+        this.runs = new RunJsonlStore<>(directoryPath, maxRuns, ScenarioImpact.class, "scenario impact");
+    }
+    
+    /**
+     * Create store configured from the environment
+     * @return Configured store
+     */
+    public static ImpactMapStore fromEnvironment() {
+        return new ImpactMapStore(
+            EnvironmentManager.getProperty("impact.path", "build/impact"),
+            Integer.parseInt(EnvironmentManager.getProperty("impact.max.runs", "10")));
+    }
+    
+    /**
+     * Short content hash used to detect edited feature files
+     * @param content Feature source
+     * @return First 16 hex digits of the SHA-256
+     */
+    public static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Append records of this JVM to the run directory and prune old runs
+     * @param runId Run id
+     * @param impacts Records to append
+     */
+    public void append(String runId, Collection<ScenarioImpact> impacts) {
+        runs.append(runId, impacts);
+    }
+    
+    /**
+     * Load the impact map: latest passing record of every scenario across kept runs,
+     * or its latest record if it has not passed in any kept run
+     * @return Scenario location to record
+     */
+    public Map<String, ScenarioImpact> loadMap() {
+        Map<String, ScenarioImpact> map = new LinkedHashMap<>();
+        for (String runId : runs.runIds()) {
+            for (ScenarioImpact impact : runs.load(runId)) {
+                ScenarioImpact previous = map.get(impact.location);
+                if (impact.passed || previous == null || !previous.passed) {
+                    map.put(impact.location, impact);
+                }
+            }
+        }
+        return map;
+    }
+    
+    /**
+     * Get recording directory
+     * @return Recording directory
+     */
+    public File getDirectory() {
+        return runs.getDirectory();
+    }
+}
@@ -0,0 +1,117 @@
+package com.kestrel.impact;
+
+import com.kestrel.utils.EnvironmentManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kestrel Engine Impact Recorder
+ * Records which framework sources each running scenario depends on
+ *
+ * Dependencies are repository-relative source paths, so they can be compared with a git diff:
+ * - Glue classes of every executed step and hook (from Cucumber code locations)
+ * - Every com.kestrel class on the call stack when a scenario reaches a framework choke point
+ *   (DriverManager.getDriver(), ApiClient requests), which covers page objects and helpers
+ *   without an instrumenting agent
+ * - Classpath resources read on behalf of a scenario (e.g. JSON schemas)
+ *
+ * Recording is per thread between begin() and finish(), driven by ImpactRecordingPlugin.
+ * Outside a scenario every call is a cheap no-op.
+ *
+ * Configuration:
+ * - impact.record    Record scenario dependencies (default true)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class ImpactRecorder {
+    private static final String SOURCE_ROOT = "src/test/java/";
+    private static final String RESOURCE_ROOT = "src/test/resources/";
+    private static final String FRAMEWORK_PACKAGE = "com.kestrel.";
+    private static final boolean enabled =
+        Boolean.parseBoolean(EnvironmentManager.getProperty("impact.record", "true"));
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final ThreadLocal<Set<String>> currentDependencies = new ThreadLocal<>();
+    private static final Map<String, String> sourcePaths = new ConcurrentHashMap<>();
+    
+    private ImpactRecorder() {
+    }
+    
+    /**
+     * Start recording for the scenario running on this thread
+     */
+    public static void begin() {
+        if (enabled) {
+            currentDependencies.set(new TreeSet<>());
+        }
+    }
+    
+    /**
+     * Stop recording for this thread
+     * @return Sorted dependency paths, or null if nothing was being recorded
+     */
+    public static Set<String> finish() {
+        Set<String> dependencies = currentDependencies.get();
+        currentDependencies.remove();
+        return dependencies;
+    }
+    
+    /**
+     * Record every framework class on the current call stack
+     * Called from choke points every page object and API step passes through
+     */
+    public static void recordCallers() {
+        Set<String> dependencies = currentDependencies.get();
+        if (dependencies == null) {
+            return;
+        }
+        stackWalker.forEach(frame -> {
+            String className = frame.getClassName();
+            if (className.startsWith(FRAMEWORK_PACKAGE) && !className.startsWith(ImpactRecorder.class.getPackageName())) {
+                dependencies.add(sourcePathOf(className));
+            }
+        });
+    }
+    
+    /**
+     * Record the glue class behind a Cucumber code location
+     * @param codeLocation e.g. com.kestrel.web.stepdefs.WebStepDefinitions.userIsOnHomePage()
+     */
+    public static void recordGlue(String codeLocation) {
+        Set<String> dependencies = currentDependencies.get();
+        if (dependencies == null || codeLocation == null) {
+            return;
+        }
+        int parameters = codeLocation.indexOf('(');
+        String method = parameters >= 0 ? codeLocation.substring(0, parameters) : codeLocation;
+        int lastDot = method.lastIndexOf('.');
+        if (lastDot > 0 && method.startsWith(FRAMEWORK_PACKAGE)) {
+            dependencies.add(sourcePathOf(method.substring(0, lastDot)));
+        }
+    }
+    
+    /**
+     * Record a classpath resource read for the current scenario
+     * @param resourcePath Classpath-relative path, e.g. json-schemas/user-schema.json
+     */
+    public static void recordResource(String resourcePath) {
+        Set<String> dependencies = currentDependencies.get();
+        if (dependencies != null) {
+            dependencies.add(RESOURCE_ROOT + resourcePath);
+        }
+    }
+    
+    /**
+     * Map a class name to its source file (nested classes map to the enclosing file)
+     */
+    private static String sourcePathOf(String className) {
+        return sourcePaths.computeIfAbsent(className, name -> {
+            int nested = name.indexOf('$');
+            String outer = nested >= 0 ? name.substring(0, nested) : name;
+            return SOURCE_ROOT + outer.replace('.', '/') + ".java";
+        });
+    }
+}
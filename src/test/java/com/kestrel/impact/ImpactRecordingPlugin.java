@@ -0,0 +1,77 @@
+package com.kestrel.impact;
+
+import com.kestrel.perf.PerformanceHistoryStore;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kestrel Engine Impact Recording Plugin
+ * Cucumber plugin building the scenario-to-source impact map used by ImpactAnalyzer
+ *
+ * Registered in cucumber.plugin as com.kestrel.impact.ImpactRecordingPlugin.
+ * Scenario events are delivered on the thread running the scenario, so ImpactRecorder
+ * attributes stack samples of parallel scenarios correctly.
+ * Scenarios that did not pass are recorded as such: they stopped before reaching all of their
+ * dependencies, so ImpactMapStore keeps their last passing record instead.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ImpactRecordingPlugin implements ConcurrentEventListener {
+    
+    private final String runId = PerformanceHistoryStore.currentRunId();
+    private final Map<URI, String> featureHashes = new ConcurrentHashMap<>();
+    private final Queue<ImpactMapStore.ScenarioImpact> impacts = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestSourceRead.class,
+            event -> featureHashes.put(event.getUri(), ImpactMapStore.hash(event.getSource())));
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> ImpactRecorder.begin());
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+    
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            ImpactRecorder.recordGlue(step.getCodeLocation());
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            ImpactRecorder.recordGlue(hook.getCodeLocation());
+        }
+    }
+    
+    private void onScenarioFinished(TestCaseFinished event) {
+        Set<String> dependencies = ImpactRecorder.finish();
+        if (dependencies == null) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        impacts.add(new ImpactMapStore.ScenarioImpact(
+            testCase.getUri() + ":" + testCase.getLocation().getLine(), testCase.getUri().toString(),
+            featureHashes.get(testCase.getUri()), testCase.getName(), new ArrayList<>(dependencies),
+            event.getResult().getStatus() == Status.PASSED));
+    }
+    
+    private void onRunFinished() {
+        ImpactMapStore.fromEnvironment().append(runId, impacts);
+        impacts.clear();
+    }
+}
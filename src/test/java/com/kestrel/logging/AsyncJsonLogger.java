@@ -0,0 +1,88 @@
+package com.kestrel.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Kestrel Engine Async JSON Logger
+ * SLF4J logger that hands events to AsyncLogPipeline instead of writing on the calling thread
+ *
+ * Formatting, JSON encoding and I/O all happen on the pipeline's writer thread. Arguments of
+ * immutable types are passed through as-is; anything else is rendered on the calling thread
+ * so later mutation cannot change the logged message.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+class AsyncJsonLogger extends LegacyAbstractLogger {
+    private static final long serialVersionUID = 1L;
+    
+    private final transient AsyncLogPipeline pipeline;
+    private final int threshold;
+    
+    AsyncJsonLogger(String name, AsyncLogPipeline pipeline) {
+        this.name = name;
+        this.pipeline = pipeline;
+        this.threshold = pipeline.getThreshold().toInt();
+    }
+    
+    @Override
+    public boolean isTraceEnabled() {
+        return threshold <= Level.TRACE.toInt();
+    }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return threshold <= Level.DEBUG.toInt();
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return threshold <= Level.INFO.toInt();
+    }
+    
+    @Override
+    public boolean isWarnEnabled() {
+        return threshold <= Level.WARN.toInt();
+    }
+    
+    @Override
+    public boolean isErrorEnabled() {
+        return threshold <= Level.ERROR.toInt();
+    }
+    
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+    
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                               Object[] arguments, Throwable throwable) {
+        long start = System.nanoTime();
+        pipeline.submit(start, level, name, messagePattern, snapshot(arguments), throwable);
+    }
+    
+    private static Object[] snapshot(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return arguments;
+        }
+        Object[] copy = arguments.clone();
+        for (int i = 0; i < copy.length; i++) {
+            Object arg = copy[i];
+            if (arg != null && !isImmutable(arg)) {
+                copy[i] = MessageFormatter.basicArrayFormat("{}", new Object[] {arg});
+            }
+        }
+        return copy;
+    }
+    
+    private static boolean isImmutable(Object arg) {
+        return arg instanceof String || arg instanceof Integer || arg instanceof Long
+            || arg instanceof Double || arg instanceof Float || arg instanceof Boolean
+            || arg instanceof Short || arg instanceof Byte || arg instanceof Character
+            || arg instanceof Enum;
+    }
+}
@@ -0,0 +1,345 @@
+package com.kestrel.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.cucumber.java.Scenario;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Async Log Pipeline
+ * Background writer for structured JSON log lines with per-scenario buffering
+ *
+ * Features:
+ * - Test threads only enqueue events; formatting and I/O run on one writer thread
+ * - One JSON object per line: ts, level, thread, logger, scenario, msg, error
+ * - Per-scenario buffer attached to the Cucumber report only when the scenario fails
+ * - Console output limited to warnings and errors by default
+ * - Caller-side time spent in logging is measured and reported at shutdown
+ *
+ * Configuration (-D only: the pipeline starts before EnvironmentManager is loaded):
+ * - log.mode=async                    Select this pipeline (Gradle sets slf4j.provider)
+ * - log.level                         Minimum level (default: org.slf4j.simpleLogger.defaultLogLevel or info)
+ * - log.async.path                    Output directory (default build/reports/logs)
+ * - log.async.queue.size              Bounded queue capacity; callers block when full (default 65536)
+ * - log.async.console.level           Minimum level echoed to stderr, or off (default warn)
+ * - log.async.scenario.max.lines      Most recent lines kept per scenario (default 5000)
+ *
+ * Layout: {log.async.path}/{kestrel.run.id}/{jvm-pid}.jsonl
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class AsyncLogPipeline {
+    private static final Object SHUTDOWN = new Object();
+    private static final int DRAIN_BATCH = 512;
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final ThreadLocal<String> currentScenario = new ThreadLocal<>();
+    private static volatile AsyncLogPipeline instance;
+    
+    private final Level threshold;
+    private final Level consoleThreshold;
+    private final int scenarioMaxLines;
+    private final File logFile;
+    private final BlockingQueue<Object> queue;
+    private final Map<String, Deque<String>> scenarioBuffers = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder callerNanos = new LongAdder();
+    private final LongAdder blockedSubmits = new LongAdder();
+    private final Thread writerThread;
+    private final StringWriter jsonBuffer = new StringWriter(512);
+    private final JsonGenerator jsonGenerator;
+    
+    private AsyncLogPipeline() {
+        this.threshold = parseLevel(System.getProperty("log.level",
+            System.getProperty("org.slf4j.simpleLogger.defaultLogLevel", "info")), Level.INFO);
+        String console = System.getProperty("log.async.console.level", "warn");
+        this.consoleThreshold = "off".equalsIgnoreCase(console) ? null : parseLevel(console, Level.WARN);
+        this.scenarioMaxLines = Integer.parseInt(System.getProperty("log.async.scenario.max.lines", "5000"));
+        // Separate put/take locks: producers do not contend with the writer's drain
+        this.queue = new LinkedBlockingQueue<>(Integer.parseInt(System.getProperty("log.async.queue.size", "65536")));
+        
+        File dir = new File(System.getProperty("log.async.path", "build/reports/logs"),
+                            System.getProperty("kestrel.run.id", "local"));
+        dir.mkdirs();
+        this.logFile = new File(dir, ProcessHandle.current().pid() + ".jsonl");
+        
+        try {
+            this.jsonGenerator = jsonFactory.createGenerator(jsonBuffer);
+            jsonGenerator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new IllegalStateException("❌ Failed to create JSON log generator", e);
+        }
+        
+        this.writerThread = new Thread(this::drain, "kestrel-log-writer");
+        writerThread.setDaemon(true);
+    }
+    
+    /**
+     * Start the JVM-wide pipeline (called once by KestrelLogServiceProvider)
+     * @return Running pipeline
+     */
+    static synchronized AsyncLogPipeline start() {
+        if (instance == null) {
+            AsyncLogPipeline pipeline = new AsyncLogPipeline();
+            pipeline.writerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(pipeline::stop, "kestrel-log-shutdown"));
+            instance = pipeline;
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether async logging is the active SLF4J binding
+     * @return true if -Dlog.mode=async selected this pipeline
+     */
+    public static boolean isActive() {
+        return instance != null;
+    }
+    
+    // ===== SCENARIO BUFFERING =====
+    
+    /**
+     * Tag events logged by the current thread with a scenario id
+     * No-op unless async logging is active
+     * @param scenarioId Cucumber scenario id
+     */
+    public static void beginScenario(String scenarioId) {
+        if (instance != null) {
+            currentScenario.set(scenarioId);
+        }
+    }
+    
+    /**
+     * Close the current scenario's buffer and attach it to the report if the scenario failed
+     * A failed scenario waits until every event logged so far has been processed, so the attachment
+     * is complete; a passed scenario only enqueues a marker that makes the writer drop its buffer
+     * @param scenario Finished scenario
+     */
+    public static void finishScenario(Scenario scenario) {
+        AsyncLogPipeline pipeline = instance;
+        if (pipeline == null) {
+            return;
+        }
+        String scenarioId = currentScenario.get();
+        currentScenario.remove();
+        if (scenarioId == null) {
+            return;
+        }
+        
+        long startNanos = System.nanoTime();
+        if (!scenario.isFailed()) {
+            pipeline.enqueue(new DiscardBuffer(scenarioId));
+            pipeline.callerNanos.add(System.nanoTime() - startNanos);
+            return;
+        }
+        
+        pipeline.awaitWritten();
+        pipeline.callerNanos.add(System.nanoTime() - startNanos);
+        Deque<String> lines = pipeline.scenarioBuffers.remove(scenarioId);
+        if (lines != null && !lines.isEmpty()) {
+            scenario.attach(String.join("\n", lines), "text/plain", "Scenario Log (JSON lines)");
+        }
+    }
+    
+    // ===== CALLER SIDE =====
+    
+    Level getThreshold() {
+        return threshold;
+    }
+    
+    /**
+     * Enqueue an event; blocks only when the queue is full
+     */
+    void submit(long startNanos, Level level, String loggerName, String pattern, Object[] args, Throwable throwable) {
+        LogEvent event = new LogEvent(System.currentTimeMillis(), level, loggerName,
+            Thread.currentThread().getName(), currentScenario.get(), pattern, args, throwable);
+        enqueue(event);
+        events.increment();
+        callerNanos.add(System.nanoTime() - startNanos);
+    }
+    
+    private void enqueue(Object item) {
+        if (!queue.offer(item)) {
+            blockedSubmits.increment();
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private void awaitWritten() {
+        Barrier barrier = new Barrier();
+        try {
+            queue.put(barrier);
+            barrier.latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    // ===== WRITER THREAD =====
+    
+    private void drain() {
+        List<Object> batch = new ArrayList<>();
+        try (Writer out = Files.newBufferedWriter(logFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (true) {
+                // Block only when idle: producers pay for a wake-up on the empty-to-non-empty transition alone
+                if (queue.drainTo(batch, DRAIN_BATCH) == 0) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, DRAIN_BATCH - 1);
+                }
+                for (Object item : batch) {
+                    if (item == SHUTDOWN) {
+                        out.flush();
+                        return;
+                    }
+                    if (item instanceof Barrier) {
+                        out.flush();
+                        ((Barrier) item).latch.countDown();
+                    } else if (item instanceof DiscardBuffer) {
+                        scenarioBuffers.remove(((DiscardBuffer) item).scenarioId);
+                    } else {
+                        write((LogEvent) item, out);
+                    }
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Kestrel async log writer failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void write(LogEvent event, Writer out) throws IOException {
+        String message = MessageFormatter.basicArrayFormat(event.pattern, event.args);
+        String line = toJson(event, message);
+        out.write(line);
+        out.write('\n');
+        
+        if (event.scenario != null) {
+            Deque<String> buffer = scenarioBuffers.computeIfAbsent(event.scenario, k -> new ArrayDeque<>());
+            if (buffer.size() >= scenarioMaxLines) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(line);
+        }
+        
+        if (consoleThreshold != null && event.level.toInt() >= consoleThreshold.toInt()) {
+            System.err.println("[" + event.thread + "] " + event.level + " " + event.logger + " - " + message);
+            if (event.throwable != null) {
+                event.throwable.printStackTrace(System.err);
+            }
+        }
+    }
+    
+    private String toJson(LogEvent event, String message) throws IOException {
+        // One generator reused by the writer thread; the buffer is cleared per line
+        jsonBuffer.getBuffer().setLength(0);
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("ts", Instant.ofEpochMilli(event.timestamp).toString());
+        jsonGenerator.writeStringField("level", event.level.toString());
+        jsonGenerator.writeStringField("thread", event.thread);
+        jsonGenerator.writeStringField("logger", event.logger);
+        if (event.scenario != null) {
+            jsonGenerator.writeStringField("scenario", event.scenario);
+        }
+        jsonGenerator.writeStringField("msg", message);
+        if (event.throwable != null) {
+            StringWriter trace = new StringWriter();
+            event.throwable.printStackTrace(new PrintWriter(trace));
+            jsonGenerator.writeStringField("error", trace.toString());
+        }
+        jsonGenerator.writeEndObject();
+        jsonGenerator.flush();
+        return jsonBuffer.toString();
+    }
+    
+    private void stop() {
+        try {
+            queue.put(SHUTDOWN);
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long count = events.sum();
+        double totalMs = callerNanos.sum() / 1_000_000.0;
+        System.err.printf(Locale.ROOT,
+            "📊 Kestrel async logging: %d events, caller time %.1f ms (avg %.2f µs/event), %d blocked submits -> %s%n",
+            count, totalMs, count > 0 ? totalMs * 1000 / count : 0.0, blockedSubmits.sum(), logFile.getPath());
+    }
+    
+    private static Level parseLevel(String value, Level fallback) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+    
+    // ===== EVENTS =====
+    
+    private static final class LogEvent {
+        final long timestamp;
+        final Level level;
+        final String logger;
+        final String thread;
+        final String scenario;
+        final String pattern;
+        final Object[] args;
+        final Throwable throwable;
+        
+        LogEvent(long timestamp, Level level, String logger, String thread, String scenario,
+                 String pattern, Object[] args, Throwable throwable) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.scenario = scenario;
+            this.pattern = pattern;
+            this.args = args;
+            this.throwable = throwable;
+        }
+    }
+    
+    private static final class Barrier {
+        final CountDownLatch latch = new CountDownLatch(1);
+    }
+    
+    private static final class DiscardBuffer {
+        final String scenarioId;
+        
+        DiscardBuffer(String scenarioId) {
+            this.scenarioId = scenarioId;
+        }
+    }
+}
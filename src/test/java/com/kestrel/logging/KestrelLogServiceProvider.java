@@ -0,0 +1,58 @@
+package com.kestrel.logging;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Logger;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kestrel Engine SLF4J Service Provider
+ * Routes all framework logging through the asynchronous JSON pipeline
+ *
+ * Not registered in META-INF/services on purpose: slf4j-simple stays the default binding and
+ * this provider is only selected explicitly with
+ * -Dslf4j.provider=com.kestrel.logging.KestrelLogServiceProvider (set by Gradle for -Dlog.mode=async).
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class KestrelLogServiceProvider implements SLF4JServiceProvider {
+    private static final String REQUESTED_API_VERSION = "2.0.99";
+    
+    private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+    private final IMarkerFactory markerFactory = new BasicMarkerFactory();
+    private final MDCAdapter mdcAdapter = new BasicMDCAdapter();
+    private ILoggerFactory loggerFactory;
+    
+    @Override
+    public void initialize() {
+        AsyncLogPipeline pipeline = AsyncLogPipeline.start();
+        loggerFactory = name -> loggers.computeIfAbsent(name, n -> new AsyncJsonLogger(n, pipeline));
+    }
+    
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return loggerFactory;
+    }
+    
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return markerFactory;
+    }
+    
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return mdcAdapter;
+    }
+    
+    @Override
+    public String getRequestedApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+}
@@ -0,0 +1,407 @@
+package com.kestrel.perf;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kestrel.utils.CpuThrottling;
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.web.commands.WebDriverCommandRecorder;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PUBLISH_QUIET_PROPERTY_NAME;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Kestrel Engine CPU Throttle Sweep
+ * Runs the web suite at several CPU throttle levels and reports which steps and waits are
+ * most sensitive to CPU starvation, so timeouts can be sized from data
+ *
+ * Features:
+ * - One JVM per level (browser.cpu.throttle and the run id are fixed at JVM start), sequential
+ *   so levels do not compete for the same cores
+ * - Steps compared by median duration at the lowest and highest level (added ms and slowdown)
+ * - Explicit waits attributed to the framework method that waits (browser.commands.waits),
+ *   compared by their longest single wait, with a suggested timeout at the highest level
+ * - Levels whose suite failed are marked: timeouts that no longer hold show up there first
+ *
+ * Output (under perf.cpu.sweep.path/{sweep run id}):
+ * - cpu-sensitivity.md / cpu-sensitivity.json   Ranked steps and waits
+ * - cucumber-x{rate}.json                        Cucumber report of each level
+ *
+ * Configuration (-D or config/*.properties):
+ * - perf.cpu.sweep.rates      Throttle levels (default 1,2,4,6)
+ * - perf.cpu.sweep.tags       Scenarios to run (default @web)
+ * - perf.cpu.sweep.top        Steps and waits listed in the report (default 15)
+ * - perf.cpu.sweep.headroom   Suggested timeout = longest wait at the highest level x headroom (default 3)
+ * - perf.cpu.sweep.path       Report directory (default build/reports/cpu-sweep)
+ *
+ * Run with: ./gradlew cpuThrottleSweep
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class CpuThrottleSweep {
+    private static final Logger logger = LoggerFactory.getLogger(CpuThrottleSweep.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final String LEVEL_ARGUMENT = "--level";
+    
+    // Settings the level JVMs inherit from this one, besides the keys known to the configuration
+    private static final List<String> FORWARDED_PREFIXES = List.of("env", "browser", "headless", "web.", "api.", "log.");
+    
+    /**
+     * Median step duration per throttle level
+     */
+    public static class StepSensitivity {
+        public String scenario;
+        public String step;
+        public Map<String, Double> medianMs = new LinkedHashMap<>();
+        public double addedMs;
+        public double slowdown;
+    }
+    
+    /**
+     * Longest single wait per throttle level for one wait site
+     */
+    public static class WaitSensitivity {
+        public String site;
+        public int waitsAtBase;
+        public Map<String, Double> longestMs = new LinkedHashMap<>();
+        public double addedMs;
+        public double slowdown;
+        public int suggestedTimeoutSeconds;
+    }
+    
+    /**
+     * Sweep result written as cpu-sensitivity.json
+     */
+    public static class SweepReport {
+        public String sweepId;
+        public Map<String, String> levels = new LinkedHashMap<>();
+        public List<StepSensitivity> steps = new ArrayList<>();
+        public List<WaitSensitivity> waits = new ArrayList<>();
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && LEVEL_ARGUMENT.equals(args[0])) {
+            // Exit explicitly: browsers left by a failed scenario must not keep the level JVM alive
+            System.exit(runLevel(args[1]));
+        }
+        
+        List<Double> rates = rates();
+        String sweepId = PerformanceHistoryStore.currentRunId();
+        File directory = new File(EnvironmentManager.getProperty("perf.cpu.sweep.path", "build/reports/cpu-sweep"), sweepId);
+        directory.mkdirs();
+        
+        Map<Double, List<WebDriverCommandRecorder.StepCommands>> stepsByRate = new TreeMap<>();
+        SweepReport report = new SweepReport();
+        report.sweepId = sweepId;
+        for (double rate : rates) {
+            String runId = levelRunId(sweepId, rate);
+            logger.info("🐌 CPU sweep level x{} (run {})", CpuThrottling.format(rate), runId);
+            int exitCode = forkLevel(rate, runId, directory);
+            report.levels.put(label(rate), exitCode == 0 ? "passed" : "failures");
+            stepsByRate.put(rate, loadSteps(runId));
+        }
+        
+        int top = Integer.parseInt(EnvironmentManager.getProperty("perf.cpu.sweep.top", "15"));
+        double headroom = Double.parseDouble(EnvironmentManager.getProperty("perf.cpu.sweep.headroom", "3"));
+        report.steps = rankSteps(stepsByRate, top);
+        report.waits = rankWaits(stepsByRate, top, headroom);
+        
+        mapper.writeValue(new File(directory, "cpu-sensitivity.json"), report);
+        writeMarkdown(report, rates, headroom, new File(directory, "cpu-sensitivity.md"));
+        
+        report.levels.forEach((level, outcome) -> logger.info("🐌 {}: {}", level, outcome));
+        for (StepSensitivity step : report.steps.subList(0, Math.min(5, report.steps.size()))) {
+            logger.info(String.format(Locale.ROOT, "🐌 +%.0f ms (x%.1f) %s", step.addedMs, step.slowdown, step.step));
+        }
+        for (WaitSensitivity wait : report.waits.subList(0, Math.min(5, report.waits.size()))) {
+            logger.info(String.format(Locale.ROOT, "🐌 +%.0f ms longest wait (x%.1f) %s, suggested timeout %ds",
+                                      wait.addedMs, wait.slowdown, wait.site, wait.suggestedTimeoutSeconds));
+        }
+        logger.info("📄 CPU sensitivity report: {}", new File(directory, "cpu-sensitivity.md").getPath());
+    }
+    
+    // ===== LEVELS =====
+    
+    private static List<Double> rates() {
+        List<Double> rates = new ArrayList<>();
+        for (String rate : EnvironmentManager.getProperty("perf.cpu.sweep.rates", "1,2,4,6").split(",")) {
+            if (!rate.isBlank()) {
+                rates.add(Double.parseDouble(rate.trim()));
+            }
+        }
+        Collections.sort(rates);
+        if (rates.size() < 2 || rates.get(0) < 1) {
+            throw new IllegalArgumentException("❌ perf.cpu.sweep.rates needs at least two rates of 1 or more, e.g. 1,2,4,6");
+        }
+        return rates;
+    }
+    
+    private static String levelRunId(String sweepId, double rate) {
+        return sweepId + "-cpu" + CpuThrottling.format(rate);
+    }
+    
+    private static String label(double rate) {
+        return "x" + CpuThrottling.format(rate);
+    }
+    
+    /**
+     * Run one level in a fresh JVM with the same classpath and Kestrel settings
+     * @return Exit code of the level JVM (0 = all scenarios passed)
+     */
+    private static int forkLevel(double rate, String runId, File directory) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (EnvironmentManager.getConfig().getSources().containsKey(key) || FORWARDED_PREFIXES.stream().anyMatch(key::startsWith)
+                || key.startsWith("perf.cpu.sweep.")) {
+                command.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+        command.add("-Dbrowser.cpu.throttle=" + rate);
+        command.add("-Dbrowser.commands.waits=true");
+        command.add("-Dkestrel.run.id=" + runId);
+        command.add("-Dperf.cpu.sweep.report=" + new File(directory, "cucumber-" + label(rate) + ".json").getPath());
+        command.add(CpuThrottleSweep.class.getName());
+        command.add(LEVEL_ARGUMENT);
+        command.add(String.valueOf(rate));
+        
+        try {
+            return new ProcessBuilder(command).inheritIO().start().waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("CPU sweep interrupted at level " + label(rate), e);
+        }
+    }
+    
+    /**
+     * Run the selected scenarios once in this JVM, throttled by browser.cpu.throttle
+     * @return 0 if every scenario passed, 1 otherwise
+     */
+    private static int runLevel(String rate) {
+        LauncherDiscoveryRequest request = request()
+            .selectors(selectClasspathResource("features"))
+            .filters(includeEngines("cucumber"))
+            .configurationParameter(FILTER_TAGS_PROPERTY_NAME, EnvironmentManager.getProperty("perf.cpu.sweep.tags", "@web"))
+            .configurationParameter(GLUE_PROPERTY_NAME, "com.kestrel")
+            .configurationParameter(PLUGIN_PROPERTY_NAME,
+                "json:" + System.getProperty("perf.cpu.sweep.report") + ",com.kestrel.web.commands.WebDriverCommandPlugin")
+            .configurationParameter(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, "false")
+            .configurationParameter(PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, "true")
+            .build();
+        
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(request, summary);
+        long failed = summary.getSummary().getTotalFailureCount();
+        logger.info("🐌 Level x{}: {} scenario(s), {} failed", rate, summary.getSummary().getTestsFoundCount(), failed);
+        return failed == 0 ? 0 : 1;
+    }
+    
+    private static List<WebDriverCommandRecorder.StepCommands> loadSteps(String runId) throws IOException {
+        Path directory = Path.of(EnvironmentManager.getProperty("browser.commands.path", "build/reports/webdriver-commands"), runId);
+        List<WebDriverCommandRecorder.StepCommands> steps = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            logger.warn("⚠️ No step report for run {} at: {}", runId, directory);
+            return steps;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith("-steps.jsonl")).toList()) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        steps.add(mapper.readValue(line, WebDriverCommandRecorder.StepCommands.class));
+                    }
+                }
+            }
+        }
+        return steps;
+    }
+    
+    // ===== ANALYSIS =====
+    
+    /**
+     * Rank steps by the median time they gained between the lowest and highest level
+     * @param stepsByRate Recorded steps per throttle rate, ascending
+     * @param top Max steps returned
+     * @return Most sensitive steps first
+     */
+    public static List<StepSensitivity> rankSteps(Map<Double, List<WebDriverCommandRecorder.StepCommands>> stepsByRate, int top) {
+        Map<String, StepSensitivity> byStep = new LinkedHashMap<>();
+        stepsByRate.forEach((rate, steps) -> {
+            Map<String, List<Double>> durations = new LinkedHashMap<>();
+            for (WebDriverCommandRecorder.StepCommands step : steps) {
+                if (step.hook) {
+                    continue;
+                }
+                String key = step.scenario + "\u0000" + step.step;
+                durations.computeIfAbsent(key, k -> new ArrayList<>()).add((double) step.durationMs);
+                byStep.computeIfAbsent(key, k -> {
+                    StepSensitivity sensitivity = new StepSensitivity();
+                    sensitivity.scenario = step.scenario;
+                    sensitivity.step = step.step;
+                    return sensitivity;
+                });
+            }
+            durations.forEach((key, values) -> byStep.get(key).medianMs.put(label(rate), median(values)));
+        });
+        
+        String base = label(first(stepsByRate));
+        String highest = label(last(stepsByRate));
+        List<StepSensitivity> ranked = new ArrayList<>();
+        for (StepSensitivity step : byStep.values()) {
+            Double baseMs = step.medianMs.get(base);
+            Double highestMs = step.medianMs.get(highest);
+            if (baseMs == null || highestMs == null) {
+                continue;
+            }
+            step.addedMs = highestMs - baseMs;
+            step.slowdown = round(highestMs / Math.max(baseMs, 1));
+            ranked.add(step);
+        }
+        ranked.sort(Comparator.comparingDouble((StepSensitivity step) -> step.addedMs).reversed());
+        return ranked.subList(0, Math.min(top, ranked.size()));
+    }
+    
+    /**
+     * Rank wait sites by the time their longest single wait gained between the lowest and highest level
+     * @param stepsByRate Recorded steps per throttle rate, ascending
+     * @param top Max waits returned
+     * @param headroom Multiplier applied to the longest wait at the highest level for the suggested timeout
+     * @return Most sensitive waits first
+     */
+    public static List<WaitSensitivity> rankWaits(Map<Double, List<WebDriverCommandRecorder.StepCommands>> stepsByRate,
+                                                  int top, double headroom) {
+        double baseRate = first(stepsByRate);
+        Map<String, WaitSensitivity> bySite = new TreeMap<>();
+        stepsByRate.forEach((rate, steps) -> {
+            for (WebDriverCommandRecorder.StepCommands step : steps) {
+                if (step.waits == null) {
+                    continue;
+                }
+                step.waits.forEach((site, time) -> {
+                    WaitSensitivity wait = bySite.computeIfAbsent(site, k -> {
+                        WaitSensitivity sensitivity = new WaitSensitivity();
+                        sensitivity.site = site;
+                        return sensitivity;
+                    });
+                    wait.longestMs.merge(label(rate), time.maxMs, Math::max);
+                    if (rate == baseRate) {
+                        wait.waitsAtBase += time.count;
+                    }
+                });
+            }
+        });
+        
+        String base = label(baseRate);
+        String highest = label(last(stepsByRate));
+        List<WaitSensitivity> ranked = new ArrayList<>();
+        for (WaitSensitivity wait : bySite.values()) {
+            Double baseMs = wait.longestMs.get(base);
+            Double highestMs = wait.longestMs.get(highest);
+            if (baseMs == null || highestMs == null) {
+                continue;
+            }
+            wait.addedMs = round(highestMs - baseMs);
+            wait.slowdown = round(highestMs / Math.max(baseMs, 1));
+            wait.suggestedTimeoutSeconds = (int) Math.max(1, Math.ceil(highestMs * headroom / 1000));
+            ranked.add(wait);
+        }
+        ranked.sort(Comparator.comparingDouble((WaitSensitivity wait) -> wait.addedMs).reversed());
+        return ranked.subList(0, Math.min(top, ranked.size()));
+    }
+    
+    // ===== REPORTING =====
+    
+    private static void writeMarkdown(SweepReport report, List<Double> rates, double headroom, File file) throws IOException {
+        List<String> labels = rates.stream().map(CpuThrottleSweep::label).toList();
+        try (PrintWriter md = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            md.println("# 🐌 CPU Throttle Sweep " + report.sweepId);
+            md.println();
+            md.println("Levels: " + String.join(", ", report.levels.entrySet().stream()
+                .map(level -> level.getKey() + " (" + level.getValue() + ")").toList()));
+            md.println();
+            md.println("## Steps most sensitive to CPU starvation (median ms)");
+            md.println();
+            md.println("| Step | Scenario | " + String.join(" | ", labels) + " | Added (ms) | Slowdown |");
+            md.println("|---|---|" + "---|".repeat(labels.size()) + "---|---|");
+            for (StepSensitivity step : report.steps) {
+                md.printf(Locale.ROOT, "| %s | %s | %s | %.0f | x%.1f |%n", cell(step.step), cell(step.scenario),
+                          values(step.medianMs, labels), step.addedMs, step.slowdown);
+            }
+            md.println();
+            md.println("## Waits most sensitive to CPU starvation (longest single wait, ms)");
+            md.println();
+            md.println("| Wait | Waits at " + labels.get(0) + " | " + String.join(" | ", labels)
+                + " | Added (ms) | Slowdown | Suggested timeout (s) |");
+            md.println("|---|---|" + "---|".repeat(labels.size()) + "---|---|---|");
+            for (WaitSensitivity wait : report.waits) {
+                md.printf(Locale.ROOT, "| %s | %d | %s | %.0f | x%.1f | %d |%n", cell(wait.site), wait.waitsAtBase,
+                          values(wait.longestMs, labels), wait.addedMs, wait.slowdown, wait.suggestedTimeoutSeconds);
+            }
+            md.println();
+            md.printf(Locale.ROOT, "Suggested timeout: longest wait at %s times a headroom of %s, rounded up to whole seconds.%n",
+                      labels.get(labels.size() - 1), CpuThrottling.format(headroom));
+        }
+    }
+    
+    private static String values(Map<String, Double> byLevel, List<String> labels) {
+        return String.join(" | ", labels.stream()
+            .map(level -> byLevel.containsKey(level) ? String.format(Locale.ROOT, "%.0f", byLevel.get(level)) : "")
+            .toList());
+    }
+    
+    private static String cell(String text) {
+        return text == null ? "" : text.replace("|", "\\|");
+    }
+    
+    // ===== UTILITY METHODS =====
+    
+    private static double first(Map<Double, ?> byRate) {
+        return byRate.keySet().iterator().next();
+    }
+    
+    private static double last(Map<Double, ?> byRate) {
+        return new ArrayList<>(byRate.keySet()).get(byRate.size() - 1);
+    }
+    
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.kestrel.perf;
+
+import com.kestrel.utils.EnvironmentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Kestrel Engine JVM Startup Report
+ * Compares test JVM startup with and without the AppCDS archive, from the performance history
+ *
+ * Every forked test JVM records one jvm.startup sample: its uptime when the first scenario
+ * starts (JVM boot, Gradle worker, JUnit discovery, Cucumber glue and framework class loading).
+ * Samples are grouped by "cds" (started with -Pcds) and "default" across all kept runs.
+ *
+ * Configuration:
+ * - perf.startup.report.path   Report directory (default build/reports/jvm-startup)
+ *
+ * Run with: ./gradlew jvmStartupReport
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class JvmStartupReport {
+    private static final Logger logger = LoggerFactory.getLogger(JvmStartupReport.class);
+    private static final String KIND = "jvm.startup";
+    
+    /**
+     * Startup samples of one mode
+     */
+    public static class ModeStats {
+        public String mode;
+        public int samples;
+        public Set<String> runs = new LinkedHashSet<>();
+        public double medianMs;
+        public double minMs;
+        public double maxMs;
+    }
+    
+    /**
+     * Group jvm.startup samples by mode
+     * @param runs Run id to records
+     * @return Mode to statistics
+     */
+    public static Map<String, ModeStats> summarize(Map<String, List<PerformanceHistoryStore.TimingRecord>> runs) {
+        Map<String, List<Double>> samples = new TreeMap<>();
+        Map<String, ModeStats> stats = new TreeMap<>();
+        runs.forEach((runId, records) -> {
+            for (PerformanceHistoryStore.TimingRecord record : records) {
+                if (KIND.equals(record.kind)) {
+                    samples.computeIfAbsent(record.name, k -> new ArrayList<>()).add(record.durationMs);
+                    stats.computeIfAbsent(record.name, k -> new ModeStats()).runs.add(runId);
+                }
+            }
+        });
+        samples.forEach((mode, values) -> {
+            Collections.sort(values);
+            ModeStats modeStats = stats.get(mode);
+            modeStats.mode = mode;
+            modeStats.samples = values.size();
+            modeStats.minMs = values.get(0);
+            modeStats.maxMs = values.get(values.size() - 1);
+            int middle = values.size() / 2;
+            modeStats.medianMs = values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+        });
+        return stats;
+    }
+    
+    private static void writeReport(Map<String, ModeStats> stats, String verdict, File directory) throws IOException {
+        directory.mkdirs();
+        try (PrintWriter md = new PrintWriter(new File(directory, "jvm-startup.md"), StandardCharsets.UTF_8)) {
+            md.println("# 🚀 Test JVM Startup (uptime at first scenario)");
+            md.println();
+            md.println("| Mode | Runs | JVMs | Median (ms) | Min (ms) | Max (ms) |");
+            md.println("|---|---|---|---|---|---|");
+            for (ModeStats modeStats : stats.values()) {
+                md.printf(Locale.ROOT, "| %s | %d | %d | %.0f | %.0f | %.0f |%n", modeStats.mode, modeStats.runs.size(),
+                          modeStats.samples, modeStats.medianMs, modeStats.minMs, modeStats.maxMs);
+            }
+            md.println();
+            md.println(verdict);
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        PerformanceHistoryStore store = PerformanceHistoryStore.fromEnvironment();
+        Map<String, ModeStats> stats = summarize(store.loadRuns());
+        if (stats.isEmpty()) {
+            logger.info("🚀 No JVM startup samples found at: {}", store.getDirectory().getPath());
+            return;
+        }
+        
+        ModeStats cds = stats.get("cds");
+        ModeStats standard = stats.get("default");
+        String verdict;
+        if (cds != null && standard != null) {
+            double saved = standard.medianMs - cds.medianMs;
+            verdict = String.format(Locale.ROOT, "AppCDS saves %.0f ms (%.1f%%) per test JVM at the median",
+                                    saved, saved / standard.medianMs * 100);
+        } else {
+            verdict = "Run tests both with and without -Pcds to compare";
+        }
+        
+        File directory = new File(EnvironmentManager.getProperty("perf.startup.report.path", "build/reports/jvm-startup"));
+        writeReport(stats, verdict, directory);
+        
+        for (ModeStats modeStats : stats.values()) {
+            logger.info(String.format(Locale.ROOT, "🚀 %-7s median %.0f ms over %d JVM(s) in %d run(s)", modeStats.mode,
+                                      modeStats.medianMs, modeStats.samples, modeStats.runs.size()));
+        }
+        logger.info("🚀 {}", verdict);
+        logger.info("📄 Report: {}", new File(directory, "jvm-startup.md").getPath());
+    }
+}
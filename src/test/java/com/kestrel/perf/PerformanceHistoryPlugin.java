@@ -0,0 +1,110 @@
+package com.kestrel.perf;
+
+import com.kestrel.utils.BrowserMetricsCollector;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Kestrel Engine Performance History Plugin
+ * Cucumber plugin recording scenario, step and page timings of each run into PerformanceHistoryStore
+ *
+ * Registered in cucumber.plugin as com.kestrel.perf.PerformanceHistoryPlugin.
+ * Page timings come from BrowserMetricsCollector (load event end and LCP per URL).
+ * JVM startup is the uptime of this JVM when its first scenario starts, recorded as "cds" when
+ * the JVM was started with an AppCDS archive (-Pcds) and "default" otherwise.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class PerformanceHistoryPlugin implements ConcurrentEventListener {
+    
+    private final String runId = PerformanceHistoryStore.currentRunId();
+    private final Queue<PerformanceHistoryStore.TimingRecord> records = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean startupRecorded = new AtomicBoolean();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> onScenarioStarted());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+    
+    private void onScenarioStarted() {
+        if (startupRecorded.compareAndSet(false, true)) {
+            records.add(new PerformanceHistoryStore.TimingRecord(runId, "jvm.startup", classDataSharing(),
+                ManagementFactory.getRuntimeMXBean().getUptime(), null));
+        }
+    }
+    
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            records.add(new PerformanceHistoryStore.TimingRecord(runId, "step",
+                step.getStep().getKeyword().trim() + " " + step.getStep().getText(),
+                event.getResult().getDuration().toNanos() / 1_000_000.0, event.getResult().getStatus().name()));
+        }
+    }
+    
+    private void onScenarioFinished(TestCaseFinished event) {
+        records.add(new PerformanceHistoryStore.TimingRecord(runId, "scenario",
+            featureName(event.getTestCase().getUri()) + ": " + event.getTestCase().getName(),
+            event.getResult().getDuration().toNanos() / 1_000_000.0, event.getResult().getStatus().name()));
+    }
+    
+    private void onRunFinished() {
+        for (BrowserMetricsCollector.PageMetrics page : BrowserMetricsCollector.getRunPages()) {
+            String name = pageName(page.url);
+            if (page.loadMs != null) {
+                records.add(new PerformanceHistoryStore.TimingRecord(runId, "page.load", name, page.loadMs, null));
+            }
+            if (page.lcpMs != null) {
+                records.add(new PerformanceHistoryStore.TimingRecord(runId, "page.lcp", name, page.lcpMs, null));
+            }
+        }
+        PerformanceHistoryStore.fromEnvironment().append(runId, records);
+        records.clear();
+    }
+    
+    /**
+     * Whether this JVM was started with an application class data sharing archive
+     */
+    private static String classDataSharing() {
+        try {
+            String archive = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("SharedArchiveFile").getValue();
+            return archive.isEmpty() ? "default" : "cds";
+        } catch (RuntimeException e) {
+            return "default";
+        }
+    }
+    
+    private static String featureName(URI uri) {
+        String path = uri.toString();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+    
+    /**
+     * Host-independent page name, so replayed or mirrored environments share history
+     */
+    private static String pageName(String url) {
+        try {
+            URI uri = URI.create(url);
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return uri.getRawQuery() != null ? path + "?" + uri.getRawQuery() : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.kestrel.perf;
+
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.utils.RunJsonlStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kestrel Engine Performance History Store
+ * Append-only, file-based history of scenario, step and page timings across runs
+ *
+ * Layout: {perf.history.path}/{runId}/{jvm-pid}.jsonl, written through RunJsonlStore.
+ * Forked test JVMs of one Gradle invocation share the run id passed as -Dkestrel.run.id,
+ * so each writes its own file in the same run directory without locking.
+ *
+ * Configuration:
+ * - perf.history.path       History directory (default build/perf-history)
+ * - perf.history.max.runs   Runs kept before the oldest are pruned (default 30)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class PerformanceHistoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceHistoryStore.class);
+    private static final DateTimeFormatter RUN_ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final RunJsonlStore<TimingRecord> runs;
+    
+    /**
+     * One timing measurement
+     */
+    public static class TimingRecord {
+        public String runId;
+        /** scenario, step, page.load, page.lcp or jvm.startup */
+        public String kind;
+        public String name;
+        public double durationMs;
+        public String status;
+        
+        public TimingRecord() {
+        }
+        
+        public TimingRecord(String runId, String kind, String name, double durationMs, String status) {
+            this.runId = runId;
+            this.kind = kind;
+            this.name = name;
+            this.durationMs = durationMs;
+            this.status = status;
+        }
+        
+        /**
+         * Key identifying the same measurement across runs
+         * @return kind and name
+         */
+        public String key() {
+            return kind + " | " + name;
+        }
+    }
+    
+    /**
+     * Create store rooted at the given directory
+     * @param directoryPath History directory
+     * @param maxRuns Number of runs to keep
+     */
+    public PerformanceHistoryStore(String directoryPath, int maxRuns) {
+        this.runs = new RunJsonlStore<>(directoryPath, maxRuns, TimingRecord.class, "timing");
+    }
+    
+    /**
+     * Create store configured from the environment
+     * @return Configured store
+     */
+    public static PerformanceHistoryStore fromEnvironment() {
+        return new PerformanceHistoryStore(
+            EnvironmentManager.getProperty("perf.history.path", "build/perf-history"),
+            Integer.parseInt(EnvironmentManager.getProperty("perf.history.max.runs", "30")));
+    }
+    
+    /**
+     * Get id of the current run
+     * @return -Dkestrel.run.id or a timestamp when running outside Gradle
+     */
+    public static String currentRunId() {
+        String runId = System.getProperty("kestrel.run.id");
+        return runId != null && !runId.isBlank() ? runId : LocalDateTime.now().format(RUN_ID_FORMAT);
+    }
+    
+    /**
+     * Append records of this JVM to the run directory and prune old runs
+     * @param runId Run id
+     * @param records Records to append
+     */
+    public void append(String runId, Collection<TimingRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        runs.append(runId, records);
+        logger.info("📈 Appended {} timing record(s) to: {}", records.size(), new File(runs.getDirectory(), runId).getPath());
+    }
+    
+    /**
+     * Load all runs, oldest first
+     * @return Run id to records
+     */
+    public Map<String, List<TimingRecord>> loadRuns() {
+        Map<String, List<TimingRecord>> history = new LinkedHashMap<>();
+        for (String runId : runs.runIds()) {
+            List<TimingRecord> records = runs.load(runId);
+            if (!records.isEmpty()) {
+                history.put(runId, records);
+            }
+        }
+        return history;
+    }
+    
+    /**
+     * Get history directory
+     * @return History directory
+     */
+    public File getDirectory() {
+        return runs.getDirectory();
+    }
+}
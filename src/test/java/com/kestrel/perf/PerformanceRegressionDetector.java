@@ -0,0 +1,316 @@
+package com.kestrel.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kestrel.utils.EnvironmentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kestrel Engine Performance Regression Detector
+ * Compares the latest run in PerformanceHistoryStore against a rolling baseline of earlier runs
+ *
+ * Each scenario/step/page key is reduced to one median per run. The latest run's median is
+ * scored against the baseline medians with a robust z-score (median / MAD), and it is only
+ * flagged when it is also a meaningful relative and absolute change, so a single noisy run
+ * or a sub-millisecond step does not raise alarms.
+ *
+ * Configuration (-D or config/*.properties):
+ * - perf.baseline.runs        Previous runs forming the baseline (default 10)
+ * - perf.baseline.min.runs    Minimum baseline runs before judging a key (default 3)
+ * - perf.regression.z         Robust z-score threshold (default 3.0)
+ * - perf.regression.min.pct   Minimum relative change in percent (default 10)
+ * - perf.regression.min.ms    Minimum absolute change in milliseconds (default 20)
+ * - perf.report.path          Report directory (default build/reports/perf-regression)
+ * - perf.fail.on.regression   Exit with status 1 when regressions are found (default false)
+ *
+ * Run with: ./gradlew perfRegressionReport
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class PerformanceRegressionDetector {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceRegressionDetector.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MAD_TO_SIGMA = 1.4826;
+    
+    private final int baselineRuns;
+    private final int minBaselineRuns;
+    private final double zThreshold;
+    private final double minPercent;
+    private final double minMillis;
+    
+    /**
+     * Verdict for one key
+     */
+    public enum Verdict {
+        REGRESSION,
+        IMPROVEMENT,
+        STABLE,
+        NEW,
+        INSUFFICIENT_HISTORY
+    }
+    
+    /**
+     * Comparison of one key between the latest run and the baseline
+     */
+    public static class Comparison {
+        public String kind;
+        public String name;
+        public Verdict verdict;
+        public double currentMs;
+        public Double baselineMedianMs;
+        public Double baselineSigmaMs;
+        public Double deltaPercent;
+        public Double zScore;
+        public int baselineRuns;
+    }
+    
+    /**
+     * Full detector output
+     */
+    public static class Report {
+        public String currentRun;
+        public List<String> baselineRuns = new ArrayList<>();
+        public Map<Verdict, Integer> summary = new LinkedHashMap<>();
+        public List<Comparison> comparisons = new ArrayList<>();
+        
+        /**
+         * Get regressions only
+         * @return Comparisons flagged as regressions
+         */
+        public List<Comparison> regressions() {
+            List<Comparison> regressions = new ArrayList<>();
+            for (Comparison comparison : comparisons) {
+                if (comparison.verdict == Verdict.REGRESSION) {
+                    regressions.add(comparison);
+                }
+            }
+            return regressions;
+        }
+    }
+    
+    /**
+     * Create detector with explicit thresholds
+     * @param baselineRuns Previous runs forming the baseline
+     * @param minBaselineRuns Minimum baseline runs before judging a key
+     * @param zThreshold Robust z-score threshold
+     * @param minPercent Minimum relative change in percent
+     * @param minMillis Minimum absolute change in milliseconds
+     */
+    public PerformanceRegressionDetector(int baselineRuns, int minBaselineRuns, double zThreshold,
+                                         double minPercent, double minMillis) {
+        this.baselineRuns = baselineRuns;
+        this.minBaselineRuns = minBaselineRuns;
+        this.zThreshold = zThreshold;
+        this.minPercent = minPercent;
+        this.minMillis = minMillis;
+    }
+    
+    /**
+     * Create detector configured from the environment
+     * @return Configured detector
+     */
+    public static PerformanceRegressionDetector fromEnvironment() {
+        return new PerformanceRegressionDetector(
+            Integer.parseInt(EnvironmentManager.getProperty("perf.baseline.runs", "10")),
+            Integer.parseInt(EnvironmentManager.getProperty("perf.baseline.min.runs", "3")),
+            Double.parseDouble(EnvironmentManager.getProperty("perf.regression.z", "3.0")),
+            Double.parseDouble(EnvironmentManager.getProperty("perf.regression.min.pct", "10")),
+            Double.parseDouble(EnvironmentManager.getProperty("perf.regression.min.ms", "20")));
+    }
+    
+    /**
+     * Compare the latest run against the runs before it
+     * @param runs Run id to records, oldest first
+     * @return Comparison report (empty if there is no run)
+     */
+    public Report analyze(Map<String, List<PerformanceHistoryStore.TimingRecord>> runs) {
+        Report report = new Report();
+        List<String> runIds = new ArrayList<>(runs.keySet());
+        if (runIds.isEmpty()) {
+            return report;
+        }
+        
+        report.currentRun = runIds.get(runIds.size() - 1);
+        report.baselineRuns = runIds.subList(Math.max(0, runIds.size() - 1 - baselineRuns), runIds.size() - 1);
+        
+        Map<String, Double> current = perKeyMedians(runs.get(report.currentRun));
+        List<Map<String, Double>> baseline = new ArrayList<>();
+        for (String runId : report.baselineRuns) {
+            baseline.add(perKeyMedians(runs.get(runId)));
+        }
+        
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            List<Double> history = new ArrayList<>();
+            for (Map<String, Double> run : baseline) {
+                Double value = run.get(entry.getKey());
+                if (value != null) {
+                    history.add(value);
+                }
+            }
+            report.comparisons.add(compare(entry.getKey(), entry.getValue(), history));
+        }
+        
+        // Regressions first, then by size of change
+        report.comparisons.sort(Comparator.comparing((Comparison c) -> c.verdict)
+            .thenComparing(c -> c.deltaPercent == null ? 0 : -c.deltaPercent));
+        for (Verdict verdict : Verdict.values()) {
+            report.summary.put(verdict, 0);
+        }
+        for (Comparison comparison : report.comparisons) {
+            report.summary.merge(comparison.verdict, 1, Integer::sum);
+        }
+        return report;
+    }
+    
+    private Comparison compare(String key, double currentMs, List<Double> history) {
+        Comparison comparison = new Comparison();
+        int separator = key.indexOf(" | ");
+        comparison.kind = key.substring(0, separator);
+        comparison.name = key.substring(separator + 3);
+        comparison.currentMs = currentMs;
+        comparison.baselineRuns = history.size();
+        
+        if (history.isEmpty()) {
+            comparison.verdict = Verdict.NEW;
+            return comparison;
+        }
+        
+        double median = median(history);
+        List<Double> deviations = new ArrayList<>();
+        for (double value : history) {
+            deviations.add(Math.abs(value - median));
+        }
+        // Floor sigma so perfectly stable history does not turn 1ms of noise into an infinite z-score
+        double sigma = Math.max(MAD_TO_SIGMA * median(deviations), Math.max(median * 0.02, 1.0));
+        double delta = currentMs - median;
+        
+        comparison.baselineMedianMs = median;
+        comparison.baselineSigmaMs = sigma;
+        comparison.deltaPercent = median > 0 ? delta / median * 100 : null;
+        comparison.zScore = delta / sigma;
+        
+        if (history.size() < minBaselineRuns) {
+            comparison.verdict = Verdict.INSUFFICIENT_HISTORY;
+        } else if (isSignificant(delta, comparison.zScore, comparison.deltaPercent)) {
+            comparison.verdict = delta > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+        } else {
+            comparison.verdict = Verdict.STABLE;
+        }
+        return comparison;
+    }
+    
+    private boolean isSignificant(double delta, double zScore, Double deltaPercent) {
+        return Math.abs(zScore) >= zThreshold
+            && Math.abs(delta) >= minMillis
+            && deltaPercent != null && Math.abs(deltaPercent) >= minPercent;
+    }
+    
+    /**
+     * Median per key for one run; failed steps/scenarios are excluded as their timing is not comparable
+     */
+    private static Map<String, Double> perKeyMedians(List<PerformanceHistoryStore.TimingRecord> records) {
+        Map<String, List<Double>> samples = new TreeMap<>();
+        for (PerformanceHistoryStore.TimingRecord record : records) {
+            if (record.status == null || "PASSED".equals(record.status)) {
+                samples.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(record.durationMs);
+            }
+        }
+        Map<String, Double> medians = new LinkedHashMap<>();
+        samples.forEach((key, values) -> medians.put(key, median(values)));
+        return medians;
+    }
+    
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+    
+    // ===== REPORT OUTPUT =====
+    
+    /**
+     * Write regression-report.json and regression-report.html
+     * @param report Report to write
+     * @param directory Output directory
+     */
+    public static void writeReport(Report report, File directory) {
+        directory.mkdirs();
+        try {
+            mapper.writeValue(new File(directory, "regression-report.json"), report);
+            try (PrintWriter html = new PrintWriter(new File(directory, "regression-report.html"), StandardCharsets.UTF_8)) {
+                html.println("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>Kestrel Performance Regressions</title>");
+                html.println("<style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                           + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:left}"
+                           + ".REGRESSION{background:#fdd}.IMPROVEMENT{background:#dfd}</style></head><body>");
+                html.println("<h1>🦅 Kestrel Performance Regression Report</h1>");
+                html.println("<p>Current run: <b>" + escape(report.currentRun) + "</b> vs baseline of "
+                           + report.baselineRuns.size() + " run(s)</p>");
+                html.println("<p>" + escape(report.summary.toString()) + "</p>");
+                html.println("<table><tr><th>Verdict</th><th>Kind</th><th>Name</th><th>Current (ms)</th>"
+                           + "<th>Baseline median (ms)</th><th>Δ %</th><th>z</th><th>Baseline runs</th></tr>");
+                for (Comparison c : report.comparisons) {
+                    html.println("<tr class=\"" + c.verdict + "\"><td>" + c.verdict + "</td><td>" + escape(c.kind)
+                               + "</td><td>" + escape(c.name) + "</td><td>" + format(c.currentMs) + "</td><td>"
+                               + format(c.baselineMedianMs) + "</td><td>" + format(c.deltaPercent) + "</td><td>"
+                               + format(c.zScore) + "</td><td>" + c.baselineRuns + "</td></tr>");
+                }
+                html.println("</table></body></html>");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to write performance regression report: " + e.getMessage(), e);
+        }
+    }
+    
+    private static String format(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.1f", value);
+    }
+    
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+    
+    /**
+     * Analyze the history and write the report
+     * @param args Unused
+     */
+    public static void main(String[] args) {
+        PerformanceHistoryStore store = PerformanceHistoryStore.fromEnvironment();
+        Report report = fromEnvironment().analyze(store.loadRuns());
+        if (report.currentRun == null) {
+            logger.info("📈 No performance history found at: {}", store.getDirectory().getPath());
+            return;
+        }
+        
+        File directory = new File(EnvironmentManager.getProperty("perf.report.path", "build/reports/perf-regression"));
+        writeReport(report, directory);
+        
+        logger.info("📈 Run {} vs {} baseline run(s): {}", report.currentRun, report.baselineRuns.size(), report.summary);
+        for (Comparison regression : report.regressions()) {
+            logger.warn("🐢 REGRESSION {} '{}': {}ms vs {}ms baseline (+{}%, z={})", regression.kind, regression.name,
+                       format(regression.currentMs), format(regression.baselineMedianMs),
+                       format(regression.deltaPercent), format(regression.zScore));
+        }
+        logger.info("📄 Report: {}", new File(directory, "regression-report.html").getPath());
+        
+        if (!report.regressions().isEmpty()
+                && Boolean.parseBoolean(EnvironmentManager.getProperty("perf.fail.on.regression", "false"))) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.kestrel.rerun;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kestrel.utils.EnvironmentManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kestrel Engine Flakiness Ledger
+ * Persistent per-scenario history of passed, flaky and failed results across runs
+ *
+ * Features:
+ * - One entry per scenario location (feature URI and line), kept in a single JSON file
+ * - Recent outcomes kept as a compact string: P passed, K flaky (passed on rerun), F failed
+ * - Scenarios flaking repeatedly within the window are marked quarantined
+ * - Quarantine is lifted once the flaky results age out of the window
+ *
+ * Configuration:
+ * - rerun.ledger.path         Ledger file (default build/flaky-ledger.json)
+ * - rerun.ledger.window       Recent outcomes kept per scenario (default 20)
+ * - rerun.quarantine.flakes   Flaky results within the window that quarantine a scenario (default 2)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class FlakinessLedger {
+    private static final Logger logger = LoggerFactory.getLogger(FlakinessLedger.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private final File file;
+    private final int window;
+    private final int quarantineFlakes;
+    private final Map<String, Entry> entries;
+    
+    /**
+     * Outcome of a scenario for one run, after reruns
+     */
+    public enum Outcome {
+        PASSED('P'),
+        FLAKY('K'),
+        FAILED('F');
+        
+        private final char code;
+        
+        Outcome(char code) {
+            this.code = code;
+        }
+    }
+    
+    /**
+     * Ledger entry for one scenario
+     */
+    public static class Entry {
+        public String name;
+        public int runs;
+        public int flakes;
+        public int failures;
+        /** Most recent outcomes, oldest first (P/K/F) */
+        public String recent = "";
+        public String lastFlakyRun;
+        public boolean quarantined;
+        
+        /**
+         * Count flaky results within the recent window
+         * @return Recent flaky results
+         */
+        public long recentFlakes() {
+            return recent.chars().filter(c -> c == Outcome.FLAKY.code).count();
+        }
+    }
+    
+    /**
+     * Load ledger from a file (missing file starts an empty ledger)
+     * @param path Ledger file
+     * @param window Recent outcomes kept per scenario
+     * @param quarantineFlakes Flaky results within the window that quarantine a scenario
+     */
+    public FlakinessLedger(String path, int window, int quarantineFlakes) {
+        this.file = new File(path);
+        this.window = window;
+        this.quarantineFlakes = quarantineFlakes;
+        this.entries = load(file);
+    }
+    
+    /**
+     * Load ledger configured from the environment
+     * @return Configured ledger
+     */
+    public static FlakinessLedger fromEnvironment() {
+        return new FlakinessLedger(
+            EnvironmentManager.getProperty("rerun.ledger.path", "build/flaky-ledger.json"),
+            Integer.parseInt(EnvironmentManager.getProperty("rerun.ledger.window", "20")),
+            Integer.parseInt(EnvironmentManager.getProperty("rerun.quarantine.flakes", "2")));
+    }
+    
+    /**
+     * Record the final outcome of a scenario for a run
+     * @param location Scenario location
+     * @param name Scenario name
+     * @param outcome Outcome after reruns
+     * @param runId Run id
+     * @return Updated entry
+     */
+    public Entry record(String location, String name, Outcome outcome, String runId) {
+        Entry entry = entries.computeIfAbsent(location, k -> new Entry());
+        entry.name = name;
+        entry.runs++;
+        String recent = entry.recent + outcome.code;
+        entry.recent = recent.length() > window ? recent.substring(recent.length() - window) : recent;
+        if (outcome == Outcome.FLAKY) {
+            entry.flakes++;
+            entry.lastFlakyRun = runId;
+        } else if (outcome == Outcome.FAILED) {
+            entry.failures++;
+        }
+        
+        boolean quarantined = entry.recentFlakes() >= quarantineFlakes;
+        if (quarantined != entry.quarantined) {
+            logger.warn(quarantined ? "🚧 Quarantined flaky scenario: {} ({})" : "✅ Released from quarantine: {} ({})",
+                       name, location);
+        }
+        entry.quarantined = quarantined;
+        return entry;
+    }
+    
+    /**
+     * Get entry of a scenario
+     * @param location Scenario location
+     * @return Entry, or null if the scenario was never recorded
+     */
+    public Entry get(String location) {
+        return entries.get(location);
+    }
+    
+    /**
+     * Get quarantined scenarios, most recently flaky first
+     * @return Location to entry
+     */
+    public List<Map.Entry<String, Entry>> quarantined() {
+        List<Map.Entry<String, Entry>> quarantined = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().quarantined) {
+                quarantined.add(entry);
+            }
+        }
+        quarantined.sort(Comparator.comparing((Map.Entry<String, Entry> e) -> e.getValue().lastFlakyRun,
+            Comparator.nullsLast(Comparator.reverseOrder())));
+        return quarantined;
+    }
+    
+    /**
+     * Write the ledger back to its file
+     */
+    public void save() {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            mapper.writeValue(file, entries);
+            logger.info("📒 Flakiness ledger updated: {} scenario(s) -> {}", entries.size(), file.getPath());
+        } catch (IOException e) {
+            logger.error("❌ Failed to write flakiness ledger: {}", e.getMessage());
+        }
+    }
+    
+    private static Map<String, Entry> load(File file) {
+        if (!file.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return mapper.readValue(file, new TypeReference<TreeMap<String, Entry>>() { });
+        } catch (IOException e) {
+            logger.warn("⚠️ Starting a new flakiness ledger, {} is unreadable: {}", file.getPath(), e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+}
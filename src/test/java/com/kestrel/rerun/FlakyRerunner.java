@@ -0,0 +1,270 @@
+package com.kestrel.rerun;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kestrel.perf.PerformanceHistoryStore;
+import com.kestrel.utils.EnvironmentManager;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.cucumber.junit.platform.engine.Constants.FEATURES_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PUBLISH_QUIET_PROPERTY_NAME;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Kestrel Engine Flaky Rerunner
+ * Re-runs only the failed scenarios of a run and classifies them as flaky or failed
+ *
+ * Features:
+ * - Reads failed scenario locations recorded by ScenarioOutcomePlugin
+ * - Up to retry.count rerun attempts, all in this one JVM (classes, driver binaries and
+ *   schema/spec caches stay warm), sequentially to avoid the contention that causes flakes
+ * - A scenario that passes on a rerun is FLAKY, one that never passes is FAILED
+ * - Each attempt writes its own Cucumber HTML/JSON report and Allure results; Allure groups
+ *   the attempts as retries of the same test and marks them flaky
+ * - Updates FlakinessLedger and writes a summary including quarantined scenarios
+ * - Exit status 1 only when a scenario failed every attempt
+ *
+ * Configuration (-D or config/*.properties):
+ * - retry.count          Rerun attempts for failed scenarios (default 1, 0 = classify only)
+ * - rerun.report.path    Summary directory (default build/reports/rerun)
+ * - kestrel.run.id       Run to re-run (default: the latest recorded run)
+ *
+ * Run with: ./gradlew apiTests -PrerunFailed   (or ./gradlew rerunFailedScenarios after a run)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class FlakyRerunner {
+    private static final Logger logger = LoggerFactory.getLogger(FlakyRerunner.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    /**
+     * Final classification of one scenario that failed in the main run
+     */
+    public static class RerunResult {
+        public String location;
+        public String name;
+        public FlakinessLedger.Outcome outcome;
+        /** Rerun attempt that passed, or null if none did */
+        public Integer passedOnAttempt;
+        public String recent;
+        public boolean quarantined;
+    }
+    
+    public static void main(String[] args) {
+        ScenarioOutcomeStore store = ScenarioOutcomeStore.fromEnvironment();
+        String runId = PerformanceHistoryStore.currentRunId();
+        if (!store.hasRun(runId)) {
+            runId = store.latestRunId();
+        }
+        if (runId == null) {
+            logger.info("🔁 No scenario outcomes found at: {}", store.getDirectory().getPath());
+            return;
+        }
+        
+        // A scenario run by several runners counts as failed if any of them failed it
+        Map<String, ScenarioOutcomeStore.ScenarioOutcome> scenarios = new LinkedHashMap<>();
+        for (ScenarioOutcomeStore.ScenarioOutcome outcome : store.load(runId)) {
+            ScenarioOutcomeStore.ScenarioOutcome known = scenarios.get(outcome.location);
+            if (known == null || !"FAILED".equals(known.status)) {
+                scenarios.put(outcome.location, outcome);
+            }
+        }
+        Set<String> failing = new LinkedHashSet<>();
+        scenarios.values().stream().filter(o -> "FAILED".equals(o.status)).forEach(o -> failing.add(o.location));
+        
+        int attempts = EnvironmentManager.getRetryCount();
+        logger.info("🔁 Run {}: {} scenario(s), {} failed, {} rerun attempt(s)", runId, scenarios.size(),
+                   failing.size(), attempts);
+        
+        Map<String, Integer> passedOnAttempt = new LinkedHashMap<>();
+        for (int attempt = 1; attempt <= attempts && !failing.isEmpty(); attempt++) {
+            logger.info("🔁 Rerun attempt {}/{}: {} scenario(s)", attempt, attempts, failing.size());
+            for (String location : rerun(new ArrayList<>(failing), attempt)) {
+                failing.remove(location);
+                passedOnAttempt.put(location, attempt);
+            }
+        }
+        
+        // Update the ledger with the final outcome of every scenario that produced a verdict
+        FlakinessLedger ledger = FlakinessLedger.fromEnvironment();
+        List<RerunResult> results = new ArrayList<>();
+        for (ScenarioOutcomeStore.ScenarioOutcome scenario : scenarios.values()) {
+            FlakinessLedger.Outcome outcome;
+            if (passedOnAttempt.containsKey(scenario.location)) {
+                outcome = FlakinessLedger.Outcome.FLAKY;
+            } else if (failing.contains(scenario.location)) {
+                outcome = FlakinessLedger.Outcome.FAILED;
+            } else if ("PASSED".equals(scenario.status)) {
+                outcome = FlakinessLedger.Outcome.PASSED;
+            } else {
+                continue;
+            }
+            FlakinessLedger.Entry entry = ledger.record(scenario.location, scenario.name, outcome, runId);
+            if (outcome != FlakinessLedger.Outcome.PASSED) {
+                RerunResult result = new RerunResult();
+                result.location = scenario.location;
+                result.name = scenario.name;
+                result.outcome = outcome;
+                result.passedOnAttempt = passedOnAttempt.get(scenario.location);
+                result.recent = entry.recent;
+                result.quarantined = entry.quarantined;
+                results.add(result);
+            }
+        }
+        ledger.save();
+        
+        File directory = new File(EnvironmentManager.getProperty("rerun.report.path", "build/reports/rerun"));
+        writeReport(runId, attempts, results, ledger, directory);
+        
+        for (RerunResult result : results) {
+            if (result.outcome == FlakinessLedger.Outcome.FLAKY) {
+                logger.warn("🟡 FLAKY (passed on rerun {}): {} [{}]", result.passedOnAttempt, result.name, result.location);
+            } else {
+                logger.error("🔴 FAILED on every attempt: {} [{}]", result.name, result.location);
+            }
+        }
+        logger.info("📄 Rerun summary: {}", new File(directory, "rerun-summary.md").getPath());
+        
+        // Exit explicitly: browsers or HTTP clients left by the reruns must not keep the JVM alive
+        System.exit(failing.isEmpty() ? 0 : 1);
+    }
+    
+    // ===== RERUN =====
+    
+    /**
+     * Run the given scenario locations once through the Cucumber engine
+     * @param locations Scenario locations (feature URI and line)
+     * @param attempt Attempt number, used for report file names
+     * @return Locations that passed
+     */
+    private static Set<String> rerun(List<String> locations, int attempt) {
+        String reportBase = "build/reports/cucumber/rerun-" + attempt;
+        LauncherDiscoveryRequest request = request()
+            // cucumber.features takes precedence over selectors; one selector is still needed to start discovery
+            .selectors(selectClasspathResource("features"))
+            .filters(includeEngines("cucumber"))
+            .configurationParameter(FEATURES_PROPERTY_NAME, String.join(",", locations))
+            .configurationParameter(GLUE_PROPERTY_NAME, "com.kestrel")
+            .configurationParameter(PLUGIN_PROPERTY_NAME,
+                "html:" + reportBase + ".html,json:" + reportBase + ".json,io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm")
+            .configurationParameter(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, "false")
+            .configurationParameter(PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, "true")
+            .build();
+        
+        Set<String> passed = new LinkedHashSet<>();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, new TestExecutionListener() {
+            @Override
+            public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+                if (identifier.isTest() && result.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+                    locationOf(identifier).ifPresent(passed::add);
+                }
+            }
+        });
+        return passed;
+    }
+    
+    /**
+     * Map a Cucumber test descriptor back to the location format written by ScenarioOutcomePlugin
+     */
+    private static Optional<String> locationOf(TestIdentifier identifier) {
+        Optional<TestSource> source = identifier.getSource();
+        if (source.isPresent() && source.get() instanceof ClasspathResourceSource resource) {
+            // Cucumber URIs are percent-encoded (e.g. "Web%20ShoppingCart.feature"), resource names are not
+            return resource.getPosition().map(position ->
+                classpathUri(resource.getClasspathResourceName()) + ":" + position.getLine());
+        }
+        if (source.isPresent() && source.get() instanceof FileSource file) {
+            return file.getPosition().map(FilePosition::getLine).map(line -> file.getFile().toURI() + ":" + line);
+        }
+        return Optional.empty();
+    }
+    
+    private static String classpathUri(String resourceName) {
+        try {
+            return new URI("classpath", resourceName, null).toString();
+        } catch (URISyntaxException e) {
+            return "classpath:" + resourceName;
+        }
+    }
+    
+    // ===== REPORTING =====
+    
+    private static void writeReport(String runId, int attempts, List<RerunResult> results,
+                                    FlakinessLedger ledger, File directory) {
+        directory.mkdirs();
+        long flaky = results.stream().filter(r -> r.outcome == FlakinessLedger.Outcome.FLAKY).count();
+        
+        try (PrintWriter md = new PrintWriter(new File(directory, "rerun-summary.md"), StandardCharsets.UTF_8)) {
+            md.println("# 🔁 Rerun Summary");
+            md.println();
+            md.printf("Run `%s` · rerun attempts: %d · failed first time: %d · flaky: %d · failed: %d%n",
+                      runId, attempts, results.size(), flaky, results.size() - flaky);
+            md.println();
+            md.println("| Result | Scenario | Location | Recent (P/K/F) | Quarantined |");
+            md.println("|---|---|---|---|---|");
+            for (RerunResult result : results) {
+                String label = result.outcome == FlakinessLedger.Outcome.FLAKY
+                    ? "🟡 FLAKY (rerun " + result.passedOnAttempt + ")"
+                    : "🔴 FAILED";
+                md.printf("| %s | %s | `%s` | `%s` | %s |%n", label, result.name, result.location,
+                          result.recent, result.quarantined ? "🚧 yes" : "");
+            }
+            
+            md.println();
+            md.println("## 🚧 Quarantine");
+            md.println();
+            List<Map.Entry<String, FlakinessLedger.Entry>> quarantined = ledger.quarantined();
+            if (quarantined.isEmpty()) {
+                md.println("No scenario is currently quarantined.");
+            } else {
+                md.println("| Scenario | Location | Flaky (recent) | Flaky (total) / runs | Last flaky run |");
+                md.println("|---|---|---|---|---|");
+                for (Map.Entry<String, FlakinessLedger.Entry> entry : quarantined) {
+                    FlakinessLedger.Entry e = entry.getValue();
+                    md.printf("| %s | `%s` | %d | %d / %d | %s |%n", e.name, entry.getKey(), e.recentFlakes(),
+                              e.flakes, e.runs, e.lastFlakyRun);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("❌ Failed to write rerun summary: {}", e.getMessage());
+        }
+        
+        try {
+            mapper.writeValue(new File(directory, "rerun-summary.json"), results);
+        } catch (IOException e) {
+            logger.error("❌ Failed to write rerun summary JSON: {}", e.getMessage());
+        }
+    }
+}
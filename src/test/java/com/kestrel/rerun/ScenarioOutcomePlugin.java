@@ -0,0 +1,45 @@
+package com.kestrel.rerun;
+
+import com.kestrel.perf.PerformanceHistoryStore;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kestrel Engine Scenario Outcome Plugin
+ * Cucumber plugin recording the status of every scenario into ScenarioOutcomeStore
+ *
+ * Registered in cucumber.plugin as com.kestrel.rerun.ScenarioOutcomePlugin.
+ * FlakyRerunner reads the failed locations back to re-run only those scenarios.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ScenarioOutcomePlugin implements ConcurrentEventListener {
+    
+    private final String runId = PerformanceHistoryStore.currentRunId();
+    private final Queue<ScenarioOutcomeStore.ScenarioOutcome> outcomes = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+    
+    private void onScenarioFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        outcomes.add(new ScenarioOutcomeStore.ScenarioOutcome(
+            testCase.getUri() + ":" + testCase.getLocation().getLine(),
+            testCase.getName(), event.getResult().getStatus().name()));
+    }
+    
+    private void onRunFinished() {
+        ScenarioOutcomeStore.fromEnvironment().append(runId, outcomes);
+        outcomes.clear();
+    }
+}
@@ -0,0 +1,108 @@
+package com.kestrel.rerun;
+
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.utils.RunJsonlStore;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Kestrel Engine Scenario Outcome Store
+ * File-based record of every scenario result of a run, read by FlakyRerunner
+ *
+ * Layout: {rerun.path}/{runId}/{jvm-pid}.jsonl, written through RunJsonlStore.
+ * Forked test JVMs of one Gradle invocation share -Dkestrel.run.id and each writes its own file.
+ *
+ * Configuration:
+ * - rerun.path        Outcome directory (default build/rerun)
+ * - rerun.max.runs    Runs kept before the oldest are pruned (default 10)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class ScenarioOutcomeStore {
+    private final RunJsonlStore<ScenarioOutcome> runs;
+    
+    /**
+     * Result of one scenario execution
+     */
+    public static class ScenarioOutcome {
+        /** Feature URI and line, e.g. classpath:features/api/users.feature:12 */
+        public String location;
+        public String name;
+        /** Cucumber status: PASSED, FAILED, SKIPPED, ... */
+        public String status;
+        
+        public ScenarioOutcome() {
+        }
+        
+        public ScenarioOutcome(String location, String name, String status) {
+            this.location = location;
+            this.name = name;
+            this.status = status;
+        }
+    }
+    
+    /**
+     * Create store rooted at the given directory
+     * @param directoryPath Outcome directory
+     * @param maxRuns Number of runs to keep
+     */
+    public ScenarioOutcomeStore(String directoryPath, int maxRuns) {
+        this.runs = new RunJsonlStore<>(directoryPath, maxRuns, ScenarioOutcome.class, "scenario outcome");
+    }
+    
+    /**
+     * Create store configured from the environment
+     * @return Configured store
+     */
+    public static ScenarioOutcomeStore fromEnvironment() {
+        return new ScenarioOutcomeStore(
+            EnvironmentManager.getProperty("rerun.path", "build/rerun"),
+            Integer.parseInt(EnvironmentManager.getProperty("rerun.max.runs", "10")));
+    }
+    
+    /**
+     * Append outcomes of this JVM to the run directory and prune old runs
+     * @param runId Run id
+     * @param outcomes Outcomes to append
+     */
+    public void append(String runId, Collection<ScenarioOutcome> outcomes) {
+        runs.append(runId, outcomes);
+    }
+    
+    /**
+     * Load all outcomes of one run
+     * @param runId Run id
+     * @return Outcomes in file order (empty if the run is unknown)
+     */
+    public List<ScenarioOutcome> load(String runId) {
+        return runs.load(runId);
+    }
+    
+    /**
+     * Check whether outcomes were recorded for a run
+     * @param runId Run id
+     * @return true if the run directory exists
+     */
+    public boolean hasRun(String runId) {
+        return runs.hasRun(runId);
+    }
+    
+    /**
+     * Get id of the most recent recorded run
+     * @return Run id, or null if nothing was recorded
+     */
+    public String latestRunId() {
+        return runs.latestRunId();
+    }
+    
+    /**
+     * Get outcome directory
+     * @return Outcome directory
+     */
+    public File getDirectory() {
+        return runs.getDirectory();
+    }
+}
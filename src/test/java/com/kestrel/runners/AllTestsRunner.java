@@ -31,7 +31,11 @@ import static io.cucumber.junit.platform.engine.Constants.*;
             "html:build/reports/cucumber/all.html," +
             "json:build/reports/cucumber/all.json," +
             "junit:build/reports/cucumber/all.xml," +
-            "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+            "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm," +
+            "com.kestrel.perf.PerformanceHistoryPlugin," +
+            "com.kestrel.rerun.ScenarioOutcomePlugin," +
+            "com.kestrel.impact.ImpactRecordingPlugin," +
+            "com.kestrel.web.commands.WebDriverCommandPlugin"
 )
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.kestrel")
 @ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@api or @web")
@@ -18,7 +18,10 @@ import org.junit.platform.suite.api.*;
             "html:build/reports/cucumber/api-tests.html, " +
             "json:build/reports/cucumber/api-tests.json, " +
             "junit:build/reports/cucumber/api-tests.xml, " +
-            "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+            "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm, " +
+            "com.kestrel.perf.PerformanceHistoryPlugin, " +
+            "com.kestrel.rerun.ScenarioOutcomePlugin, " +
+            "com.kestrel.impact.ImpactRecordingPlugin"
 )
 @ConfigurationParameter(key = "cucumber.filter.tags", value = "@api")
 @ConfigurationParameter(key = "cucumber.execution.parallel.enabled", value = "true")
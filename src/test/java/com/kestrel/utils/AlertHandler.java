@@ -1,6 +1,7 @@
 package com.kestrel.utils;
 
 import org.openqa.selenium.Alert;
+import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -21,6 +22,10 @@ import java.time.Duration;
  * - Order placed successfully
  * - Various error messages
  * 
+ * Sessions tracked by UserPromptEvents (WebDriver BiDi) are event-driven: waits return the
+ * moment the dialog opens and checks for open alerts cost no round trip. Other sessions poll.
+ * Alerts matching the DialogPolicy never open: their recorded text is returned from the buffer.
+ * 
  * @author Kestrel Engine
  * @version 1.0.0
  */
@@ -36,6 +41,11 @@ public class AlertHandler {
      * @return Alert text if found, null if no alert
      */
     public static String handleAlert(WebDriver driver, boolean accept, int timeoutSeconds) {
+        UserPromptEvents events = UserPromptEvents.forDriver(driver);
+        if (events != null) {
+            return handlePromptEvent(driver, events, accept, timeoutSeconds);
+        }
+        
         try {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
             Alert alert = wait.until(ExpectedConditions.alertIsPresent());
@@ -62,6 +72,60 @@ public class AlertHandler {
         }
     }
     
+    /**
+     * Wait for the userPromptOpened event and handle the prompt
+     * @param driver WebDriver instance
+     * @param events Prompt tracking of the driver
+     * @param accept true to accept (OK), false to dismiss (Cancel)
+     * @param timeoutSeconds Max time to wait for alert
+     * @return Alert text if found, null if no alert
+     */
+    private static String handlePromptEvent(WebDriver driver, UserPromptEvents events, boolean accept, int timeoutSeconds) {
+        try {
+            UserPromptEvents.Prompt prompt = events.awaitPrompt(timeoutSeconds);
+            if (prompt == null) {
+                logger.debug("⏰ No alert appeared within {} seconds", timeoutSeconds);
+                return null;
+            }
+            if (prompt.accepted) {
+                logger.info("🚨 Alert detected: '{}' (accepted by dialog policy)", prompt.message);
+                return prompt.message;
+            }
+            logger.info("🚨 Alert detected: '{}'", prompt.message);
+            closePrompt(driver, events, prompt, accept);
+            return prompt.message;
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    /**
+     * Close a tracked prompt over BiDi, falling back to the classic alert commands
+     */
+    private static void closePrompt(WebDriver driver, UserPromptEvents events, UserPromptEvents.Prompt prompt, boolean accept) {
+        try {
+            events.close(prompt, accept);
+        } catch (Exception e) {
+            try {
+                Alert alert = driver.switchTo().alert();
+                if (accept) {
+                    alert.accept();
+                } else {
+                    alert.dismiss();
+                }
+            } catch (NoAlertPresentException closed) {
+                logger.debug("🔔 Alert was already closed");
+                return;
+            } catch (Exception ex) {
+                logger.warn("⚠️ Error handling alert: {}", ex.getMessage());
+                return;
+            }
+        }
+        logger.debug(accept ? "✅ Alert accepted (OK clicked)" : "❌ Alert dismissed (Cancel clicked)");
+    }
+    
     /**
      * Wait for alert and accept it (click OK) - most common case
      * @param driver WebDriver instance
@@ -96,6 +160,10 @@ public class AlertHandler {
      * @return true if alert is present
      */
     public static boolean isAlertPresent(WebDriver driver) {
+        UserPromptEvents events = UserPromptEvents.forDriver(driver);
+        if (events != null) {
+            return events.hasOpenPrompt();
+        }
         try {
             driver.switchTo().alert();
             return true;
@@ -205,6 +273,19 @@ public class AlertHandler {
      * @param driver WebDriver instance
      */
     public static void cleanupAnyAlerts(WebDriver driver) {
+        UserPromptEvents events = UserPromptEvents.forDriver(driver);
+        if (events != null) {
+            // Nothing reported open means nothing to clean up, without asking the driver
+            UserPromptEvents.Prompt prompt;
+            while ((prompt = events.nextOpenPrompt()) != null) {
+                if (!prompt.accepted) {
+                    closePrompt(driver, events, prompt, true);
+                }
+                logger.debug("🧹 Cleaned up unexpected alert: '{}'", prompt.message);
+            }
+            return;
+        }
+        
         try {
             while (isAlertPresent(driver)) {
                 String alertText = acceptAlert(driver, 1);
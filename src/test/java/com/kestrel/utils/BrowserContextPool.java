@@ -0,0 +1,353 @@
+package com.kestrel.utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.ConverterFunctions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Kestrel Engine Browser Context Pool
+ * Many isolated scenarios per Chrome process through CDP browser contexts
+ *
+ * One host Chrome is launched with the usual DriverManager options and kept for the whole run.
+ * Every scenario gets its own browser context (separate cookies, storage and cache, like an
+ * incognito profile) and its own chromedriver session attached to the host through
+ * debuggerAddress, so scenarios on parallel threads never share a current window.
+ *
+ * Features:
+ * - Target.createBrowserContext / Target.createTarget per scenario, Target.disposeBrowserContext on quit
+ * - Up to browser.contexts.max live contexts per host, another host is launched beyond that
+ * - Resident memory of the host's process tree (browser, renderers, GPU) sampled when a scenario
+ *   ends and reported per live context, plus run peak and average per scenario
+ *
+ * Configuration:
+ * - browser.contexts.enabled   Run Chrome scenarios in shared-browser contexts (default false)
+ * - browser.contexts.max       Live contexts per Chrome process (default 4)
+ *
+ * Attached sessions have no BiDi channel, so alerts fall back to polling in this mode.
+ * Resident memory is read from /proc and is only reported on Linux.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class BrowserContextPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextPool.class);
+    private static final int WINDOW_LOOKUP_TIMEOUT_MS = 5000;
+    
+    private static final List<Host> hosts = new ArrayList<>();
+    private static final Map<WebDriver, Lease> leases = new ConcurrentHashMap<>();
+    
+    // ===== STATISTICS =====
+    private static final LongAdder contextsCreated = new LongAdder();
+    private static final LongAdder memorySamples = new LongAdder();
+    private static final LongAdder perContextKbTotal = new LongAdder();
+    private static final AtomicLong peakResidentKb = new AtomicLong();
+    private static final AtomicLong peakLiveContexts = new AtomicLong();
+    
+    /**
+     * Shared Chrome process and the number of contexts it currently hosts
+     */
+    private static final class Host {
+        final WebDriver driver;
+        final DevTools devTools;
+        final String debuggerAddress;
+        int liveContexts;
+        
+        Host(WebDriver driver, DevTools devTools, String debuggerAddress) {
+            this.driver = driver;
+            this.devTools = devTools;
+            this.debuggerAddress = debuggerAddress;
+        }
+    }
+    
+    /**
+     * Browser context handed to one scenario session
+     */
+    private record Lease(Host host, String contextId, long startedAt) {
+    }
+    
+    private BrowserContextPool() {
+    }
+    
+    /**
+     * Check if Chrome scenarios share a browser process
+     * @return true if browser.contexts.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.contexts.enabled", "false"));
+    }
+    
+    /**
+     * Live contexts allowed per Chrome process
+     * @return browser.contexts.max, at least 1
+     */
+    public static int maxContextsPerBrowser() {
+        try {
+            return Math.max(1, Integer.parseInt(EnvironmentManager.getProperty("browser.contexts.max", "4").trim()));
+        } catch (NumberFormatException e) {
+            return 4;
+        }
+    }
+    
+    // ===== CONTEXT LIFECYCLE =====
+    
+    /**
+     * Create an isolated browser context and a session driving its tab
+     * @param hostFactory Launches a new host Chrome when every host is full
+     * @param headless Whether the host runs headless (tab gets the headless window size)
+     * @return Chrome session attached to the shared browser, switched to the new context's tab
+     * @throws RuntimeException if the context or the attached session cannot be created
+     */
+    public static WebDriver acquire(Supplier<WebDriver> hostFactory, boolean headless) {
+        Host host = reserveHost(hostFactory);
+        String contextId = null;
+        try {
+            contextId = send(host, new Command<>("Target.createBrowserContext", Map.of("disposeOnDetach", false),
+                                                  ConverterFunctions.map("browserContextId", String.class)));
+            Map<String, Object> target = new HashMap<>();
+            target.put("url", "about:blank");
+            target.put("browserContextId", contextId);
+            if (headless) {
+                target.put("width", 1920);
+                target.put("height", 1080);
+            }
+            String targetId = send(host, new Command<>("Target.createTarget", target,
+                                                        ConverterFunctions.map("targetId", String.class)));
+            
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+            WebDriver session = new ChromeDriver(options);
+            try {
+                session.switchTo().window(findWindow(session, targetId));
+            } catch (RuntimeException e) {
+                session.quit();
+                throw e;
+            }
+            
+            leases.put(session, new Lease(host, contextId, System.currentTimeMillis()));
+            contextsCreated.increment();
+            logger.info("🧩 Scenario running in browser context {} ({} live in shared Chrome at {})",
+                       contextId, host.liveContexts, host.debuggerAddress);
+            return session;
+            
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                disposeContext(host, contextId);
+            }
+            releaseHost(host);
+            throw new RuntimeException("Browser context creation failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Close a scenario's context and its attached session, leaving the shared browser running
+     * @param driver Scenario driver, decorated or not
+     * @return true if the driver was a context session, false if the caller must quit it normally
+     */
+    public static boolean release(WebDriver driver) {
+        WebDriver session = driver instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : driver;
+        Lease lease = session == null ? null : leases.remove(session);
+        if (lease == null) {
+            return false;
+        }
+        long residentKb = residentKb(lease.host());
+        int liveContexts = lease.host().liveContexts;
+        if (residentKb > 0) {
+            recordMemory(residentKb, liveContexts);
+            logger.info(String.format(Locale.ROOT, "🧩 Context released after %ds: shared Chrome %.0f MB resident across %d context(s), ~%.0f MB per scenario",
+                                      (System.currentTimeMillis() - lease.startedAt()) / 1000, residentKb / 1024.0,
+                                      liveContexts, residentKb / 1024.0 / liveContexts));
+        }
+        
+        disposeContext(lease.host(), lease.contextId());
+        try {
+            session.quit(); // attached session: chromedriver leaves the browser running
+        } catch (RuntimeException e) {
+            logger.debug("Attached session quit: {}", e.getMessage());
+        }
+        releaseHost(lease.host());
+        return true;
+    }
+    
+    /**
+     * Quit every shared browser, called once at the end of the run
+     */
+    public static void shutdown() {
+        List<Host> running;
+        synchronized (hosts) {
+            running = new ArrayList<>(hosts);
+            hosts.clear();
+        }
+        for (Host host : running) {
+            try {
+                host.driver.quit();
+            } catch (RuntimeException e) {
+                logger.debug("Shared browser quit: {}", e.getMessage());
+            }
+        }
+        if (!running.isEmpty()) {
+            logger.info("🧩 {} shared Chrome process(es) shut down", running.size());
+        }
+    }
+    
+    private static Host reserveHost(Supplier<WebDriver> hostFactory) {
+        synchronized (hosts) {
+            int max = maxContextsPerBrowser();
+            Host host = hosts.stream()
+                .filter(candidate -> candidate.liveContexts < max)
+                .min((a, b) -> Integer.compare(a.liveContexts, b.liveContexts))
+                .orElse(null);
+            if (host == null) {
+                host = launchHost(hostFactory);
+                hosts.add(host);
+            }
+            host.liveContexts++;
+            peakLiveContexts.accumulateAndGet(hosts.stream().mapToInt(h -> h.liveContexts).sum(), Math::max);
+            return host;
+        }
+    }
+    
+    private static void releaseHost(Host host) {
+        synchronized (hosts) {
+            host.liveContexts--;
+        }
+    }
+    
+    private static Host launchHost(Supplier<WebDriver> hostFactory) {
+        WebDriver driver = hostFactory.get();
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> chromeOptions = (Map<String, Object>) ((HasCapabilities) driver).getCapabilities().getCapability("goog:chromeOptions");
+            Object address = chromeOptions == null ? null : chromeOptions.get("debuggerAddress");
+            if (address == null || !(driver instanceof HasDevTools)) {
+                throw new IllegalStateException("host session reports no debugger address");
+            }
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            if (hosts.isEmpty()) {
+                Runtime.getRuntime().addShutdownHook(new Thread(BrowserContextPool::shutdown, "kestrel-browser-shutdown"));
+            }
+            logger.info("🧩 Shared Chrome launched at {} (up to {} scenario contexts)", address, maxContextsPerBrowser());
+            return new Host(driver, devTools, String.valueOf(address));
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+    }
+    
+    private static String findWindow(WebDriver session, String targetId) {
+        long deadline = System.currentTimeMillis() + WINDOW_LOOKUP_TIMEOUT_MS;
+        while (true) {
+            for (String handle : session.getWindowHandles()) {
+                // chromedriver window handles are CDP target ids (older releases prefix them)
+                if (handle.equals(targetId) || handle.endsWith(targetId)) {
+                    return handle;
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new RuntimeException("Tab of the new browser context not visible to chromedriver: " + targetId);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the context tab", e);
+            }
+        }
+    }
+    
+    private static void disposeContext(Host host, String contextId) {
+        try {
+            send(host, new Command<>("Target.disposeBrowserContext", Map.of("browserContextId", contextId),
+                                      ConverterFunctions.empty()));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+    
+    private static <X> X send(Host host, Command<X> command) {
+        synchronized (host) {
+            return host.devTools.send(command);
+        }
+    }
+    
+    // ===== MEMORY =====
+    
+    /**
+     * Resident memory of all processes of a host browser
+     * @return Sum of VmRSS in kB, or -1 when unavailable (non-Linux)
+     */
+    private static long residentKb(Host host) {
+        if (!Files.isDirectory(Path.of("/proc"))) {
+            return -1;
+        }
+        try {
+            List<Map<String, Object>> processes = send(host, new Command<>("SystemInfo.getProcessInfo", Map.of(),
+                ConverterFunctions.map("processInfo", new TypeToken<List<Map<String, Object>>>() {}.getType())));
+            long total = 0;
+            for (Map<String, Object> process : processes) {
+                total += processResidentKb(((Number) process.get("id")).longValue());
+            }
+            return total;
+        } catch (RuntimeException e) {
+            logger.debug("Browser process memory unavailable: {}", e.getMessage());
+            return -1;
+        }
+    }
+    
+    private static long processResidentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("No resident memory for process {}: {}", pid, e.getMessage());
+        }
+        return 0;
+    }
+    
+    private static void recordMemory(long residentKb, int liveContexts) {
+        memorySamples.increment();
+        perContextKbTotal.add(residentKb / Math.max(1, liveContexts));
+        peakResidentKb.accumulateAndGet(residentKb, Math::max);
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log contexts created, peak density and resident memory per scenario
+     */
+    public static void logSummary() {
+        if (contextsCreated.sum() == 0) {
+            return;
+        }
+        logger.info("🧩 Browser contexts: {} scenario(s), peak {} live context(s) in shared Chrome (max {} per process)",
+                   contextsCreated.sum(), peakLiveContexts.get(), maxContextsPerBrowser());
+        if (memorySamples.sum() > 0) {
+            logger.info(String.format(Locale.ROOT, "   ↳ ~%.0f MB resident per scenario on average, peak %.0f MB per Chrome process",
+                                      perContextKbTotal.sum() / 1024.0 / memorySamples.sum(), peakResidentKb.get() / 1024.0));
+        }
+    }
+}
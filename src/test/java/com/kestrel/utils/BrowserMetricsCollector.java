@@ -0,0 +1,309 @@
+package com.kestrel.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kestrel.perf.PerformanceHistoryStore;
+import io.cucumber.java.Scenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kestrel Engine Browser Metrics Collector
+ * Per-page browser-side performance metrics for every page load a web scenario triggers
+ *
+ * Each sample installs buffered PerformanceObservers on the current document (once per page)
+ * and reads Navigation Timing Level 2, Resource Timing, Long Tasks and Core Web Vitals.
+ * Pages are keyed by performance.timeOrigin, so repeated samples of the same document
+ * update its entry (CLS/INP grow while the page is used) and a new navigation adds a new one.
+ *
+ * Pages are sampled after every web step, before every DriverManager.navigateTo and at scenario
+ * end. A page that is loaded and left again inside one step without navigateTo (a click that
+ * navigates, followed by further actions in the same step) is not sampled.
+ *
+ * Features:
+ * - TTFB, DOMContentLoaded, load, transfer size (Navigation Timing L2)
+ * - Resource count, bytes and slowest resource (Resource Timing)
+ * - Long task count and total duration
+ * - LCP, CLS and INP (approximated as the longest interaction seen)
+ * - Scenario attachment (JSON) and run-wide CSV/JSON report, with the emulated network profile
+ *
+ * Each forked test JVM writes {browser.metrics.path}/{runId}/{jvm-pid}.json; the
+ * browserMetricsReport Gradle task merges the files of the run into the run-wide report.
+ *
+ * Configuration:
+ * - browser.metrics.enabled  Collect metrics (default true)
+ * - browser.metrics.path     Output directory for run-wide files
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class BrowserMetricsCollector {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMetricsCollector.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private static final ThreadLocal<Map<String, PageMetrics>> scenarioPages =
+        ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final Queue<PageMetrics> runPages = new ConcurrentLinkedQueue<>();
+    
+    private static final String COLLECT_SCRIPT =
+        "var s = window.__kestrelPerf;" +
+        "if (!s) {" +
+        "  s = window.__kestrelPerf = {lcp: null, cls: 0, inp: null, longTasks: 0, longTaskMs: 0, observers: []};" +
+        "  var observe = function(type, handle, extra) {" +
+        "    try {" +
+        "      if (!window.PerformanceObserver || PerformanceObserver.supportedEntryTypes.indexOf(type) < 0) { return; }" +
+        "      var o = new PerformanceObserver(function(list) { list.getEntries().forEach(handle); });" +
+        "      var options = {type: type, buffered: true};" +
+        "      for (var k in (extra || {})) { options[k] = extra[k]; }" +
+        "      o.observe(options); o.handle = handle; s.observers.push(o);" +
+        "    } catch (e) {}" +
+        "  };" +
+        "  observe('largest-contentful-paint', function(e) { s.lcp = e.renderTime || e.startTime; });" +
+        "  observe('layout-shift', function(e) { if (!e.hadRecentInput) { s.cls += e.value; } });" +
+        "  observe('longtask', function(e) { s.longTasks++; s.longTaskMs += e.duration; });" +
+        "  observe('event', function(e) { if (e.interactionId && (s.inp === null || e.duration > s.inp)) { s.inp = e.duration; } }," +
+        "          {durationThreshold: 16});" +
+        "}" +
+        "s.observers.forEach(function(o) { o.takeRecords().forEach(o.handle); });" +
+        "var nav = performance.getEntriesByType('navigation')[0] || {};" +
+        "var res = performance.getEntriesByType('resource');" +
+        "var bytes = 0, slowest = null;" +
+        "res.forEach(function(r) {" +
+        "  bytes += r.transferSize || 0;" +
+        "  if (!slowest || r.duration > slowest.duration) { slowest = r; }" +
+        "});" +
+        "return JSON.stringify({" +
+        "  timeOrigin: performance.timeOrigin, url: location.href, navigationType: nav.type || null," +
+        "  ttfbMs: nav.responseStart || null, domContentLoadedMs: nav.domContentLoadedEventEnd || null," +
+        "  loadMs: nav.loadEventEnd || null, transferSize: nav.transferSize || 0," +
+        "  resourceCount: res.length, resourceTransferSize: bytes," +
+        "  slowestResourceMs: slowest ? slowest.duration : null, slowestResource: slowest ? slowest.name : null," +
+        "  longTaskCount: s.longTasks, longTaskTotalMs: s.longTaskMs," +
+        "  lcpMs: s.lcp, cls: s.cls, inpMs: s.inp" +
+        "});";
+    
+    /**
+     * Metrics of one page load (document)
+     */
+    public static class PageMetrics {
+        public String scenario;
+        public String networkProfile;
+        public String url;
+        public double timeOrigin;
+        public String navigationType;
+        public Double ttfbMs;
+        public Double domContentLoadedMs;
+        public Double loadMs;
+        public long transferSize;
+        public int resourceCount;
+        public long resourceTransferSize;
+        public Double slowestResourceMs;
+        public String slowestResource;
+        public int longTaskCount;
+        public double longTaskTotalMs;
+        public Double lcpMs;
+        public double cls;
+        public Double inpMs;
+    }
+    
+    /**
+     * Check if collection is enabled
+     * @return true if browser.metrics.enabled is not false
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.metrics.enabled", "true"));
+    }
+    
+    /**
+     * Sample the current document of this thread's driver
+     * Safe to call after every step and before navigation; failures are logged and ignored
+     */
+    public static void sample() {
+        if (!isEnabled() || !DriverManager.isDriverInitialized()) {
+            return;
+        }
+        try {
+            Object json = DriverManager.executeJavaScript(COLLECT_SCRIPT);
+            if (!(json instanceof String)) {
+                return;
+            }
+            PageMetrics page = mapper.readValue((String) json, PageMetrics.class);
+            if (page.url == null || !page.url.startsWith("http")) {
+                // about:blank or data: before the first navigation
+                return;
+            }
+            // Same document keeps its key, so the latest sample wins
+            scenarioPages.get().put(String.valueOf(page.timeOrigin), page);
+        } catch (Exception e) {
+            logger.debug("Could not sample browser metrics: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Take a final sample, attach the scenario's page metrics and add them to the run report
+     * Must run before the driver is quit
+     * @param scenario Current scenario
+     */
+    public static void finishScenario(Scenario scenario) {
+        if (!isEnabled()) {
+            return;
+        }
+        sample();
+        
+        Map<String, PageMetrics> pages = scenarioPages.get();
+        scenarioPages.remove();
+        if (pages.isEmpty()) {
+            return;
+        }
+        
+        List<PageMetrics> collected = new ArrayList<>(pages.values());
+        String networkProfile = NetworkConditions.currentProfile().name();
+        for (PageMetrics page : collected) {
+            page.scenario = scenario.getName();
+            page.networkProfile = networkProfile;
+        }
+        runPages.addAll(collected);
+        
+        try {
+            scenario.attach(mapper.writeValueAsBytes(collected), "application/json", "Browser Performance Metrics");
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not attach browser metrics: {}", e.getMessage());
+        }
+        
+        for (PageMetrics page : collected) {
+            logger.info("⏱️ {} - TTFB: {}ms, load: {}ms, LCP: {}ms, CLS: {}, INP: {}ms, long tasks: {}",
+                       page.url, format(page.ttfbMs), format(page.loadMs), format(page.lcpMs),
+                       String.format(Locale.ROOT, "%.3f", page.cls), format(page.inpMs), page.longTaskCount);
+        }
+    }
+    
+    /**
+     * Get page metrics collected so far in this run
+     * @return Snapshot of collected page metrics
+     */
+    public static List<PageMetrics> getRunPages() {
+        return new ArrayList<>(runPages);
+    }
+    
+    /**
+     * Write this JVM's page metrics to {browser.metrics.path}/{runId}/{jvm-pid}.json
+     * Outside Gradle (no -Dkestrel.run.id) there is a single JVM, so the run report is merged right away
+     */
+    public static void writeRunReport() {
+        if (runPages.isEmpty()) {
+            return;
+        }
+        String runId = PerformanceHistoryStore.currentRunId();
+        File runDirectory = new File(getReportDirectory(), runId);
+        runDirectory.mkdirs();
+        File file = new File(runDirectory, ManagementFactory.getRuntimeMXBean().getPid() + ".json");
+        
+        try {
+            mapper.writeValue(file, getRunPages());
+            logger.info("⏱️ Browser metrics for {} page load(s) written to: {}", runPages.size(), file.getPath());
+        } catch (IOException e) {
+            logger.error("❌ Failed to write browser metrics: {}", e.getMessage());
+            return;
+        }
+        
+        if (System.getProperty("kestrel.run.id") == null) {
+            mergeRunReport(runId);
+        }
+    }
+    
+    /**
+     * Merge the per-JVM files of a run into run-wide browser-metrics.json and browser-metrics.csv
+     * Per-JVM files of earlier runs are removed
+     * @param runId Run id
+     */
+    public static void mergeRunReport(String runId) {
+        File directory = getReportDirectory();
+        File[] forkFiles = new File(directory, runId).listFiles((dir, name) -> name.endsWith(".json"));
+        if (forkFiles == null || forkFiles.length == 0) {
+            logger.info("⏱️ No browser metrics recorded for run {}", runId);
+            return;
+        }
+        Arrays.sort(forkFiles);
+        
+        try {
+            List<PageMetrics> pages = new ArrayList<>();
+            for (File forkFile : forkFiles) {
+                pages.addAll(Arrays.asList(mapper.readValue(forkFile, PageMetrics[].class)));
+            }
+            
+            mapper.writeValue(new File(directory, "browser-metrics.json"), pages);
+            
+            try (PrintWriter csv = new PrintWriter(new File(directory, "browser-metrics.csv"), StandardCharsets.UTF_8)) {
+                csv.println("scenario,networkProfile,url,navigationType,ttfbMs,domContentLoadedMs,loadMs,transferSize,"
+                          + "resourceCount,resourceTransferSize,slowestResourceMs,longTaskCount,longTaskTotalMs,lcpMs,cls,inpMs");
+                for (PageMetrics page : pages) {
+                    csv.println(String.join(",", csvText(page.scenario), csvText(page.networkProfile), csvText(page.url), csvText(page.navigationType),
+                        format(page.ttfbMs), format(page.domContentLoadedMs), format(page.loadMs),
+                        String.valueOf(page.transferSize), String.valueOf(page.resourceCount),
+                        String.valueOf(page.resourceTransferSize), format(page.slowestResourceMs),
+                        String.valueOf(page.longTaskCount), format(page.longTaskTotalMs), format(page.lcpMs),
+                        String.format(Locale.ROOT, "%.4f", page.cls), format(page.inpMs)));
+                }
+            }
+            logger.info("⏱️ Browser metrics for {} page load(s) from {} JVM(s) written to: {}",
+                       pages.size(), forkFiles.length, directory.getPath());
+        } catch (IOException e) {
+            logger.error("❌ Failed to write browser metrics report: {}", e.getMessage());
+            return;
+        }
+        
+        File[] runDirectories = directory.listFiles(File::isDirectory);
+        for (File runDirectory : runDirectories == null ? new File[0] : runDirectories) {
+            if (!runDirectory.getName().equals(runId)) {
+                deleteRunDirectory(runDirectory);
+            }
+        }
+    }
+    
+    /**
+     * Merge the browser metrics of the current run (browserMetricsReport Gradle task)
+     * @param args Unused
+     */
+    public static void main(String[] args) {
+        mergeRunReport(PerformanceHistoryStore.currentRunId());
+    }
+    
+    // ===== UTILITY METHODS =====
+    
+    private static File getReportDirectory() {
+        return new File(EnvironmentManager.getProperty("browser.metrics.path", "build/reports/browser-metrics"));
+    }
+    
+    private static void deleteRunDirectory(File runDirectory) {
+        File[] files = runDirectory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            file.delete();
+        }
+        runDirectory.delete();
+    }
+    
+    private static String format(Double value) {
+        return value == null ? "" : String.format(Locale.ROOT, "%.1f", value);
+    }
+    
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
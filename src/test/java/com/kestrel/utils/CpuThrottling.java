@@ -0,0 +1,178 @@
+package com.kestrel.utils;
+
+import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine CPU Throttling
+ * Resource-constrained execution profile: slows the browser's CPU like a contended CI core
+ *
+ * Features:
+ * - Throttle rate applied to every new session through CDP Emulation.setCPUThrottlingRate
+ *   (2 = twice as slow, 4 = four times as slow, 1 = no throttling)
+ * - Rate per environment (browser.cpu.throttle), per scenario (@cpu-4x) or per level of a
+ *   CpuThrottleSweep run
+ * - Active rate logged in the scenario report, as an Allure parameter and per step in the
+ *   command report
+ *
+ * Configuration:
+ * - browser.cpu.throttle   CPU slowdown factor for web scenarios (default 1 = off)
+ *
+ * Throttling needs a Chromium session (chrome, edge); other browsers run unthrottled and are
+ * reported as such.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class CpuThrottling {
+    private static final Logger logger = LoggerFactory.getLogger(CpuThrottling.class);
+    private static final String TAG_PREFIX = "@cpu-";
+    
+    // Set by the scenario hook from @cpu-{rate}x tags, overrides browser.cpu.throttle
+    private static final ThreadLocal<Double> scenarioRate = new ThreadLocal<>();
+    
+    // Rate actually applied to this thread's session
+    private static final ThreadLocal<Double> appliedRate = new ThreadLocal<>();
+    
+    // ===== STATISTICS =====
+    private static final LongAdder throttledSessions = new LongAdder();
+    private static final LongAdder unsupportedSessions = new LongAdder();
+    
+    private CpuThrottling() {
+    }
+    
+    // ===== RATE SELECTION =====
+    
+    /**
+     * Select the throttle rate for the current scenario from its @cpu-{rate}x tag
+     * @param scenario Current scenario
+     * @throws IllegalArgumentException if the tag does not carry a valid rate
+     */
+    public static void selectForScenario(Scenario scenario) {
+        scenario.getSourceTagNames().stream()
+            .filter(tag -> tag.startsWith(TAG_PREFIX))
+            .reduce((first, last) -> last)
+            .ifPresent(tag -> scenarioRate.set(parse(tag, tag.substring(TAG_PREFIX.length()).replaceFirst("[xX]$", ""))));
+    }
+    
+    /**
+     * Forget the scenario's rate selection and applied rate
+     */
+    public static void clearScenario() {
+        scenarioRate.remove();
+        appliedRate.remove();
+    }
+    
+    /**
+     * Resolve the throttle rate for this thread's next session
+     * @return Scenario tag rate, else browser.cpu.throttle, else 1
+     * @throws IllegalArgumentException if the configured rate is not a number of at least 1
+     */
+    public static double selectedRate() {
+        Double rate = scenarioRate.get();
+        if (rate != null) {
+            return rate;
+        }
+        return parse("browser.cpu.throttle", EnvironmentManager.getProperty("browser.cpu.throttle", "1"));
+    }
+    
+    private static double parse(String source, String value) {
+        try {
+            double rate = Double.parseDouble(value.trim());
+            if (rate < 1) {
+                throw new NumberFormatException("rate must be at least 1");
+            }
+            return rate;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Invalid CPU throttle rate in " + source + ": " + value
+                + " (" + e.getMessage() + ")", e);
+        }
+    }
+    
+    // ===== THROTTLING =====
+    
+    /**
+     * Throttle a freshly created session to the selected rate
+     * @param driver Driver created by DriverManager
+     * @throws RuntimeException if the browser rejects the throttling command
+     */
+    public static void apply(WebDriver driver) {
+        double rate = selectedRate();
+        if (rate <= 1) {
+            appliedRate.set(1.0);
+            return;
+        }
+        if (!(driver instanceof HasCdp)) {
+            unsupportedSessions.increment();
+            appliedRate.set(1.0);
+            logger.warn("⚠️ CPU throttling x{} needs a Chromium browser, running unthrottled", format(rate));
+            return;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", rate));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("❌ Failed to throttle CPU x" + format(rate) + ": " + e.getMessage(), e);
+        }
+        appliedRate.set(rate);
+        throttledSessions.increment();
+        logger.info("🐌 CPU throttled x{}", format(rate));
+    }
+    
+    /**
+     * Get the throttle rate applied to this thread's session
+     * @return Applied rate, 1 if no session or no throttling
+     */
+    public static double currentRate() {
+        Double rate = appliedRate.get();
+        return rate == null ? 1.0 : rate;
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Record the applied rate in the scenario log and as an Allure parameter
+     * @param scenario Current scenario
+     */
+    public static void report(Scenario scenario) {
+        double rate = currentRate();
+        if (rate <= 1) {
+            return;
+        }
+        scenario.log("🐌 CPU throttled x" + format(rate));
+        try {
+            Allure.parameter("cpu throttle", "x" + format(rate));
+        } catch (RuntimeException e) {
+            logger.debug("Could not add Allure CPU throttle parameter: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Log throttled and unsupported sessions
+     */
+    public static void logSummary() {
+        if (throttledSessions.sum() == 0 && unsupportedSessions.sum() == 0) {
+            return;
+        }
+        logger.info("🐌 CPU throttling: {} session(s) throttled", throttledSessions.sum());
+        if (unsupportedSessions.sum() > 0) {
+            logger.info("   ↳ {} session(s) unthrottled, browser does not support CPU emulation", unsupportedSessions.sum());
+        }
+    }
+    
+    /**
+     * Format a rate without a trailing .0 (4 instead of 4.0)
+     * @param rate Throttle rate
+     * @return Compact rate
+     */
+    public static String format(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.format(Locale.ROOT, "%.1f", rate);
+    }
+}
@@ -0,0 +1,105 @@
+package com.kestrel.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.Script;
+import org.openqa.selenium.bidi.script.ChannelValue;
+import org.openqa.selenium.bidi.script.Message;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Kestrel Engine Dialog Policy
+ * Browser-side auto-accept of known Demoblaze alerts for a BiDi driver session
+ *
+ * Features:
+ * - Preload script overriding window.alert in every document (and frame) before page scripts run
+ * - Alerts matching the accept rule return immediately in the page, no dialog is ever shown
+ * - Accepted alert texts are sent over a BiDi script channel and recorded by UserPromptEvents,
+ *   so AlertHandler reads them from a buffer instead of waiting for and closing a dialog
+ * - Any other alert, confirm or prompt opens normally and is handled by UserPromptEvents
+ *
+ * Configuration:
+ * - browser.dialog.accept   JavaScript regular expression of alert texts to accept and record
+ *                           (default: Demoblaze cart, sign up and login messages, empty disables)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class DialogPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(DialogPolicy.class);
+    private static final String CHANNEL = "kestrel-dialog-policy";
+    private static final String DEFAULT_ACCEPT_RULE =
+        "Product added|Sign up successful|This user already exist|Wrong password|User does not exist|Please fill out Username and Password";
+    
+    private static final String PRELOAD_SCRIPT = """
+        (record) => {
+            const rule = new RegExp(%s);
+            const nativeAlert = window.alert;
+            window.alert = function (message) {
+                const text = message === undefined ? '' : String(message);
+                if (rule.test(text)) {
+                    record(text);
+                    return;
+                }
+                return nativeAlert.call(window, message);
+            };
+        }""";
+    
+    private final String acceptRule;
+    
+    private DialogPolicy(String acceptRule) {
+        this.acceptRule = acceptRule;
+    }
+    
+    /**
+     * Policy from browser.dialog.accept
+     * @return Policy, or null when no rule is configured or the rule is invalid
+     */
+    public static DialogPolicy fromEnvironment() {
+        String rule = EnvironmentManager.getProperty("browser.dialog.accept", DEFAULT_ACCEPT_RULE).trim();
+        if (rule.isEmpty()) {
+            return null;
+        }
+        try {
+            Pattern.compile(rule);
+        } catch (PatternSyntaxException e) {
+            logger.warn("⚠️ Invalid browser.dialog.accept rule, dialog policy disabled: {}", e.getDescription());
+            return null;
+        }
+        return new DialogPolicy(rule);
+    }
+    
+    /**
+     * Install the policy for every document the driver loads from now on
+     * @param driver Driver with a BiDi session
+     * @param recorder Receives the browsing context id and text of every accepted alert
+     * @return Script module to close when the driver quits
+     */
+    Script install(WebDriver driver, BiConsumer<String, String> recorder) {
+        Script script = new Script(driver);
+        try {
+            script.onMessage(message -> onMessage(message, recorder));
+            script.addPreloadScript(String.format(PRELOAD_SCRIPT, new Json().toJson(acceptRule)),
+                                    List.of(new ChannelValue(CHANNEL)));
+        } catch (RuntimeException e) {
+            script.close();
+            throw e;
+        }
+        logger.info("🛡️ Dialog policy active: alerts matching /{}/ are accepted in the browser", acceptRule);
+        return script;
+    }
+    
+    private static void onMessage(Message message, BiConsumer<String, String> recorder) {
+        if (!CHANNEL.equals(message.getChannel())) {
+            return;
+        }
+        String text = message.getData().getValue().map(String::valueOf).orElse("");
+        recorder.accept(message.getSource().getBrowsingContext().orElse(""), text);
+    }
+}
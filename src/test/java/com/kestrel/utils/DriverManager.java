@@ -1,5 +1,8 @@
 package com.kestrel.utils;
 
+import com.kestrel.impact.ImpactRecorder;
+import com.kestrel.web.commands.WebDriverCommandRecorder;
+import com.kestrel.web.locators.CachedElementLocator;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -90,14 +93,32 @@ public class DriverManager {
                     browser, headless, environment, Thread.currentThread().getName());
         
         WebDriver webDriver = switch (browser) {
-            case "chrome" -> createChromeDriver(headless);
+            case "chrome" -> BrowserContextPool.isEnabled()
+                ? BrowserContextPool.acquire(() -> createChromeDriver(headless), headless)
+                : createChromeDriver(headless);
             case "firefox" -> createFirefoxDriver(headless);
             case "edge" -> createEdgeDriver(headless);
             default -> throw new IllegalArgumentException("❌ Unsupported browser: " + browser + ". Supported: chrome, firefox, edge");
         };
         
+        // Count and time every command the session issues (per step, see WebDriverCommandPlugin)
+        webDriver = WebDriverCommandRecorder.decorate(webDriver);
+        
         configureDriver(webDriver);
         driver.set(webDriver);
+        UserPromptEvents.attach(webDriver);
+        
+        // Emulate the selected network and CPU profile before the first navigation
+        try {
+            NetworkConditions.apply(webDriver);
+            CpuThrottling.apply(webDriver);
+        } catch (RuntimeException e) {
+            quitDriver();
+            throw e;
+        }
+        
+        // Buffer a low-rate screencast, rendered as a visual timeline only if the scenario fails
+        ScreencastRecorder.start(webDriver);
         
         // Verify driver is working
         if (verifyDriverHealth()) {
@@ -224,6 +245,11 @@ public class DriverManager {
             // User agent and behavior optimization
             options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 KestrelEngine/2.0");
             
+            // WebDriver BiDi session for event-driven alert handling
+            if (UserPromptEvents.isEnabled()) {
+                options.setCapability("webSocketUrl", true);
+            }
+            
             // Create driver with enhanced error handling
             WebDriver chromeDriver = new ChromeDriver(options);
             logger.info("✅ Chrome driver created successfully");
@@ -261,6 +287,10 @@ public class DriverManager {
             options.addPreference("browser.sessionstore.privacy_level", 2);
             options.addPreference("network.cookie.cookieBehavior", 1);
             
+            if (UserPromptEvents.isEnabled()) {
+                options.setCapability("webSocketUrl", true);
+            }
+            
             logger.debug("🦅 Firefox options configured with enhanced stability");
             return new FirefoxDriver(options);
             
@@ -289,6 +319,10 @@ public class DriverManager {
             options.addArguments("--disable-web-security");
             options.addArguments("--disable-features=VizDisplayCompositor");
             
+            if (UserPromptEvents.isEnabled()) {
+                options.setCapability("webSocketUrl", true);
+            }
+            
             logger.debug("🦅 Edge options configured for hunting");
             return new org.openqa.selenium.edge.EdgeDriver(options);
             
@@ -388,6 +422,7 @@ public class DriverManager {
         if (currentDriver == null) {
             throw new IllegalStateException("❌ Driver not initialized. Call initializeDriver() first.");
         }
+        ImpactRecorder.recordCallers();
         
         // Verify driver is still responsive
         try {
@@ -401,6 +436,19 @@ public class DriverManager {
         return currentDriver;
     }
     
+    /**
+     * Attach an externally created driver to the current thread
+     * Used by benchmarks and local harnesses that manage the driver lifecycle themselves
+     * @param webDriver Driver instance, or null to detach
+     */
+    public static void registerDriver(WebDriver webDriver) {
+        if (webDriver == null) {
+            driver.remove();
+        } else {
+            driver.set(webDriver);
+        }
+    }
+    
     /**
      * Check if driver is initialized for current thread
      * @return true if driver is initialized
@@ -424,10 +472,22 @@ public class DriverManager {
             url = "https://" + url;
         }
         
+        // Skip straight away if this host already proved unreachable
+        HostCircuitBreaker.checkAvailable(url);
+        
+        // Sample the outgoing page before it is replaced; it may have loaded after the last step sample
+        BrowserMetricsCollector.sample();
+        
         int retryCount = 0;
         Exception lastException = null;
+        // Slow or lost connections are emulated on purpose and say nothing about the host
+        boolean reportToBreaker = !NetworkConditions.currentProfile().isEmulated();
         
         while (retryCount < MAX_NAVIGATION_RETRIES) {
+            if (retryCount > 0 && HostCircuitBreaker.isOpen(url)) {
+                logger.warn("⚡ Circuit open for {} - abandoning remaining retries", url);
+                break;
+            }
             try {
                 logger.info("🎯 Kestrel navigating to: {} (attempt: {}/{})", url, retryCount + 1, MAX_NAVIGATION_RETRIES);
                 
@@ -442,10 +502,15 @@ public class DriverManager {
                 long startTime = System.currentTimeMillis();
                 currentDriver.get(url);
                 long navigationTime = System.currentTimeMillis() - startTime;
+                // New document: cached page object elements must be re-resolved
+                CachedElementLocator.invalidate(currentDriver);
                 
                 // Wait for basic page readiness
                 if (waitForBasicPageReadiness(15)) {
                     logger.info("✅ Navigation successful to: {} ({}ms)", url, navigationTime);
+                    if (reportToBreaker) {
+                        HostCircuitBreaker.recordSuccess(url);
+                    }
                     return;
                 } else {
                     throw new RuntimeException("Page did not reach ready state within timeout");
@@ -454,6 +519,9 @@ public class DriverManager {
             } catch (org.openqa.selenium.TimeoutException e) {
                 lastException = e;
                 retryCount++;
+                if (reportToBreaker) {
+                    HostCircuitBreaker.recordFailure(url, "page load timeout");
+                }
                 long delay = calculateRetryDelay(retryCount);
                 logger.warn("⏰ Navigation timeout on attempt {}/{} for: {} - waiting {}ms before retry", 
                            retryCount, MAX_NAVIGATION_RETRIES, url, delay);
@@ -482,6 +550,10 @@ public class DriverManager {
                 lastException = e;
                 retryCount++;
                 logger.warn("⚠️ Navigation attempt {}/{} failed: {}", retryCount, MAX_NAVIGATION_RETRIES, e.getMessage());
+                // Driver problems say nothing about the target host
+                if (reportToBreaker && !(e instanceof IllegalStateException)) {
+                    HostCircuitBreaker.recordFailure(url, String.valueOf(e.getMessage()).split("\n")[0]);
+                }
                 
                 if (retryCount >= MAX_NAVIGATION_RETRIES) {
                     break;
@@ -497,8 +569,8 @@ public class DriverManager {
         }
         
         // All retries failed
-        logger.error("❌ Navigation failed after {} attempts to: {}", MAX_NAVIGATION_RETRIES, url);
-        throw new RuntimeException("Navigation failed after " + MAX_NAVIGATION_RETRIES + " attempts to: " + url, lastException);
+        logger.error("❌ Navigation failed after {} attempts to: {}", retryCount, url);
+        throw new RuntimeException("Navigation failed after " + retryCount + " attempts to: " + url, lastException);
     }
     
     /**
@@ -670,6 +742,14 @@ public class DriverManager {
                 } catch (Exception e) {
                     logger.debug("Alert cleanup during quit: {}", e.getMessage());
                 }
+                UserPromptEvents.detach(currentDriver);
+                ScreencastRecorder.stop(currentDriver);
+                
+                // Shared-browser mode: dispose only this scenario's context, the browser keeps running
+                if (BrowserContextPool.release(currentDriver)) {
+                    logger.debug("✅ Browser context released after {}s session", sessionDuration);
+                    return;
+                }
                 
                 // Close all windows
                 try {
@@ -712,7 +792,11 @@ public class DriverManager {
         try {
             WebDriver currentDriver = driver.get();
             if (currentDriver != null) {
-                currentDriver.quit();
+                UserPromptEvents.detach(currentDriver);
+                ScreencastRecorder.stop(currentDriver);
+                if (!BrowserContextPool.release(currentDriver)) {
+                    currentDriver.quit();
+                }
             }
         } catch (Exception e) {
             logger.error("❌ Error during force quit: {}", e.getMessage());
@@ -1057,11 +1141,14 @@ public class DriverManager {
     
     /**
      * Performance monitoring - get page load time
+     * Uses Navigation Timing Level 2, falling back to the deprecated performance.timing
      * @return Page load time in milliseconds or -1 if failed
      */
     public static long getPageLoadTime() {
         try {
-            Object result = executeJavaScript("return performance.timing.loadEventEnd - performance.timing.navigationStart;");
+            Object result = executeJavaScript(
+                "var nav = performance.getEntriesByType('navigation')[0];" +
+                "return nav ? nav.loadEventEnd : performance.timing.loadEventEnd - performance.timing.navigationStart;");
             if (result instanceof Number) {
                 long loadTime = ((Number) result).longValue();
                 logger.debug("⏱️ Page load time: {}ms", loadTime);
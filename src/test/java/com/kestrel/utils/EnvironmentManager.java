@@ -1,133 +1,54 @@
 package com.kestrel.utils;
 
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.io.IOException;
-import java.util.Properties;
+import com.kestrel.api.stubs.ApiStubServer;
+import com.kestrel.web.stubs.DemoblazeStubServer;
+
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Kestrel Engine Environment Manager
  * Handles configuration across different environments (dev, staging, prod)
  * 
+ * Configuration is read once into an immutable KestrelConfig snapshot;
+ * the typed accessors below return its final fields without re-parsing.
+ * 
  * @author Kestrel Engine
  * @version 1.0.0
  */
 public class EnvironmentManager {
-    private static final Properties properties = new Properties();
     private static final String DEFAULT_ENV = "dev";
-    private static String currentEnvironment;
+    private static final String currentEnvironment;
+    private static final KestrelConfig config;
     
     static {
-        loadProperties();
-    }
-    
-    /**
-     * Load properties based on environment
-     * Priority: System property > Default environment
-     * Tries multiple loading strategies for robust configuration
-     */
-    private static void loadProperties() {
         currentEnvironment = System.getProperty("env", DEFAULT_ENV);
-        String configFileName = currentEnvironment + ".properties";
-        
-        boolean loaded = false;
-        
-        // Strategy 1: Try loading from classpath (src/test/resources/config/)
-        try {
-            String classpathFile = "/config/" + configFileName;
-            InputStream inputStream = EnvironmentManager.class.getResourceAsStream(classpathFile);
-            if (inputStream != null) {
-                properties.load(inputStream);
-                inputStream.close();
-                System.out.println("🦅 Kestrel Engine loaded: " + currentEnvironment + " environment");
-                System.out.println("📄 Config source: CLASSPATH (" + classpathFile + ")");
-                loaded = true;
-            }
-        } catch (IOException e) {
-            System.out.println("⚠️ Could not load from classpath: " + e.getMessage());
-        }
-        
-        // Strategy 2: Try loading from file system (config/ folder)
-        if (!loaded) {
-            try {
-                String configFile = "config/" + configFileName;
-                FileInputStream fis = new FileInputStream(configFile);
-                properties.load(fis);
-                fis.close();
-                System.out.println("🦅 Kestrel Engine loaded: " + currentEnvironment + " environment");
-                System.out.println("📄 Config source: FILE SYSTEM (" + configFile + ")");
-                loaded = true;
-            } catch (IOException e) {
-                System.out.println("⚠️ Could not load from file system: " + e.getMessage());
-            }
-        }
-        
-        // Strategy 3: Use default configuration if nothing works
-        if (!loaded) {
-            System.out.println("⚠️ No config file found, using default JSONPlaceholder configuration");
-            setDefaultProperties();
-        }
-        
-        // Validate loaded configuration
-        validateBasicConfiguration();
+        config = KestrelConfig.load(currentEnvironment);
+        System.out.println("🦅 Kestrel Engine loaded: " + currentEnvironment + " environment");
+        System.out.println("✅ Basic configuration validation passed");
+        System.out.println("   API URL: " + config.getLiveApiUrl() + " [" + config.getSource("api.url") + "]");
+        System.out.println("   Base URL: " + config.getBaseUrl() + " [" + config.getSource("base.url") + "]");
     }
     
     /**
-     * Set default properties for JSONPlaceholder testing
-     * This ensures the framework works even without config files
+     * Get the typed configuration snapshot
+     * @return Immutable configuration built at startup
      */
-    private static void setDefaultProperties() {
-        properties.setProperty("api.url", "https://jsonplaceholder.typicode.com");
-        properties.setProperty("base.url", "https://www.demoblaze.com");
-        properties.setProperty("browser", "chrome");
-        properties.setProperty("headless", "true");
-        properties.setProperty("implicit.wait", "10");
-        properties.setProperty("explicit.wait", "15");
-        properties.setProperty("page.load.timeout", "30");
-        properties.setProperty("app.id", "NOT_NEEDED");
-        properties.setProperty("screenshot.on.failure", "true");
-        properties.setProperty("screenshot.path", "build/screenshots");
-        properties.setProperty("report.path", "build/reports/cucumber");
-        properties.setProperty("allure.results.directory", "build/allure-results");
-        properties.setProperty("parallel.threads", "2");
-        properties.setProperty("retry.count", "1");
-        properties.setProperty("debug.mode", "false");
-        
-        System.out.println("✅ Default JSONPlaceholder configuration applied");
-    }
-    
-    /**
-     * Validate basic configuration to ensure essential properties exist
-     */
-    private static void validateBasicConfiguration() {
-        try {
-            String apiUrl = properties.getProperty("api.url");
-            String baseUrl = properties.getProperty("base.url");
-            
-            if (apiUrl == null || apiUrl.trim().isEmpty()) {
-                throw new RuntimeException("API URL is required but not configured");
-            }
-            
-            if (baseUrl == null || baseUrl.trim().isEmpty()) {
-                throw new RuntimeException("Base URL is required but not configured");
-            }
-            
-            System.out.println("✅ Basic configuration validation passed");
-            System.out.println("   API URL: " + apiUrl);
-            System.out.println("   Base URL: " + baseUrl);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("❌ Configuration validation failed: " + e.getMessage(), e);
-        }
+    public static KestrelConfig getConfig() {
+        return config;
     }
     
     /**
      * Get property value with system property override
+     * Snapshot keys already carry their -D override; other keys fall back to system properties
      * @param key Property key
      * @return Property value
      */
     public static String getProperty(String key) {
-        String value = System.getProperty(key, properties.getProperty(key));
+        String value = config.get(key);
+        if (value == null) {
+            value = System.getProperty(key);
+        }
         if (value == null) {
             throw new RuntimeException("❌ Property not found: " + key);
         }
@@ -136,13 +57,14 @@ public class EnvironmentManager {
     
     /**
      * Get property value with system property override and default fallback
+     * Keys outside the snapshot (e.g., -D only tuning flags) are read from system properties
      * @param key Property key
      * @param defaultValue Default value if property not found
      * @return Property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        String value = System.getProperty(key, properties.getProperty(key, defaultValue));
-        return value;
+        String value = config.get(key);
+        return value != null ? value : System.getProperty(key, defaultValue);
     }
     
     /**
@@ -157,10 +79,30 @@ public class EnvironmentManager {
     
     /**
      * Get base URL for web testing
+     * In local mode this is the Demoblaze stand-in server instead of the configured site
      * @return Base URL (e.g., https://www.demoblaze.com)
      */
     public static String getBaseUrl() {
-        return getProperty("base.url");
+        if (isWebLocalMode()) {
+            return DemoblazeStubServer.getInstance().getBaseUrl();
+        }
+        return getLiveBaseUrl();
+    }
+    
+    /**
+     * Get configured (real) base URL, ignoring local mode
+     * @return Configured base URL
+     */
+    public static String getLiveBaseUrl() {
+        return config.getBaseUrl();
+    }
+    
+    /**
+     * Check if web scenarios run against the local Demoblaze stand-in
+     * @return true if web.mode=local
+     */
+    public static boolean isWebLocalMode() {
+        return "local".equals(config.getWebMode());
     }
     
     /**
@@ -168,7 +110,7 @@ public class EnvironmentManager {
      * @return Browser name (chrome/firefox)
      */
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return config.getBrowser();
     }
     
     /**
@@ -176,7 +118,7 @@ public class EnvironmentManager {
      * @return true if headless mode
      */
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "true"));
+        return config.isHeadless();
     }
     
     /**
@@ -184,7 +126,7 @@ public class EnvironmentManager {
      * @return Implicit wait in seconds
      */
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return config.getImplicitWait();
     }
     
     /**
@@ -192,7 +134,7 @@ public class EnvironmentManager {
      * @return Explicit wait in seconds
      */
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "15"));
+        return config.getExplicitWait();
     }
     
     /**
@@ -200,17 +142,61 @@ public class EnvironmentManager {
      * @return Page load timeout in seconds
      */
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(getProperty("page.load.timeout", "30"));
+        return config.getPageLoadTimeout();
     }
     
     // ===== API CONFIGURATION =====
     
     /**
      * Get API base URL
+     * In replay mode this is the local stub server instead of the configured host
      * @return API base URL (e.g., https://jsonplaceholder.typicode.com)
      */
     public static String getApiUrl() {
-        return getProperty("api.url");
+        if (isApiReplayMode()) {
+            return ApiStubServer.getInstance().getBaseUrl();
+        }
+        return getLiveApiUrl();
+    }
+    
+    /**
+     * Get configured (real) API base URL, ignoring replay mode
+     * @return Configured API base URL
+     */
+    public static String getLiveApiUrl() {
+        return config.getLiveApiUrl();
+    }
+    
+    /**
+     * Get API traffic mode
+     * @return live (default), record or replay
+     */
+    public static String getApiMode() {
+        return config.getApiMode();
+    }
+    
+    /**
+     * Check if API traffic should be recorded into fixtures
+     * @return true if api.mode=record
+     */
+    public static boolean isApiRecordMode() {
+        return "record".equals(config.getApiMode());
+    }
+    
+    /**
+     * Check if API traffic should be served by the local stub server
+     * @return true if api.mode=replay
+     */
+    public static boolean isApiReplayMode() {
+        return "replay".equals(config.getApiMode());
+    }
+    
+    /**
+     * Get directory holding recorded API fixtures
+     * @return Fixture directory path
+     */
+    public static String getApiFixturesPath() {
+        return config.getApiFixturesPath();
     }
     
     /**
@@ -218,7 +204,7 @@ public class EnvironmentManager {
      * @return App ID or empty string if not needed
      */
     public static String getAppId() {
-        return getProperty("app.id", "NOT_NEEDED");
+        return config.getAppId();
     }
     
     /**
@@ -237,7 +223,7 @@ public class EnvironmentManager {
      * @return true if screenshots should be captured
      */
     public static boolean isScreenshotOnFailure() {
-        return Boolean.parseBoolean(getProperty("screenshot.on.failure", "true"));
+        return config.isScreenshotOnFailure();
     }
     
     /**
@@ -245,7 +231,7 @@ public class EnvironmentManager {
      * @return Allure results directory path
      */
     public static String getAllureResultsDirectory() {
-        return getProperty("allure.results.directory", "build/allure-results");
+        return config.getAllureResultsDirectory();
     }
     
     /**
@@ -253,7 +239,7 @@ public class EnvironmentManager {
      * @return Screenshot directory path
      */
     public static String getScreenshotPath() {
-        return getProperty("screenshot.path", "build/screenshots");
+        return config.getScreenshotPath();
     }
     
     /**
@@ -261,7 +247,7 @@ public class EnvironmentManager {
      * @return Report directory path
      */
     public static String getReportPath() {
-        return getProperty("report.path", "build/reports/cucumber");
+        return config.getReportPath();
     }
     
     // ===== UTILITY METHODS =====
@@ -275,7 +261,9 @@ public class EnvironmentManager {
         System.out.println("================================");
         System.out.println("Environment: " + getCurrentEnvironment());
         System.out.println("Base URL: " + getBaseUrl());
+        System.out.println("Web Mode: " + config.getWebMode());
         System.out.println("API URL: " + getApiUrl());
+        System.out.println("API Mode: " + getApiMode());
         System.out.println("API Auth Required: " + isApiAuthRequired());
         if (isApiAuthRequired()) {
             String appId = getAppId();
@@ -285,18 +273,30 @@ public class EnvironmentManager {
         }
         System.out.println("Browser: " + getBrowser());
         System.out.println("Headless: " + isHeadless());
+        System.out.println("Network Profile: " + NetworkConditions.selectedProfile().describe());
+        System.out.println("CPU Throttle: x" + CpuThrottling.format(CpuThrottling.selectedRate()));
         System.out.println("Implicit Wait: " + getImplicitWait() + "s");
         System.out.println("Explicit Wait: " + getExplicitWait() + "s");
         System.out.println("Page Load Timeout: " + getPageLoadTimeout() + "s");
         System.out.println("Screenshot on Failure: " + isScreenshotOnFailure());
+        System.out.println("Evidence Policy: " + EvidencePolicy.getMode().name().toLowerCase());
         System.out.println("Screenshot Path: " + getScreenshotPath());
         System.out.println("Report Path: " + getReportPath());
         System.out.println("Allure Results: " + getAllureResultsDirectory());
+        System.out.println("Parallel Threads: " + getParallelThreads());
+        System.out.println("Retry Count: " + getRetryCount());
+        System.out.println("--------------------------------");
+        System.out.println("Config Sources (winning source per key):");
+        for (Map.Entry<String, KestrelConfig.Source> source : new TreeMap<>(config.getSources()).entrySet()) {
+            System.out.println("   " + source.getKey() + " <- " + source.getValue());
+        }
         System.out.println("================================\n");
     }
     
     /**
      * Validate configuration
+     * Typed values were already validated when the snapshot was built;
+     * this resolves the effective API URL (starting the replay server if needed)
      * @throws RuntimeException if configuration is invalid
      */
     public static void validateConfiguration() {
@@ -317,6 +317,11 @@ public class EnvironmentManager {
                 throw new IllegalArgumentException("Page load timeout must be positive");
             }
             
+            // Fail fast on an unknown or malformed network profile or CPU throttle rate
+            NetworkConditions.selectedProfile();
+            CpuThrottling.selectedRate();
+            EvidencePolicy.getMode();
+            
             // Validate API configuration
             String apiUrl = getApiUrl();
             if (!apiUrl.startsWith("http")) {
@@ -366,7 +371,7 @@ public class EnvironmentManager {
      * @return Number of parallel threads
      */
     public static int getParallelThreads() {
-        return Integer.parseInt(getProperty("parallel.threads", "2"));
+        return config.getParallelThreads();
     }
     
     /**
@@ -374,7 +379,7 @@ public class EnvironmentManager {
      * @return Number of retries
      */
     public static int getRetryCount() {
-        return Integer.parseInt(getProperty("retry.count", "1"));
+        return config.getRetryCount();
     }
     
     /**
@@ -382,7 +387,7 @@ public class EnvironmentManager {
      * @return true if debug mode is on
      */
     public static boolean isDebugMode() {
-        return Boolean.parseBoolean(getProperty("debug.mode", "false"));
+        return config.isDebugMode();
     }
     
     /**
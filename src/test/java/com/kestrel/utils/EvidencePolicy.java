@@ -0,0 +1,258 @@
+package com.kestrel.utils;
+
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Evidence Policy
+ * Decides which screenshots web scenarios pay for, so failures get full context and passing runs stay cheap
+ *
+ * Policies:
+ * - failure   Capture only when a step or the scenario fails (default)
+ * - sample    Also attach a screenshot after a random share of passing steps
+ * - ring      Keep the last K passing step screenshots in memory; attach them only if the scenario fails
+ * - all       Attach a screenshot after every passing step
+ *
+ * Features:
+ * - One screenshot per failure, attached to the scenario (and so to Allure) and saved under
+ *   screenshot.path, together with the page source and the session's visual timeline
+ *   (see ScreencastRecorder)
+ * - No second "final" capture of a state that was already captured at the failing step
+ * - Ring buffer holds screenshots base64-encoded as the driver returns them; they are only
+ *   decoded when a failure flushes them
+ *
+ * Configuration (config/{env}.properties or -D):
+ * - evidence.policy           failure | sample | ring | all
+ * - evidence.sample.percent   Share of passing steps captured by the sample policy (default 10)
+ * - evidence.ring.size        Step screenshots kept by the ring policy (default 5)
+ * - screenshot.on.failure     Capture failure screenshots at all (default true)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class EvidencePolicy {
+    private static final Logger logger = LoggerFactory.getLogger(EvidencePolicy.class);
+    
+    /**
+     * Capture policy for passing steps
+     */
+    public enum Mode {
+        FAILURE, SAMPLE, RING, ALL;
+        
+        static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("❌ Unknown evidence.policy: " + value + ". Supported: failure, sample, ring, all", e);
+            }
+        }
+    }
+    
+    /**
+     * Screenshot of a passing step, still base64-encoded
+     */
+    private record StepShot(int index, String step, String base64) {
+    }
+    
+    /**
+     * Evidence state of the scenario running on this thread
+     */
+    private static final class ScenarioEvidence {
+        final Deque<StepShot> ring = new ArrayDeque<>();
+        int stepIndex;
+        boolean failureCaptured;
+    }
+    
+    private static final ThreadLocal<ScenarioEvidence> current = ThreadLocal.withInitial(ScenarioEvidence::new);
+    
+    // ===== STATISTICS =====
+    private static final LongAdder screenshots = new LongAdder();
+    private static final LongAdder captureNanos = new LongAdder();
+    private static final LongAdder stepsAttached = new LongAdder();
+    private static final LongAdder ringFlushed = new LongAdder();
+    private static final LongAdder ringDiscarded = new LongAdder();
+    private static final LongAdder failuresCaptured = new LongAdder();
+    
+    private EvidencePolicy() {
+    }
+    
+    // ===== CONFIGURATION =====
+    
+    /**
+     * Get the configured policy
+     * @return evidence.policy, FAILURE if unset
+     * @throws IllegalArgumentException if the policy is unknown
+     */
+    public static Mode getMode() {
+        return Mode.parse(EnvironmentManager.getProperty("evidence.policy", "failure"));
+    }
+    
+    private static double samplePercent() {
+        return Double.parseDouble(EnvironmentManager.getProperty("evidence.sample.percent", "10"));
+    }
+    
+    private static int ringSize() {
+        return Integer.parseInt(EnvironmentManager.getProperty("evidence.ring.size", "5"));
+    }
+    
+    // ===== HOOK ENTRY POINTS =====
+    
+    /**
+     * Apply the policy after a web step
+     * @param scenario Current scenario
+     * @param step Step text, or null if unknown
+     */
+    public static void afterStep(Scenario scenario, String step) {
+        ScenarioEvidence evidence = current.get();
+        evidence.stepIndex++;
+        String label = step != null ? step : "Step " + evidence.stepIndex;
+        
+        if (scenario.isFailed()) {
+            if (!evidence.failureCaptured) {
+                captureFailure(scenario, evidence, "Failure Evidence - " + label);
+            }
+            return;
+        }
+        
+        switch (getMode()) {
+            case ALL -> attachStep(scenario, evidence, label);
+            case SAMPLE -> {
+                if (ThreadLocalRandom.current().nextDouble(100) < samplePercent()) {
+                    attachStep(scenario, evidence, label);
+                }
+            }
+            case RING -> bufferStep(evidence, label);
+            case FAILURE -> {
+                // Nothing to pay for on a passing step
+            }
+        }
+    }
+    
+    /**
+     * Finish the scenario: capture failures no step captured (e.g. in a hook) and drop the ring buffer
+     * Must run before the driver is quit
+     * @param scenario Current scenario
+     */
+    public static void afterScenario(Scenario scenario) {
+        ScenarioEvidence evidence = current.get();
+        current.remove();
+        if (scenario.isFailed() && !evidence.failureCaptured) {
+            captureFailure(scenario, evidence, "Failure Evidence - " + scenario.getName());
+        }
+        if (!evidence.ring.isEmpty()) {
+            ringDiscarded.add(evidence.ring.size());
+        }
+    }
+    
+    // ===== CAPTURE =====
+    
+    private static void attachStep(Scenario scenario, ScenarioEvidence evidence, String label) {
+        String base64 = screenshot();
+        if (base64 != null) {
+            scenario.attach(Base64.getDecoder().decode(base64), "image/png", "Step " + evidence.stepIndex + " - " + label);
+            stepsAttached.increment();
+        }
+    }
+    
+    private static void bufferStep(ScenarioEvidence evidence, String label) {
+        String base64 = screenshot();
+        if (base64 == null) {
+            return;
+        }
+        evidence.ring.addLast(new StepShot(evidence.stepIndex, label, base64));
+        while (evidence.ring.size() > Math.max(ringSize(), 0)) {
+            evidence.ring.removeFirst();
+            ringDiscarded.increment();
+        }
+    }
+    
+    /**
+     * Attach the buffered steps leading up to the failure, then one screenshot, the visual timeline
+     * and the page source of the failed state
+     */
+    private static void captureFailure(Scenario scenario, ScenarioEvidence evidence, String description) {
+        evidence.failureCaptured = true;
+        failuresCaptured.increment();
+        
+        for (StepShot shot : evidence.ring) {
+            scenario.attach(Base64.getDecoder().decode(shot.base64()), "image/png",
+                            "Before failure: step " + shot.index() + " - " + shot.step());
+            ringFlushed.increment();
+        }
+        evidence.ring.clear();
+        
+        if (EnvironmentManager.isScreenshotOnFailure()) {
+            String base64 = screenshot();
+            if (base64 != null) {
+                byte[] png = Base64.getDecoder().decode(base64);
+                scenario.attach(png, "image/png", description);
+                ScreenshotCapture.saveScreenshotToFile(png, "FAILURE_" + scenario.getName().replaceAll("[^a-zA-Z0-9\\-_\\.]", "_"));
+            }
+        }
+        
+        if (DriverManager.isDriverInitialized()) {
+            try {
+                WebDriver driver = DriverManager.getDriver();
+                ScreencastRecorder.attachTimeline(scenario, driver);
+                String pageSource = driver.getPageSource();
+                scenario.attach(pageSource.getBytes(StandardCharsets.UTF_8), "text/html", "Page Source");
+            } catch (Exception e) {
+                logger.debug("Could not capture page source: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Take a screenshot of this thread's driver
+     * @return PNG as base64, or null if there is no driver or the capture failed
+     */
+    private static String screenshot() {
+        if (!DriverManager.isDriverInitialized()) {
+            return null;
+        }
+        long started = System.nanoTime();
+        try {
+            WebDriver driver = DriverManager.getDriver();
+            String base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            screenshots.increment();
+            return base64;
+        } catch (Exception e) {
+            logger.debug("Could not capture screenshot: {}", e.getMessage());
+            return null;
+        } finally {
+            captureNanos.add(System.nanoTime() - started);
+        }
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log screenshots taken, their cost and what the policy attached or discarded
+     */
+    public static void logSummary() {
+        if (screenshots.sum() == 0) {
+            return;
+        }
+        logger.info(String.format(Locale.ROOT, "📸 Evidence (policy %s): %d screenshot(s) in %.0f ms, %d failure(s) captured",
+                                  getMode().name().toLowerCase(Locale.ROOT), screenshots.sum(), captureNanos.sum() / 1e6,
+                                  failuresCaptured.sum()));
+        if (stepsAttached.sum() > 0) {
+            logger.info("   ↳ {} passing step screenshot(s) attached", stepsAttached.sum());
+        }
+        if (ringFlushed.sum() + ringDiscarded.sum() > 0) {
+            logger.info("   ↳ ring buffer: {} step screenshot(s) flushed on failure, {} discarded", ringFlushed.sum(), ringDiscarded.sum());
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.kestrel.utils;
+
+import com.kestrel.web.locators.CachedElementLocator;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Form Filler
+ * Fills a whole form in one executeScript call instead of clear/sendKeys/verify per field
+ *
+ * Features:
+ * - One round trip waits for the fields to be visible, sets every value through the native
+ *   value setter, dispatches input and change events and reads all values back for verification
+ * - Fields the page rewrote (maxlength, masks) are typed with sendKeys and verified again
+ * - "Human typing" mode types keystroke by keystroke, still verifying all fields in one call
+ * - Secret fields are never logged
+ *
+ * Usage:
+ *   FormFiller.on(driver)
+ *       .field("username", usernameField, username)
+ *       .secretField("password", passwordField, password)
+ *       .fill(ELEMENT_TIMEOUT);
+ *
+ * Configuration:
+ * - browser.form.typing   Type every form keystroke by keystroke (default false);
+ *                         scenarios tagged @typing opt in individually
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class FormFiller {
+    private static final Logger logger = LoggerFactory.getLogger(FormFiller.class);
+    private static final long POLL_INTERVAL_MS = 100;
+    
+    // Set by the @typing scenario hook
+    private static final ThreadLocal<Boolean> scenarioTyping = ThreadLocal.withInitial(() -> false);
+    
+    // ===== STATISTICS =====
+    private static final LongAdder formsFilled = new LongAdder();
+    private static final LongAdder fieldsFilled = new LongAdder();
+    private static final LongAdder scriptCalls = new LongAdder();
+    private static final LongAdder fieldsTyped = new LongAdder();
+    
+    /**
+     * Returns null while any field is not rendered yet, otherwise sets and reads back all values
+     */
+    private static final String FILL_SCRIPT = """
+        const fields = arguments[0];
+        const values = arguments[1];
+        if (fields.some(field => field.getClientRects().length === 0)) {
+            return null;
+        }
+        return fields.map((field, i) => {
+            const prototype = Object.getPrototypeOf(field);
+            const setter = Object.getOwnPropertyDescriptor(prototype, 'value').set;
+            field.focus();
+            setter.call(field, values[i]);
+            field.dispatchEvent(new Event('input', { bubbles: true }));
+            field.dispatchEvent(new Event('change', { bubbles: true }));
+            field.blur();
+            return field.value;
+        });""";
+    
+    private static final String READ_SCRIPT = "return arguments[0].map(field => field.value);";
+    
+    private final WebDriver driver;
+    private final List<String> names = new ArrayList<>();
+    private final List<WebElement> elements = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<Boolean> secrets = new ArrayList<>();
+    private boolean typing = isTypingEnabled();
+    
+    private FormFiller(WebDriver driver) {
+        this.driver = driver;
+    }
+    
+    /**
+     * Start describing a form
+     * @param driver WebDriver instance
+     * @return Form filler
+     */
+    public static FormFiller on(WebDriver driver) {
+        return new FormFiller(driver);
+    }
+    
+    /**
+     * Add a field
+     * @param name Field name for logs and errors
+     * @param element Input element
+     * @param value Value to set
+     * @return This form filler
+     */
+    public FormFiller field(String name, WebElement element, String value) {
+        return add(name, element, value, false);
+    }
+    
+    /**
+     * Add a field whose value must never be logged
+     * @param name Field name for logs and errors
+     * @param element Input element
+     * @param value Value to set
+     * @return This form filler
+     */
+    public FormFiller secretField(String name, WebElement element, String value) {
+        return add(name, element, value, true);
+    }
+    
+    /**
+     * Type keystroke by keystroke for this form, for pages that react to key events
+     * @return This form filler
+     */
+    public FormFiller typing() {
+        this.typing = true;
+        return this;
+    }
+    
+    private FormFiller add(String name, WebElement element, String value, boolean secret) {
+        names.add(name);
+        elements.add(element);
+        values.add(value == null ? "" : value);
+        secrets.add(secret);
+        return this;
+    }
+    
+    // ===== FILLING =====
+    
+    /**
+     * Fill and verify all fields
+     * @param timeoutSeconds Max time to wait for the fields to be visible
+     * @throws RuntimeException if a field is not visible in time or does not hold its value afterwards
+     */
+    public void fill(int timeoutSeconds) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        formsFilled.increment();
+        fieldsFilled.add(elements.size());
+        
+        List<String> actual;
+        if (typing) {
+            try {
+                new WaitUtils(driver, timeoutSeconds).forElementVisible(elements.get(0));
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Form fields not visible within " + timeoutSeconds + "s: " + names, e);
+            }
+            typeFields(allIndexes());
+            actual = readValues();
+        } else {
+            actual = setValues(timeoutSeconds);
+            List<Integer> mismatched = mismatches(actual);
+            if (!mismatched.isEmpty()) {
+                // The page rewrote what the script set: fall back to real keystrokes for those fields
+                logger.debug("⌨️ Typing {} field(s) the page did not accept from script", mismatched.size());
+                typeFields(mismatched);
+                actual = readValues();
+            }
+        }
+        
+        List<Integer> mismatched = mismatches(actual);
+        if (!mismatched.isEmpty()) {
+            throw new RuntimeException("Form verification failed for: " + describe(mismatched, actual));
+        }
+        logger.debug("📝 Filled {} in {} mode", names, typing ? "typing" : "script");
+    }
+    
+    private List<String> setValues(int timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        boolean retriedStale = false;
+        while (true) {
+            try {
+                List<String> actual = execute(FILL_SCRIPT, elements, values);
+                if (actual != null) {
+                    return actual;
+                }
+            } catch (StaleElementReferenceException e) {
+                if (retriedStale) {
+                    throw e;
+                }
+                // Modal re-rendered since the fields were cached
+                retriedStale = true;
+                CachedElementLocator.invalidate(driver);
+                continue;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new RuntimeException("Form fields not visible within " + timeoutSeconds + "s: " + names);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for form fields", e);
+            }
+        }
+    }
+    
+    private void typeFields(List<Integer> indexes) {
+        for (int i : indexes) {
+            WebElement element = elements.get(i);
+            element.clear();
+            element.sendKeys(values.get(i));
+            fieldsTyped.increment();
+        }
+    }
+    
+    private List<String> readValues() {
+        return execute(READ_SCRIPT, elements);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<String> execute(String script, Object... args) {
+        scriptCalls.increment();
+        Object result = ((JavascriptExecutor) driver).executeScript(script, args);
+        if (result == null) {
+            return null;
+        }
+        List<String> actual = new ArrayList<>();
+        for (Object value : (List<Object>) result) {
+            actual.add(value == null ? "" : String.valueOf(value));
+        }
+        return actual;
+    }
+    
+    private List<Integer> mismatches(List<String> actual) {
+        List<Integer> mismatched = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).equals(actual.get(i))) {
+                mismatched.add(i);
+            }
+        }
+        return mismatched;
+    }
+    
+    private List<Integer> allIndexes() {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+    
+    private String describe(List<Integer> indexes, List<String> actual) {
+        List<String> details = new ArrayList<>();
+        for (int i : indexes) {
+            details.add(secrets.get(i)
+                ? names.get(i) + " (length expected " + values.get(i).length() + ", got " + actual.get(i).length() + ")"
+                : names.get(i) + " (expected '" + values.get(i) + "', got '" + actual.get(i) + "')");
+        }
+        return String.join(", ", details);
+    }
+    
+    // ===== TYPING MODE =====
+    
+    /**
+     * Whether forms on this thread are typed keystroke by keystroke
+     * @return true if browser.form.typing is set or the current scenario is tagged @typing
+     */
+    public static boolean isTypingEnabled() {
+        return scenarioTyping.get() || Boolean.parseBoolean(EnvironmentManager.getProperty("browser.form.typing", "false"));
+    }
+    
+    /**
+     * Switch typing mode for the scenario running on this thread
+     * @param enabled true to type keystroke by keystroke
+     */
+    public static void setScenarioTyping(boolean enabled) {
+        if (enabled) {
+            scenarioTyping.set(true);
+        } else {
+            scenarioTyping.remove();
+        }
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log how many fields were filled per script call
+     */
+    public static void logSummary() {
+        if (formsFilled.sum() == 0) {
+            return;
+        }
+        logger.info("📝 Form filler: {} forms, {} fields in {} script calls, {} fields typed",
+                   formsFilled.sum(), fieldsFilled.sum(), scriptCalls.sum(), fieldsTyped.sum());
+    }
+}
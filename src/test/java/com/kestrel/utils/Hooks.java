@@ -1,11 +1,18 @@
 package com.kestrel.utils;
 
+import com.kestrel.api.stubs.ApiStubServer;
+import com.kestrel.api.validation.JsonSchemaRegistry;
+import com.kestrel.logging.AsyncLogPipeline;
+import com.kestrel.web.commands.WebDriverCommandRecorder;
+import com.kestrel.web.locators.CachedElementLocator;
+import com.kestrel.web.stubs.DemoblazeStubServer;
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.BeforeAll;
 import io.cucumber.java.AfterAll;
 import io.cucumber.java.Scenario;
+import org.opentest4j.TestAbortedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +52,9 @@ public class Hooks {
             // Clean up old screenshots
             ScreenshotCapture.cleanupOldScreenshots(7); // Keep last 7 days
             
+            // Compile API response schemas once for all scenarios
+            JsonSchemaRegistry.preloadAll();
+            
             globalSetupComplete = true;
             logger.info("✅ Kestrel Engine global setup complete");
         }
@@ -66,9 +76,88 @@ public class Hooks {
             logger.warn("⚠️ Warning during global cleanup: {}", e.getMessage());
         }
         
+        // Shared browsers of browser.contexts mode outlive individual scenarios
+        BrowserContextPool.shutdown();
+        
+        // Stop replay server (no-op unless api.mode=replay started it)
+        ApiStubServer.shutdown();
+        DemoblazeStubServer.shutdown();
+        
+        JsonSchemaRegistry.logStatistics();
+        BrowserMetricsCollector.writeRunReport();
+        HostCircuitBreaker.logSummary();
+        CachedElementLocator.logSummary();
+        UserPromptEvents.logSummary();
+        FormFiller.logSummary();
+        WebDriverCommandRecorder.logSummary();
+        BrowserContextPool.logSummary();
+        NetworkConditions.logSummary();
+        CpuThrottling.logSummary();
+        EvidencePolicy.logSummary();
+        ScreencastRecorder.logSummary();
+        
         logger.info("🎯 Hunt mission accomplished!");
     }
     
+    /**
+     * Start per-scenario log buffering (async logging mode only)
+     * Runs before every other Before hook so setup logs are captured
+     * @param scenario Current scenario
+     */
+    @Before(order = 0)
+    public void beginScenarioLog(Scenario scenario) {
+        AsyncLogPipeline.beginScenario(scenario.getId());
+    }
+    
+    /**
+     * Attach the buffered scenario log on failure (async logging mode only)
+     * Runs after every other After hook so cleanup logs are captured
+     * @param scenario Current scenario
+     */
+    @After(order = 0)
+    public void finishScenarioLog(Scenario scenario) {
+        AsyncLogPipeline.finishScenario(scenario);
+    }
+    
+    /**
+     * Select the network profile and CPU throttle of a scenario tagged @network-{profile} or
+     * @cpu-{rate}x before its browser starts
+     * @param scenario Current scenario
+     */
+    @Before(order = 1)
+    public void selectEmulationProfile(Scenario scenario) {
+        NetworkConditions.selectForScenario(scenario);
+        CpuThrottling.selectForScenario(scenario);
+    }
+    
+    /**
+     * Return to the configured network profile and CPU throttle after the scenario
+     * @param scenario Current scenario
+     */
+    @After(order = 1)
+    public void clearEmulationProfile(Scenario scenario) {
+        NetworkConditions.clearScenario();
+        CpuThrottling.clearScenario();
+    }
+    
+    /**
+     * Type forms keystroke by keystroke in scenarios that need key event semantics
+     * @param scenario Current scenario
+     */
+    @Before("@typing")
+    public void enableFormTyping(Scenario scenario) {
+        FormFiller.setScenarioTyping(true);
+    }
+    
+    /**
+     * Return to script form filling after an @typing scenario
+     * @param scenario Current scenario
+     */
+    @After("@typing")
+    public void disableFormTyping(Scenario scenario) {
+        FormFiller.setScenarioTyping(false);
+    }
+    
     /**
      * Setup for Web UI scenarios
      * @param scenario Current scenario
@@ -78,6 +167,9 @@ public class Hooks {
         String threadName = Thread.currentThread().getName();
         logger.info("🦅 Kestrel Web Hunt Starting: {} [Thread: {}]", scenario.getName(), threadName);
         
+        // Skip before starting a browser if the target is known to be down
+        HostCircuitBreaker.checkAvailable(EnvironmentManager.getBaseUrl());
+        
         try {
             // Initialize WebDriver
             DriverManager.initializeDriver();
@@ -85,9 +177,17 @@ public class Hooks {
             // Navigate to base URL
             String baseUrl = EnvironmentManager.getBaseUrl();
             DriverManager.navigateTo(baseUrl);
+            // @network-offline: the start page is loaded online, then the connection is cut
+            NetworkConditions.disconnectIfOffline(DriverManager.getDriver());
             
-            logger.info("🌐 Web hunt initiated at: {}", baseUrl);
+            // Record the emulated network and CPU profile so runs under different profiles can be compared
+            NetworkConditions.report(scenario);
+            CpuThrottling.report(scenario);
             
+            logger.info("🌐 Web hunt initiated at: {}", baseUrl);
+        } catch (TestAbortedException e) {
+            // Circuit opened while this scenario was starting: report as skipped, not failed
+            throw e;
         } catch (Exception e) {
             logger.error("❌ Failed to initialize web hunt: {}", e.getMessage());
             scenario.attach(e.getMessage().getBytes(), "text/plain", "Web Setup Error");
@@ -104,6 +204,9 @@ public class Hooks {
         String threadName = Thread.currentThread().getName();
         logger.info("🦅 Kestrel API Hunt Starting: {} [Thread: {}]", scenario.getName(), threadName);
         
+        // Skip immediately if the API host is known to be down
+        HostCircuitBreaker.checkAvailable(EnvironmentManager.getApiUrl());
+        
         try {
             // Log API configuration
             String apiUrl = EnvironmentManager.getApiUrl();
@@ -144,37 +247,23 @@ public class Hooks {
      */
     @AfterStep("@web")
     public void afterWebStep(Scenario scenario) {
+        String step = WebDriverCommandRecorder.lastStepName();
+        
+        // Flag the step if it issued more WebDriver commands than its budget
+        WebDriverCommandRecorder.flagLastStep(scenario);
+        
+        // Sample the current page so loads triggered by this step are recorded
+        BrowserMetricsCollector.sample();
+        
         if (scenario.isFailed()) {
             logger.warn("🎯 Target missed! Capturing failure evidence...");
-            
-            try {
-                // Capture screenshot for failure
-                byte[] screenshot = ScreenshotCapture.captureScreenshot();
-                scenario.attach(screenshot, "image/png", "Failure Evidence");
-                
-                // Attach to Allure report
-                ScreenshotCapture.attachFailureEvidence(scenario.getName());
-                
-                // Capture page source if available
-                if (DriverManager.isDriverInitialized()) {
-                    try {
-                        String pageSource = DriverManager.getDriver().getPageSource();
-                        scenario.attach(pageSource.getBytes(), "text/html", "Page Source");
-                    } catch (Exception e) {
-                        logger.debug("Could not capture page source: {}", e.getMessage());
-                    }
-                }
-                
-            } catch (Exception e) {
-                logger.error("❌ Failed to capture failure evidence: {}", e.getMessage());
-            }
-        } else if (EnvironmentManager.getCurrentEnvironment().equals("dev")) {
-            // Capture success screenshots only in dev environment
-            try {
-                ScreenshotCapture.captureStep(scenario.getName() + " - Step Success");
-            } catch (Exception e) {
-                logger.debug("Could not capture step evidence: {}", e.getMessage());
-            }
+        }
+        
+        // Screenshots per evidence.policy: full context on failure, passing steps only as configured
+        try {
+            EvidencePolicy.afterStep(scenario, step);
+        } catch (Exception e) {
+            logger.error("❌ Failed to capture evidence: {}", e.getMessage());
         }
     }
     
@@ -209,20 +298,16 @@ public class Hooks {
         String threadName = Thread.currentThread().getName();
         
         try {
-            // Capture final evidence if needed
+            // Attach browser performance metrics while the driver is still alive
+            BrowserMetricsCollector.finishScenario(scenario);
+            
+            // Failures no step captured (e.g. in a hook) are captured now; the step ring buffer is dropped
+            EvidencePolicy.afterScenario(scenario);
+            
             if (scenario.isFailed()) {
                 logger.error("❌ Web hunt failed: {} [Thread: {}]", scenario.getName(), threadName);
-                
-                // Final screenshot before cleanup
-                ScreenshotCapture.attachFailureEvidence("FINAL_" + scenario.getName());
-                
             } else {
                 logger.info("✅ Web hunt successful: {} [Thread: {}]", scenario.getName(), threadName);
-                
-                // Success evidence in dev environment
-                if (EnvironmentManager.getCurrentEnvironment().equals("dev")) {
-                    ScreenshotCapture.attachSuccessEvidence(scenario.getName());
-                }
             }
             
         } catch (Exception e) {
@@ -0,0 +1,199 @@
+package com.kestrel.utils;
+
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kestrel Engine Host Circuit Breaker
+ * Fails fast against hosts that are down instead of paying retries and timeouts per scenario
+ *
+ * Features:
+ * - One breaker per host (host:port), shared by all threads
+ * - Fed by DriverManager navigation attempts, ApiClient calls and isApiReachable()
+ * - CLOSED -> OPEN after N consecutive failures; scenarios are then skipped, not failed
+ * - OPEN -> HALF_OPEN after a cool-down: a single probe is let through, others keep skipping
+ * - Probe success closes the breaker, probe failure re-opens it
+ * - Per-host summary logged at global teardown
+ *
+ * Configuration (config/*.properties or -D):
+ * - circuit.breaker.enabled            Enable fail-fast (default true)
+ * - circuit.breaker.failure.threshold  Consecutive failures before opening (default 3)
+ * - circuit.breaker.open.seconds       Cool-down before a half-open probe (default 30)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class HostCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(HostCircuitBreaker.class);
+    private static final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    private static final boolean enabled =
+        Boolean.parseBoolean(EnvironmentManager.getProperty("circuit.breaker.enabled", "true"));
+    private static final int failureThreshold =
+        Integer.parseInt(EnvironmentManager.getProperty("circuit.breaker.failure.threshold", "3"));
+    private static final long openMillis =
+        Long.parseLong(EnvironmentManager.getProperty("circuit.breaker.open.seconds", "30")) * 1000L;
+    
+    private HostCircuitBreaker() {
+    }
+    
+    enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    /**
+     * Skip the current scenario if the breaker for this URL's host is open
+     * In HALF_OPEN state exactly one caller is let through as a probe
+     * @param url Target URL
+     * @throws TestAbortedException if the host is considered down (Cucumber reports SKIPPED)
+     */
+    public static void checkAvailable(String url) {
+        if (!enabled) {
+            return;
+        }
+        String host = hostOf(url);
+        Breaker breaker = breakers.get(host);
+        if (breaker != null) {
+            breaker.acquire(host);
+        }
+    }
+    
+    /**
+     * Record a failed call or navigation against the URL's host
+     * @param url Target URL
+     * @param reason Short failure description
+     */
+    public static void recordFailure(String url, String reason) {
+        if (!enabled) {
+            return;
+        }
+        String host = hostOf(url);
+        breakers.computeIfAbsent(host, h -> new Breaker()).onFailure(host, reason);
+    }
+    
+    /**
+     * Record a successful call or navigation against the URL's host
+     * @param url Target URL
+     */
+    public static void recordSuccess(String url) {
+        if (!enabled) {
+            return;
+        }
+        String host = hostOf(url);
+        Breaker breaker = breakers.get(host);
+        if (breaker != null) {
+            breaker.onSuccess(host);
+        }
+    }
+    
+    /**
+     * Check whether the breaker for this URL's host is currently open
+     * @param url Target URL
+     * @return true if calls to the host are being skipped
+     */
+    public static boolean isOpen(String url) {
+        Breaker breaker = breakers.get(hostOf(url));
+        return breaker != null && breaker.state != State.CLOSED;
+    }
+    
+    /**
+     * Log breaker activity per host (hosts that never failed are omitted)
+     */
+    public static void logSummary() {
+        if (breakers.isEmpty()) {
+            return;
+        }
+        logger.info("⚡ Circuit breaker summary:");
+        for (Map.Entry<String, Breaker> entry : new TreeMap<>(breakers).entrySet()) {
+            Breaker breaker = entry.getValue();
+            synchronized (breaker) {
+                logger.info("   ↳ {}: {} (failures: {}, times opened: {}, skipped: {})",
+                           entry.getKey(), breaker.state, breaker.totalFailures, breaker.timesOpened, breaker.skipped);
+            }
+        }
+    }
+    
+    /**
+     * Forget all breaker state (used by harnesses between runs)
+     */
+    public static void reset() {
+        breakers.clear();
+    }
+    
+    private static String hostOf(String url) {
+        try {
+            String authority = URI.create(url.trim()).getAuthority();
+            return authority != null ? authority : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+    
+    // ===== PER-HOST STATE =====
+    
+    private static final class Breaker {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private int totalFailures;
+        private int timesOpened;
+        private int skipped;
+        private long openedAt;
+        private Thread probeThread;
+        private long probeStartedAt;
+        private String lastReason;
+        
+        synchronized void acquire(String host) {
+            if (state == State.CLOSED) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long remainingMs = openedAt + openMillis - now;
+            if (state == State.OPEN && remainingMs <= 0) {
+                state = State.HALF_OPEN;
+                logger.info("⚡ Circuit HALF-OPEN for {} - letting one probe through", host);
+            }
+            if (state == State.HALF_OPEN) {
+                // The probe's own later checks (hook, then navigation/API call) pass through;
+                // a probe that never reported back is replaced after another cool-down
+                if (probeThread == Thread.currentThread()) {
+                    return;
+                }
+                if (probeThread == null || now - probeStartedAt > openMillis) {
+                    probeThread = Thread.currentThread();
+                    probeStartedAt = now;
+                    return;
+                }
+            }
+            skipped++;
+            throw new TestAbortedException(String.format(
+                "⛔ Skipped: %s is unreachable (circuit %s after %d consecutive failures, last: %s). Next probe in %ds",
+                host, state, consecutiveFailures, lastReason, Math.max(0, (remainingMs + 999) / 1000)));
+        }
+        
+        synchronized void onFailure(String host, String reason) {
+            consecutiveFailures++;
+            totalFailures++;
+            lastReason = reason;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                probeThread = null;
+                timesOpened++;
+                logger.error("⚡ Circuit OPEN for {} after {} consecutive failures (last: {}) - skipping its scenarios for {}s",
+                            host, consecutiveFailures, reason, openMillis / 1000);
+            }
+        }
+        
+        synchronized void onSuccess(String host) {
+            if (state != State.CLOSED) {
+                logger.info("⚡ Circuit CLOSED for {} - probe succeeded", host);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeThread = null;
+        }
+    }
+}
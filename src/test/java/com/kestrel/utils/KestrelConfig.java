@@ -0,0 +1,403 @@
+package com.kestrel.utils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Kestrel Engine Configuration Snapshot
+ * Typed, immutable view of the configuration, built and validated once at startup
+ *
+ * Sources are layered, later ones winning:
+ * DEFAULT < CLASSPATH (/config/{env}.properties) < FILE_SYSTEM (config/{env}.properties) < SYSTEM_PROPERTY (-D)
+ *
+ * All fields are final and the instance is published through EnvironmentManager's
+ * static initializer, so every thread sees the same fully built snapshot without locking.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class KestrelConfig {
+    
+    /**
+     * Where a configuration value came from
+     */
+    public enum Source {
+        DEFAULT,
+        CLASSPATH,
+        FILE_SYSTEM,
+        SYSTEM_PROPERTY
+    }
+    
+    private final String environment;
+    private final Map<String, String> values;
+    private final Map<String, Source> sources;
+    
+    // Web
+    private final String baseUrl;
+    private final String webMode;
+    private final String browser;
+    private final boolean headless;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    
+    // API
+    private final String liveApiUrl;
+    private final String apiMode;
+    private final String apiFixturesPath;
+    private final String appId;
+    
+    // Reporting
+    private final boolean screenshotOnFailure;
+    private final String screenshotPath;
+    private final String reportPath;
+    private final String allureResultsDirectory;
+    
+    // Execution
+    private final int parallelThreads;
+    private final int retryCount;
+    private final boolean debugMode;
+    
+    private KestrelConfig(String environment, Map<String, String> values, Map<String, Source> sources) {
+        this.environment = environment;
+        this.values = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(sources);
+        
+        List<String> errors = new ArrayList<>();
+        
+        this.baseUrl = requireText("base.url", errors);
+        this.webMode = values.get("web.mode").trim().toLowerCase();
+        if (!webMode.equals("live") && !webMode.equals("local")) {
+            errors.add("web.mode must be live or local: " + webMode);
+        }
+        this.browser = values.get("browser").trim().toLowerCase();
+        this.headless = Boolean.parseBoolean(values.get("headless").trim());
+        this.implicitWait = positiveInt("implicit.wait", errors);
+        this.explicitWait = positiveInt("explicit.wait", errors);
+        this.pageLoadTimeout = positiveInt("page.load.timeout", errors);
+        
+        this.liveApiUrl = requireText("api.url", errors);
+        if (liveApiUrl != null && !liveApiUrl.startsWith("http")) {
+            errors.add("api.url must start with http/https: " + liveApiUrl);
+        }
+        this.apiMode = values.get("api.mode").trim().toLowerCase();
+        if (!apiMode.equals("live") && !apiMode.equals("record") && !apiMode.equals("replay")) {
+            errors.add("api.mode must be live, record or replay: " + apiMode);
+        }
+        this.apiFixturesPath = values.get("api.fixtures.path");
+        this.appId = values.get("app.id");
+        
+        this.screenshotOnFailure = Boolean.parseBoolean(values.get("screenshot.on.failure").trim());
+        this.screenshotPath = values.get("screenshot.path");
+        this.reportPath = values.get("report.path");
+        this.allureResultsDirectory = values.get("allure.results.directory");
+        
+        this.parallelThreads = positiveInt("parallel.threads", errors);
+        this.retryCount = parseInt("retry.count", errors);
+        if (retryCount < 0) {
+            errors.add("retry.count must not be negative: " + retryCount);
+        }
+        this.debugMode = Boolean.parseBoolean(values.get("debug.mode").trim());
+        
+        if (!errors.isEmpty()) {
+            throw new RuntimeException("❌ Configuration validation failed: " + String.join("; ", errors));
+        }
+    }
+    
+    /**
+     * Build the snapshot for an environment from all configuration sources
+     * @param environment Environment name (dev/staging/prod)
+     * @return Validated configuration snapshot
+     */
+    public static KestrelConfig load(String environment) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, Source> sources = new LinkedHashMap<>();
+        String configFileName = environment + ".properties";
+        
+        layer(defaults(), Source.DEFAULT, values, sources);
+        
+        String classpathFile = "/config/" + configFileName;
+        try (InputStream inputStream = KestrelConfig.class.getResourceAsStream(classpathFile)) {
+            if (inputStream != null) {
+                Properties classpath = new Properties();
+                classpath.load(inputStream);
+                layer(classpath, Source.CLASSPATH, values, sources);
+                System.out.println("📄 Config source: CLASSPATH (" + classpathFile + ")");
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not load from classpath: " + e.getMessage());
+        }
+        
+        String configFile = "config/" + configFileName;
+        try (FileInputStream fis = new FileInputStream(configFile)) {
+            Properties fileSystem = new Properties();
+            fileSystem.load(fis);
+            layer(fileSystem, Source.FILE_SYSTEM, values, sources);
+            System.out.println("📄 Config source: FILE SYSTEM (" + configFile + ")");
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not load from file system: " + e.getMessage());
+        }
+        
+        for (String key : new ArrayList<>(values.keySet())) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                values.put(key, override);
+                sources.put(key, Source.SYSTEM_PROPERTY);
+            }
+        }
+        
+        return new KestrelConfig(environment, values, sources);
+    }
+    
+    /**
+     * Built-in JSONPlaceholder / Demoblaze defaults
+     * This ensures the framework works even without config files
+     */
+    private static Properties defaults() {
+        Properties defaults = new Properties();
+        defaults.setProperty("api.url", "https://jsonplaceholder.typicode.com");
+        defaults.setProperty("base.url", "https://www.demoblaze.com");
+        defaults.setProperty("web.mode", "live");
+        defaults.setProperty("browser", "chrome");
+        defaults.setProperty("headless", "true");
+        defaults.setProperty("implicit.wait", "10");
+        defaults.setProperty("explicit.wait", "15");
+        defaults.setProperty("page.load.timeout", "30");
+        defaults.setProperty("app.id", "NOT_NEEDED");
+        defaults.setProperty("screenshot.on.failure", "true");
+        defaults.setProperty("screenshot.path", "build/screenshots");
+        defaults.setProperty("report.path", "build/reports/cucumber");
+        defaults.setProperty("allure.results.directory", "build/allure-results");
+        defaults.setProperty("parallel.threads", "2");
+        defaults.setProperty("retry.count", "1");
+        defaults.setProperty("debug.mode", "false");
+        defaults.setProperty("api.mode", "live");
+        defaults.setProperty("api.fixtures.path", "src/test/resources/fixtures/api");
+        return defaults;
+    }
+    
+    private static void layer(Properties layer, Source source, Map<String, String> values, Map<String, Source> sources) {
+        for (String key : layer.stringPropertyNames()) {
+            values.put(key, layer.getProperty(key));
+            sources.put(key, source);
+        }
+    }
+    
+    // ===== RAW ACCESS =====
+    
+    /**
+     * Get raw value captured in the snapshot
+     * @param key Property key
+     * @return Value or null if the key is not configured in any file or default
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+    
+    /**
+     * Get the source that won for a key
+     * @param key Property key
+     * @return Winning source or null if the key is not part of the snapshot
+     */
+    public Source getSource(String key) {
+        return sources.get(key);
+    }
+    
+    /**
+     * Get winning source for every key in the snapshot
+     * @return Unmodifiable key to source map
+     */
+    public Map<String, Source> getSources() {
+        return sources;
+    }
+    
+    // ===== TYPED ACCESS =====
+    
+    /**
+     * Get environment name
+     * @return Environment name (dev/staging/prod)
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+    
+    /**
+     * Get base URL for web testing
+     * @return Base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Get web target mode
+     * @return live or local
+     */
+    public String getWebMode() {
+        return webMode;
+    }
+    
+    /**
+     * Get browser type
+     * @return Browser name (lower case)
+     */
+    public String getBrowser() {
+        return browser;
+    }
+    
+    /**
+     * Check if headless mode is enabled
+     * @return true if headless mode
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    /**
+     * Get implicit wait timeout
+     * @return Implicit wait in seconds
+     */
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+    
+    /**
+     * Get explicit wait timeout
+     * @return Explicit wait in seconds
+     */
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+    
+    /**
+     * Get page load timeout
+     * @return Page load timeout in seconds
+     */
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+    
+    /**
+     * Get configured (real) API base URL
+     * @return API base URL
+     */
+    public String getLiveApiUrl() {
+        return liveApiUrl;
+    }
+    
+    /**
+     * Get API traffic mode
+     * @return live, record or replay
+     */
+    public String getApiMode() {
+        return apiMode;
+    }
+    
+    /**
+     * Get directory holding recorded API fixtures
+     * @return Fixture directory path
+     */
+    public String getApiFixturesPath() {
+        return apiFixturesPath;
+    }
+    
+    /**
+     * Get API app ID
+     * @return App ID
+     */
+    public String getAppId() {
+        return appId;
+    }
+    
+    /**
+     * Check if screenshot capture on failure is enabled
+     * @return true if screenshots should be captured
+     */
+    public boolean isScreenshotOnFailure() {
+        return screenshotOnFailure;
+    }
+    
+    /**
+     * Get screenshot path
+     * @return Screenshot directory path
+     */
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+    
+    /**
+     * Get report path
+     * @return Report directory path
+     */
+    public String getReportPath() {
+        return reportPath;
+    }
+    
+    /**
+     * Get Allure results directory
+     * @return Allure results directory path
+     */
+    public String getAllureResultsDirectory() {
+        return allureResultsDirectory;
+    }
+    
+    /**
+     * Get parallel thread count
+     * @return Number of parallel threads
+     */
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+    
+    /**
+     * Get retry count for failed tests
+     * @return Number of retries
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+    
+    /**
+     * Check if debug mode is enabled
+     * @return true if debug mode is on
+     */
+    public boolean isDebugMode() {
+        return debugMode;
+    }
+    
+    // ===== VALIDATION HELPERS =====
+    
+    private String requireText(String key, List<String> errors) {
+        String value = values.get(key);
+        if (value == null || value.trim().isEmpty()) {
+            errors.add(key + " is required but not configured");
+            return null;
+        }
+        return value.trim();
+    }
+    
+    private int parseInt(String key, List<String> errors) {
+        try {
+            return Integer.parseInt(values.get(key).trim());
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be an integer: " + values.get(key));
+            return 0;
+        }
+    }
+    
+    private int positiveInt(String key, List<String> errors) {
+        int errorCount = errors.size();
+        int value = parseInt(key, errors);
+        if (errors.size() == errorCount && value <= 0) {
+            errors.add(key + " must be positive: " + value);
+        }
+        return value;
+    }
+}
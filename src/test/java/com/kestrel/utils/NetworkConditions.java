@@ -0,0 +1,312 @@
+package com.kestrel.utils;
+
+import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Network Conditions
+ * Emulated network profiles (latency, throughput, offline) for web scenarios
+ *
+ * Features:
+ * - Named profiles applied to every new session through CDP Network.emulateNetworkConditions
+ * - Profile per environment (browser.network.profile) or per scenario (@network-3g, @network-cable, ...)
+ * - Custom profiles defined in configuration next to the built-in ones
+ * - Active profile logged in the scenario report and as an Allure parameter, so runs under
+ *   different profiles can be compared
+ * - Step timing budgets scaled by the profile's budget factor (see WebDriverCommandRecorder)
+ *
+ * Built-in profiles (round trip latency, download/upload kbps, budget factor):
+ * - none       Raw connection (default)
+ * - cable      28 ms, 5000/1000, x1.25
+ * - dsl        50 ms, 1500/384, x2
+ * - 4g         170 ms, 9000/9000, x2
+ * - 3g         300 ms, 1600/768, x3
+ * - slow-3g    2000 ms, 400/400, x8
+ * - offline    No connection
+ *
+ * Configuration:
+ * - browser.network.profile           Profile for all web scenarios (default none)
+ * - browser.network.profiles.{name}   Custom profile as latencyMs,downloadKbps,uploadKbps[,budgetFactor]
+ *
+ * Emulation needs a Chromium session (chrome, edge); other browsers run on the raw connection
+ * and are reported as such.
+ *
+ * The offline profile starts with the connection up so Hooks can load the start page, then
+ * disconnectIfOffline() cuts it: the scenario begins on a loaded page that has lost its network.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class NetworkConditions {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkConditions.class);
+    private static final String TAG_PREFIX = "@network-";
+    
+    public static final Profile NONE = new Profile("none", 0, 0, 0, false, 1.0);
+    
+    private static final Map<String, Profile> BUILT_IN = new LinkedHashMap<>();
+    static {
+        register(NONE);
+        register(new Profile("cable", 28, 5000, 1000, false, 1.25));
+        register(new Profile("dsl", 50, 1500, 384, false, 2.0));
+        register(new Profile("4g", 170, 9000, 9000, false, 2.0));
+        register(new Profile("3g", 300, 1600, 768, false, 3.0));
+        register(new Profile("slow-3g", 2000, 400, 400, false, 8.0));
+        register(new Profile("offline", 0, 0, 0, true, 1.0));
+    }
+    
+    // Set by the scenario hook from @network-* tags, overrides browser.network.profile
+    private static final ThreadLocal<String> scenarioProfile = new ThreadLocal<>();
+    
+    // Profile actually emulated by this thread's session
+    private static final ThreadLocal<Profile> appliedProfile = new ThreadLocal<>();
+    
+    // ===== STATISTICS =====
+    private static final Map<String, LongAdder> sessionsByProfile = new ConcurrentHashMap<>();
+    private static final LongAdder unsupportedSessions = new LongAdder();
+    
+    /**
+     * Emulated network conditions
+     * @param name Profile name
+     * @param latencyMs Added round trip latency in milliseconds
+     * @param downloadKbps Download throughput in kbit/s, 0 = unthrottled
+     * @param uploadKbps Upload throughput in kbit/s, 0 = unthrottled
+     * @param offline Emulate a lost connection
+     * @param budgetFactor Multiplier for step timing budgets under this profile
+     */
+    public record Profile(String name, long latencyMs, long downloadKbps, long uploadKbps, boolean offline, double budgetFactor) {
+        
+        /**
+         * Check if this profile changes anything
+         * @return false for the raw connection
+         */
+        public boolean isEmulated() {
+            return offline || latencyMs > 0 || downloadKbps > 0 || uploadKbps > 0;
+        }
+        
+        /**
+         * Human-readable summary, e.g. "3g (300 ms, 1600/768 kbps)"
+         * @return Profile description
+         */
+        public String describe() {
+            if (offline) {
+                return name + " (offline)";
+            }
+            if (!isEmulated()) {
+                return name + " (raw connection)";
+            }
+            return String.format(Locale.ROOT, "%s (%d ms, %s/%s kbps)", name, latencyMs,
+                                 kbps(downloadKbps), kbps(uploadKbps));
+        }
+        
+        private static String kbps(long value) {
+            return value > 0 ? String.valueOf(value) : "∞";
+        }
+    }
+    
+    private NetworkConditions() {
+    }
+    
+    private static void register(Profile profile) {
+        BUILT_IN.put(profile.name(), profile);
+    }
+    
+    // ===== PROFILE SELECTION =====
+    
+    /**
+     * Select the profile for the current scenario from its @network-{name} tag
+     * @param scenario Current scenario
+     */
+    public static void selectForScenario(Scenario scenario) {
+        scenario.getSourceTagNames().stream()
+            .filter(tag -> tag.startsWith(TAG_PREFIX))
+            .reduce((first, last) -> last)
+            .ifPresent(tag -> scenarioProfile.set(tag.substring(TAG_PREFIX.length())));
+    }
+    
+    /**
+     * Forget the scenario's profile selection and applied profile
+     */
+    public static void clearScenario() {
+        scenarioProfile.remove();
+        appliedProfile.remove();
+    }
+    
+    /**
+     * Resolve the profile selected for this thread's next session
+     * @return Scenario tag profile, else browser.network.profile, else none
+     * @throws IllegalArgumentException if the profile is neither built in nor configured
+     */
+    public static Profile selectedProfile() {
+        String name = scenarioProfile.get();
+        if (name == null) {
+            name = EnvironmentManager.getProperty("browser.network.profile", NONE.name());
+        }
+        return resolve(name);
+    }
+    
+    /**
+     * Look up a profile by name
+     * @param name Profile name (custom profiles win over built-in ones)
+     * @return Profile
+     * @throws IllegalArgumentException if the profile is unknown or its definition is malformed
+     */
+    public static Profile resolve(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return NONE;
+        }
+        String custom = EnvironmentManager.getProperty("browser.network.profiles." + key, "").trim();
+        if (!custom.isEmpty()) {
+            return parse(key, custom);
+        }
+        Profile profile = BUILT_IN.get(key);
+        if (profile == null) {
+            throw new IllegalArgumentException("❌ Unknown network profile: " + name
+                + ". Built in: " + String.join(", ", BUILT_IN.keySet()) + ", or define browser.network.profiles." + key);
+        }
+        return profile;
+    }
+    
+    private static Profile parse(String name, String definition) {
+        String[] parts = definition.split(",");
+        try {
+            if (parts.length < 3 || parts.length > 4) {
+                throw new NumberFormatException("expected latencyMs,downloadKbps,uploadKbps[,budgetFactor]");
+            }
+            return new Profile(name, Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim()),
+                               Long.parseLong(parts[2].trim()), false,
+                               parts.length == 4 ? Double.parseDouble(parts[3].trim()) : 1.0);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Invalid network profile browser.network.profiles." + name
+                + "=" + definition + ": " + e.getMessage(), e);
+        }
+    }
+    
+    // ===== EMULATION =====
+    
+    /**
+     * Emulate the selected profile on a freshly created session
+     * @param driver Driver created by DriverManager
+     * @throws RuntimeException if the browser rejects the emulation command
+     */
+    public static void apply(WebDriver driver) {
+        Profile profile = selectedProfile();
+        if (!profile.isEmulated()) {
+            appliedProfile.set(NONE);
+            return;
+        }
+        if (!(driver instanceof HasCdp)) {
+            unsupportedSessions.increment();
+            appliedProfile.set(NONE);
+            logger.warn("⚠️ Network profile {} needs a Chromium browser, running on the raw connection", profile.name());
+            return;
+        }
+        
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            // An offline profile stays connected until disconnectIfOffline()
+            emulate(cdp, profile, false);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("❌ Failed to emulate network profile " + profile.name() + ": " + e.getMessage(), e);
+        }
+        appliedProfile.set(profile);
+        sessionsByProfile.computeIfAbsent(profile.name(), k -> new LongAdder()).increment();
+        logger.info("🐢 Network emulation: {}", profile.describe());
+    }
+    
+    /**
+     * Cut the connection of this thread's session if it runs the offline profile
+     * Called by Hooks once the start page is loaded; no-op for every other profile
+     * @param driver Current driver
+     */
+    public static void disconnectIfOffline(WebDriver driver) {
+        Profile profile = currentProfile();
+        if (!profile.offline() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            emulate((HasCdp) driver, profile, true);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("❌ Failed to take the session offline: " + e.getMessage(), e);
+        }
+        logger.info("🐢 Network emulation: connection cut");
+    }
+    
+    private static void emulate(HasCdp cdp, Profile profile, boolean offline) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("offline", offline);
+        conditions.put("latency", profile.latencyMs());
+        conditions.put("downloadThroughput", throughput(profile.downloadKbps()));
+        conditions.put("uploadThroughput", throughput(profile.uploadKbps()));
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+    }
+    
+    /**
+     * CDP expects bytes per second, -1 disables throttling
+     */
+    private static double throughput(long kbps) {
+        return kbps > 0 ? kbps * 1000 / 8.0 : -1;
+    }
+    
+    /**
+     * Get the profile emulated by this thread's session
+     * @return Applied profile, none if no session or no emulation
+     */
+    public static Profile currentProfile() {
+        Profile profile = appliedProfile.get();
+        return profile == null ? NONE : profile;
+    }
+    
+    /**
+     * Scale a timing budget to the network conditions of this thread's session
+     * @param budgetMs Budget on the raw connection
+     * @return Budget under the current profile
+     */
+    public static long scaleBudget(long budgetMs) {
+        return Math.round(budgetMs * currentProfile().budgetFactor());
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Record the emulated profile in the scenario log and as an Allure parameter
+     * @param scenario Current scenario
+     */
+    public static void report(Scenario scenario) {
+        Profile profile = currentProfile();
+        if (!profile.isEmulated()) {
+            return;
+        }
+        scenario.log("🐢 Network profile: " + profile.describe() + ", step budgets x" + profile.budgetFactor());
+        try {
+            Allure.parameter("network", profile.name());
+        } catch (RuntimeException e) {
+            logger.debug("Could not add Allure network parameter: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Log sessions per emulated profile
+     */
+    public static void logSummary() {
+        if (sessionsByProfile.isEmpty() && unsupportedSessions.sum() == 0) {
+            return;
+        }
+        sessionsByProfile.forEach((name, sessions) ->
+            logger.info("🐢 Network profile {}: {} session(s)", name, sessions.sum()));
+        if (unsupportedSessions.sum() > 0) {
+            logger.info("   ↳ {} session(s) on the raw connection, browser does not support emulation", unsupportedSessions.sum());
+        }
+    }
+}
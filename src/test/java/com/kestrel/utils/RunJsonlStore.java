@@ -0,0 +1,173 @@
+package com.kestrel.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Kestrel Engine Run JSONL Store
+ * Append-only, file-based records grouped by run, shared by PerformanceHistoryStore, ScenarioOutcomeStore and ImpactMapStore
+ *
+ * Layout: {directory}/{runId}/{jvm-pid}.jsonl (one JSON record per line).
+ * Forked test JVMs of one Gradle invocation share the run id passed as -Dkestrel.run.id,
+ * so each writes its own file in the same run directory without locking.
+ *
+ * Runs are ordered by the modification time of their directory (updated whenever a JVM adds
+ * its file), so custom run ids such as -Dkestrel.run.id=ci-123 keep chronological order.
+ *
+ * Features:
+ * - Per-JVM append, no locking between forks
+ * - Load of one run or the run ids, oldest first
+ * - Oldest runs pruned beyond the configured count
+ *
+ * @param <T> Record type (Jackson-mappable)
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class RunJsonlStore<T> {
+    private static final Logger logger = LoggerFactory.getLogger(RunJsonlStore.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    private final File directory;
+    private final int maxRuns;
+    private final Class<T> recordType;
+    private final String description;
+    
+    /**
+     * Create store rooted at the given directory
+     * @param directoryPath Store directory
+     * @param maxRuns Number of runs to keep
+     * @param recordType Record class
+     * @param description Record description used in log messages (e.g., "scenario outcome")
+     */
+    public RunJsonlStore(String directoryPath, int maxRuns, Class<T> recordType, String description) {
+        this.directory = new File(directoryPath);
+        this.maxRuns = maxRuns;
+        this.recordType = recordType;
+        this.description = description;
+    }
+    
+    /**
+     * Append records of this JVM to the run directory and prune old runs
+     * @param runId Run id
+     * @param records Records to append
+     */
+    public void append(String runId, Collection<T> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        File runDirectory = new File(directory, runId);
+        runDirectory.mkdirs();
+        File file = new File(runDirectory, ManagementFactory.getRuntimeMXBean().getPid() + ".jsonl");
+        
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+            for (T record : records) {
+                writer.write(mapper.writeValueAsString(record));
+                writer.write('\n');
+            }
+            logger.debug("💾 Appended {} {} record(s) to: {}", records.size(), description, file.getPath());
+        } catch (IOException e) {
+            logger.error("❌ Failed to append {} records: {}", description, e.getMessage());
+        }
+        
+        prune();
+    }
+    
+    /**
+     * Load all records of one run
+     * @param runId Run id
+     * @return Records in file order (empty if the run is unknown)
+     */
+    public List<T> load(String runId) {
+        List<T> records = new ArrayList<>();
+        File[] files = new File(directory, runId).listFiles((dir, name) -> name.endsWith(".jsonl"));
+        for (File file : files != null ? files : new File[0]) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        records.add(mapper.readValue(line, recordType));
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("⚠️ Skipping unreadable {} file {}: {}", description, file.getPath(), e.getMessage());
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Get ids of all kept runs
+     * @return Run ids, oldest first
+     */
+    public List<String> runIds() {
+        List<String> runIds = new ArrayList<>();
+        for (File runDirectory : runDirectories()) {
+            runIds.add(runDirectory.getName());
+        }
+        return runIds;
+    }
+    
+    /**
+     * Get id of the most recent run
+     * @return Run id, or null if nothing was recorded
+     */
+    public String latestRunId() {
+        List<File> runs = runDirectories();
+        return runs.isEmpty() ? null : runs.get(runs.size() - 1).getName();
+    }
+    
+    /**
+     * Check whether records were written for a run
+     * @param runId Run id
+     * @return true if the run directory exists
+     */
+    public boolean hasRun(String runId) {
+        return new File(directory, runId).isDirectory();
+    }
+    
+    /**
+     * Get store directory
+     * @return Store directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+    
+    private List<File> runDirectories() {
+        File[] runs = directory.listFiles(File::isDirectory);
+        if (runs == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(runs, Comparator.comparingLong(File::lastModified).thenComparing(File::getName));
+        return new ArrayList<>(Arrays.asList(runs));
+    }
+    
+    private void prune() {
+        List<File> runs = runDirectories();
+        while (runs.size() > maxRuns) {
+            File oldest = runs.remove(0);
+            File[] files = oldest.listFiles();
+            for (File file : files != null ? files : new File[0]) {
+                file.delete();
+            }
+            oldest.delete();
+            logger.debug("🧹 Pruned {} records of run: {}", description, oldest.getName());
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.kestrel.utils;
+
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.ConverterFunctions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Screencast Recorder
+ * Video-free visual timeline of web sessions, rendered only when a scenario fails
+ *
+ * Features:
+ * - CDP Page.startScreencast per session at a low frame rate and low JPEG quality
+ * - Frame rate capped browser-side: each frame is acknowledged only after the frame interval,
+ *   so Chrome does not encode frames that would be thrown away
+ * - Frames kept as JPEG bytes in a bounded off-heap ring buffer per session, oldest frames
+ *   overwritten first; buffers are pooled and reused by later sessions
+ * - On failure the buffered frames are rendered as one contact sheet, attached to the scenario
+ *   (and so to Allure) and saved under screenshot.path; passing scenarios write nothing
+ * - Per session overhead (frames, bytes, JVM CPU time spent on frames, off-heap buffer) logged
+ *   when the session quits, totals at global teardown
+ *
+ * Configuration:
+ * - browser.screencast.enabled        Record a timeline for web sessions (default false)
+ * - browser.screencast.fps            Frames per second kept (default 2)
+ * - browser.screencast.quality        JPEG quality 0-100 (default 40)
+ * - browser.screencast.max.size       Longest frame side in pixels (default 800)
+ * - browser.screencast.buffer.kb      Off-heap ring buffer per session (default 4096)
+ * - browser.screencast.sheet.frames   Frames on the contact sheet, spread over the buffer (default 12)
+ *
+ * Screencasting needs a Chromium session (chrome, edge); other browsers are not recorded.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class ScreencastRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(ScreencastRecorder.class);
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static final int SHEET_COLUMNS = 4;
+    private static final int THUMB_WIDTH = 320;
+    private static final int LABEL_HEIGHT = 18;
+    
+    // Recording sessions (removed on stop before the driver quits)
+    private static final Map<WebDriver, ScreencastRecorder> sessions = new ConcurrentHashMap<>();
+    
+    // Off-heap ring buffers released by stopped sessions
+    private static final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+    
+    // Sends the delayed frame acknowledgements
+    private static final ScheduledExecutorService acks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kestrel-screencast-ack");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // ===== STATISTICS =====
+    private static final LongAdder sessionsRecorded = new LongAdder();
+    private static final LongAdder unsupportedSessions = new LongAdder();
+    private static final LongAdder framesReceived = new LongAdder();
+    private static final LongAdder framesKept = new LongAdder();
+    private static final LongAdder bytesReceived = new LongAdder();
+    private static final LongAdder frameCpuNanos = new LongAdder();
+    private static final LongAdder buffersAllocated = new LongAdder();
+    private static final LongAdder timelinesWritten = new LongAdder();
+    
+    private final DevTools devTools;
+    private final FrameRing ring;
+    private final long frameIntervalMs;
+    private final long startedAt = System.currentTimeMillis();
+    private volatile boolean stopped;
+    private long lastKeptAt;
+    private long sessionFrames;
+    private long sessionKept;
+    private long sessionBytes;
+    private long sessionCpuNanos;
+    
+    /**
+     * Frame stored in the ring buffer
+     * @param offset Start of the JPEG bytes in the buffer
+     * @param length JPEG size in bytes
+     * @param receivedAt Wall clock time the frame arrived
+     */
+    private record Frame(int offset, int length, long receivedAt) {
+    }
+    
+    /**
+     * Bounded ring of JPEG frames in one direct buffer
+     * Frames are written back to back; a frame that does not fit before the end wraps to the
+     * start, evicting the oldest frames it overlaps
+     */
+    private static final class FrameRing {
+        final ByteBuffer buffer;
+        final Deque<Frame> frames = new ArrayDeque<>();
+        int head;
+        int peakBytes;
+        
+        FrameRing(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        synchronized boolean add(byte[] jpeg, long receivedAt) {
+            int capacity = buffer.capacity();
+            if (jpeg.length > capacity) {
+                return false;
+            }
+            if (head + jpeg.length > capacity) {
+                // Frames left between head and the end are the oldest, drop them and wrap
+                while (!frames.isEmpty() && frames.peekFirst().offset() >= head) {
+                    frames.removeFirst();
+                }
+                head = 0;
+            }
+            while (!frames.isEmpty() && frames.peekFirst().offset() >= head
+                   && frames.peekFirst().offset() < head + jpeg.length) {
+                frames.removeFirst();
+            }
+            buffer.put(head, jpeg);
+            frames.addLast(new Frame(head, jpeg.length, receivedAt));
+            head += jpeg.length;
+            peakBytes = Math.max(peakBytes, usedBytes());
+            return true;
+        }
+        
+        synchronized int usedBytes() {
+            return frames.stream().mapToInt(Frame::length).sum();
+        }
+        
+        /**
+         * Copy up to max frames, evenly spread from oldest to newest, out of the buffer
+         */
+        synchronized Map<Frame, byte[]> sample(int max) {
+            List<Frame> all = new ArrayList<>(frames);
+            Map<Frame, byte[]> picked = new LinkedHashMap<>();
+            int count = Math.min(max, all.size());
+            for (int i = 0; i < count; i++) {
+                int index = count == 1 ? all.size() - 1 : (int) Math.round(i * (all.size() - 1) / (double) (count - 1));
+                Frame frame = all.get(index);
+                byte[] jpeg = new byte[frame.length()];
+                buffer.get(frame.offset(), jpeg);
+                picked.put(frame, jpeg);
+            }
+            return picked;
+        }
+        
+        synchronized int size() {
+            return frames.size();
+        }
+        
+        synchronized void clear() {
+            frames.clear();
+            head = 0;
+        }
+    }
+    
+    private ScreencastRecorder(DevTools devTools, ByteBuffer buffer, long frameIntervalMs) {
+        this.devTools = devTools;
+        this.ring = new FrameRing(buffer);
+        this.frameIntervalMs = frameIntervalMs;
+    }
+    
+    // ===== CONFIGURATION =====
+    
+    /**
+     * Check if web sessions record a timeline
+     * @return true if browser.screencast.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.screencast.enabled", "false"));
+    }
+    
+    private static int intProperty(String key, int defaultValue, int min) {
+        String value = EnvironmentManager.getProperty(key, String.valueOf(defaultValue));
+        try {
+            return Math.max(min, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("❌ Invalid " + key + ": " + value, e);
+        }
+    }
+    
+    // ===== SESSION LIFECYCLE =====
+    
+    /**
+     * Start recording a freshly created session
+     * Leaves the session unrecorded when disabled, unsupported or refused by the browser
+     * @param driver Driver created by DriverManager
+     */
+    public static void start(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            unsupportedSessions.increment();
+            logger.debug("🎞️ No DevTools connection, session is not screencast");
+            return;
+        }
+        ByteBuffer buffer = null;
+        try {
+            int fps = intProperty("browser.screencast.fps", 2, 1);
+            buffer = acquireBuffer(intProperty("browser.screencast.buffer.kb", 4096, 64) * 1024);
+            
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+            ScreencastRecorder recorder = new ScreencastRecorder(devTools, buffer, 1000L / fps);
+            devTools.addListener(new Event<>("Page.screencastFrame", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                                 recorder::onFrame);
+            
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", Math.min(100, intProperty("browser.screencast.quality", 40, 0)));
+            int maxSize = intProperty("browser.screencast.max.size", 800, 100);
+            params.put("maxWidth", maxSize);
+            params.put("maxHeight", maxSize);
+            devTools.send(new Command<>("Page.enable", Map.of(), ConverterFunctions.empty()));
+            devTools.send(new Command<>("Page.startScreencast", params, ConverterFunctions.empty()));
+            
+            sessions.put(driver, recorder);
+            sessionsRecorded.increment();
+            logger.info("🎞️ Screencast timeline recording at {} fps, quality {}", fps, params.get("quality"));
+        } catch (RuntimeException e) {
+            if (buffer != null) {
+                bufferPool.offer(buffer);
+            }
+            unsupportedSessions.increment();
+            logger.warn("⚠️ Screencast unavailable, session has no visual timeline: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stop recording before the driver quits, log the session's overhead and return its buffer to the pool
+     * @param driver Driver about to quit
+     */
+    public static void stop(WebDriver driver) {
+        ScreencastRecorder recorder = driver == null ? null : sessions.remove(driver);
+        if (recorder == null) {
+            return;
+        }
+        recorder.stopped = true;
+        try {
+            recorder.devTools.send(new Command<>("Page.stopScreencast", Map.of(), ConverterFunctions.empty()));
+            recorder.devTools.clearListeners();
+        } catch (RuntimeException e) {
+            logger.debug("Screencast stop during quit: {}", e.getMessage());
+        }
+        recorder.logSession();
+        recorder.ring.clear();
+        bufferPool.offer(recorder.ring.buffer);
+    }
+    
+    private static ByteBuffer acquireBuffer(int capacity) {
+        ByteBuffer buffer;
+        while ((buffer = bufferPool.poll()) != null) {
+            if (buffer.capacity() == capacity) {
+                return buffer;
+            }
+        }
+        buffersAllocated.increment();
+        return ByteBuffer.allocateDirect(capacity);
+    }
+    
+    // ===== FRAMES =====
+    
+    /**
+     * Keep the frame if the frame interval has passed, then acknowledge it once the interval is over
+     * Runs on the DevTools event thread
+     */
+    private void onFrame(Map<String, Object> event) {
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        Object sessionId = event.get("sessionId");
+        long now = System.currentTimeMillis();
+        long ackDelay = 0;
+        
+        synchronized (this) {
+            sessionFrames++;
+            framesReceived.increment();
+            if (!stopped && now - lastKeptAt >= frameIntervalMs) {
+                byte[] jpeg = Base64.getDecoder().decode(String.valueOf(event.get("data")));
+                if (ring.add(jpeg, now)) {
+                    lastKeptAt = now;
+                    sessionKept++;
+                    sessionBytes += jpeg.length;
+                    framesKept.increment();
+                    bytesReceived.add(jpeg.length);
+                }
+            }
+            ackDelay = Math.max(0, lastKeptAt + frameIntervalMs - now);
+            long cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+            sessionCpuNanos += cpu;
+            frameCpuNanos.add(cpu);
+        }
+        acks.schedule(() -> acknowledge(sessionId), ackDelay, TimeUnit.MILLISECONDS);
+    }
+    
+    private void acknowledge(Object sessionId) {
+        if (stopped) {
+            return;
+        }
+        try {
+            devTools.send(new Command<>("Page.screencastFrameAck", Map.of("sessionId", sessionId), ConverterFunctions.empty()));
+        } catch (RuntimeException e) {
+            logger.debug("Screencast frame ack failed: {}", e.getMessage());
+        }
+    }
+    
+    // ===== TIMELINE =====
+    
+    /**
+     * Render the session's buffered frames as a contact sheet and attach it to the failed scenario
+     * Does nothing for sessions that are not recorded or have no frames
+     * @param scenario Failed scenario
+     * @param driver Scenario's driver
+     */
+    public static void attachTimeline(Scenario scenario, WebDriver driver) {
+        ScreencastRecorder recorder = driver == null ? null : sessions.get(driver);
+        if (recorder == null || recorder.ring.size() == 0) {
+            return;
+        }
+        try {
+            Map<Frame, byte[]> frames = recorder.ring.sample(intProperty("browser.screencast.sheet.frames", 12, 1));
+            byte[] sheet = renderContactSheet(frames, System.currentTimeMillis());
+            scenario.attach(sheet, "image/png", "Visual timeline (" + frames.size() + " of "
+                            + recorder.ring.size() + " frames)");
+            ScreenshotCapture.saveScreenshotToFile(sheet, "TIMELINE_" + scenario.getName().replaceAll("[^a-zA-Z0-9\\-_\\.]", "_"));
+            timelinesWritten.increment();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Could not render visual timeline: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Lay frames out left to right, top to bottom, each labelled with its age at failure time
+     */
+    private static byte[] renderContactSheet(Map<Frame, byte[]> frames, long failedAt) throws IOException {
+        List<BufferedImage> thumbs = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        int thumbHeight = 0;
+        for (Map.Entry<Frame, byte[]> entry : frames.entrySet()) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(entry.getValue()));
+            if (image == null) {
+                continue;
+            }
+            int height = Math.max(1, image.getHeight() * THUMB_WIDTH / image.getWidth());
+            thumbs.add(scale(image, height));
+            labels.add(String.format(Locale.ROOT, "-%.1fs", (failedAt - entry.getKey().receivedAt()) / 1000.0));
+            thumbHeight = Math.max(thumbHeight, height);
+        }
+        if (thumbs.isEmpty()) {
+            throw new IOException("no decodable frames");
+        }
+        
+        int columns = Math.min(SHEET_COLUMNS, thumbs.size());
+        int rows = (thumbs.size() + columns - 1) / columns;
+        int cellHeight = thumbHeight + LABEL_HEIGHT;
+        BufferedImage sheet = new BufferedImage(columns * THUMB_WIDTH, rows * cellHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = sheet.createGraphics();
+        try {
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.fillRect(0, 0, sheet.getWidth(), sheet.getHeight());
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+            for (int i = 0; i < thumbs.size(); i++) {
+                int x = (i % columns) * THUMB_WIDTH;
+                int y = (i / columns) * cellHeight;
+                graphics.drawImage(thumbs.get(i), x, y + LABEL_HEIGHT, null);
+                graphics.setColor(Color.WHITE);
+                graphics.drawString(labels.get(i), x + 4, y + LABEL_HEIGHT - 5);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(sheet, "png", png);
+        return png.toByteArray();
+    }
+    
+    private static BufferedImage scale(BufferedImage image, int height) {
+        BufferedImage thumb = new BufferedImage(THUMB_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumb.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, THUMB_WIDTH, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumb;
+    }
+    
+    // ===== REPORTING =====
+    
+    private synchronized void logSession() {
+        long seconds = Math.max(1, (System.currentTimeMillis() - startedAt) / 1000);
+        logger.info(String.format(Locale.ROOT,
+                    "🎞️ Screencast session: %d/%d frames kept in %ds, %.0f KB received, peak %d of %d KB off-heap, %.1f ms JVM CPU",
+                    sessionKept, sessionFrames, seconds, sessionBytes / 1024.0, ring.peakBytes / 1024,
+                    ring.buffer.capacity() / 1024, sessionCpuNanos / 1e6));
+    }
+    
+    /**
+     * Log recorded sessions, their average overhead and the timelines written
+     */
+    public static void logSummary() {
+        long recorded = sessionsRecorded.sum();
+        if (recorded == 0 && unsupportedSessions.sum() == 0) {
+            return;
+        }
+        logger.info("🎞️ Screencast: {} session(s) recorded, {} timeline(s) written for failures", recorded, timelinesWritten.sum());
+        if (recorded > 0) {
+            logger.info(String.format(Locale.ROOT,
+                        "   ↳ per session: %.1f frames kept of %.1f, %.0f KB, %.1f ms JVM CPU; %d off-heap buffer(s) allocated",
+                        framesKept.sum() / (double) recorded, framesReceived.sum() / (double) recorded,
+                        bytesReceived.sum() / 1024.0 / recorded, frameCpuNanos.sum() / 1e6 / recorded,
+                        buffersAllocated.sum()));
+        }
+        if (unsupportedSessions.sum() > 0) {
+            logger.info("   ↳ {} session(s) not recorded, no screencast support", unsupportedSessions.sum());
+        }
+    }
+}
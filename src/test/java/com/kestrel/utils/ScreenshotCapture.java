@@ -66,7 +66,16 @@ public class ScreenshotCapture {
         if (screenshotBytes.length == 0) {
             return null;
         }
-        
+        return saveScreenshotToFile(screenshotBytes, filename);
+    }
+    
+    /**
+     * Save an already captured screenshot to file
+     * @param screenshotBytes PNG bytes
+     * @param filename Custom filename (without extension)
+     * @return File path of saved screenshot
+     */
+    public static String saveScreenshotToFile(byte[] screenshotBytes, String filename) {
         try {
             // Create screenshots directory if it doesn't exist
             File screenshotDir = new File(SCREENSHOT_DIR);
@@ -0,0 +1,222 @@
+package com.kestrel.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.BrowsingContextInspector;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.Script;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine User Prompt Events
+ * Event-driven JavaScript dialog tracking over WebDriver BiDi
+ *
+ * Features:
+ * - One browsingContext.userPromptOpened / userPromptClosed subscription per driver session
+ * - Open prompts queued as the browser reports them, closed prompts removed again
+ * - Waiting for an alert returns the moment the dialog opens instead of polling alertIsPresent
+ * - "Is an alert open?" answered from the queue with no WebDriver round trip
+ * - Prompts accepted or dismissed with a single browsingContext.handleUserPrompt command
+ * - Alerts accepted in the page by DialogPolicy recorded in the same queue, already closed
+ *
+ * Configuration:
+ * - browser.bidi.enabled   Request a BiDi session (webSocketUrl capability) and track prompts (default true)
+ * - browser.dialog.accept  Alerts accepted browser-side, see DialogPolicy
+ *
+ * Sessions without BiDi (disabled, remote grids or drivers without support) are not tracked,
+ * and AlertHandler keeps its polling waits for them.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class UserPromptEvents {
+    private static final Logger logger = LoggerFactory.getLogger(UserPromptEvents.class);
+    
+    // ===== STATISTICS =====
+    private static final LongAdder promptsOpened = new LongAdder();
+    private static final LongAdder promptsAwaited = new LongAdder();
+    private static final LongAdder policyAccepted = new LongAdder();
+    private static final LongAdder idleChecks = new LongAdder();
+    
+    // Tracked driver sessions (removed on detach before the driver quits)
+    private static final Map<WebDriver, UserPromptEvents> sessions = new ConcurrentHashMap<>();
+    
+    private final WebDriver driver;
+    private final BrowsingContextInspector inspector;
+    private final Script policyScript;
+    private final LinkedBlockingDeque<Prompt> openPrompts = new LinkedBlockingDeque<>();
+    
+    /**
+     * JavaScript dialog reported open by the browser, or accepted in the page by the dialog policy
+     */
+    public static final class Prompt {
+        public final String contextId;
+        public final String type;
+        public final String message;
+        public final boolean accepted;
+        
+        Prompt(String contextId, String type, String message, boolean accepted) {
+            this.contextId = contextId;
+            this.type = type;
+            this.message = message;
+            this.accepted = accepted;
+        }
+    }
+    
+    private UserPromptEvents(WebDriver driver) {
+        this.driver = driver;
+        this.inspector = new BrowsingContextInspector(driver);
+        inspector.onUserPromptOpened(event -> {
+            promptsOpened.increment();
+            openPrompts.add(new Prompt(event.getBrowsingContextId(), String.valueOf(event.getType()), event.getMessage(), false));
+            logger.debug("🔔 {} prompt opened: '{}'", event.getType(), event.getMessage());
+        });
+        inspector.onUserPromptClosed(event ->
+            openPrompts.removeIf(prompt -> !prompt.accepted && prompt.contextId.equals(event.getBrowsingContextId())));
+        this.policyScript = installPolicy(driver);
+    }
+    
+    private Script installPolicy(WebDriver driver) {
+        DialogPolicy policy = DialogPolicy.fromEnvironment();
+        if (policy == null) {
+            return null;
+        }
+        try {
+            return policy.install(driver, (contextId, message) -> {
+                policyAccepted.increment();
+                openPrompts.add(new Prompt(contextId, "alert", message, true));
+                logger.debug("🛡️ Alert accepted by dialog policy: '{}'", message);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Dialog policy unavailable, alerts open as dialogs: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    // ===== SESSION LIFECYCLE =====
+    
+    /**
+     * Whether new sessions should be created with BiDi and tracked
+     * @return true unless browser.bidi.enabled=false
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.bidi.enabled", "true"));
+    }
+    
+    /**
+     * Subscribe to the prompt events of a freshly created driver
+     * Leaves the driver untracked (polling fallback) when BiDi is disabled or unavailable
+     * @param driver Driver created with the webSocketUrl capability
+     */
+    public static void attach(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasBiDi) || ((HasBiDi) driver).maybeGetBiDi().isEmpty()) {
+            logger.debug("🔔 No BiDi session, alerts are detected by polling");
+            return;
+        }
+        try {
+            sessions.put(driver, new UserPromptEvents(driver));
+            logger.info("🔔 Alert handling is event-driven (WebDriver BiDi user prompt events)");
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ BiDi prompt events unavailable, alerts are detected by polling: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Unsubscribe before the driver quits
+     * @param driver Driver about to quit
+     */
+    public static void detach(WebDriver driver) {
+        UserPromptEvents events = driver == null ? null : sessions.remove(driver);
+        if (events != null) {
+            try {
+                if (events.policyScript != null) {
+                    events.policyScript.close();
+                }
+                events.inspector.close();
+            } catch (RuntimeException e) {
+                logger.debug("BiDi unsubscribe during quit: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Prompt tracking of a driver
+     * @param driver WebDriver instance
+     * @return Tracker, or null when the driver is not tracked
+     */
+    static UserPromptEvents forDriver(WebDriver driver) {
+        return driver == null ? null : sessions.get(driver);
+    }
+    
+    // ===== PROMPTS =====
+    
+    /**
+     * Wait for the next open prompt, returning as soon as the browser reports it
+     * @param timeoutSeconds Max time to wait
+     * @return Prompt taken from the queue, or null if none opened in time
+     */
+    Prompt awaitPrompt(int timeoutSeconds) throws InterruptedException {
+        promptsAwaited.increment();
+        return openPrompts.pollFirst(timeoutSeconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Take the next open prompt without waiting
+     * @return Prompt, or null when no prompt is open
+     */
+    Prompt nextOpenPrompt() {
+        Prompt prompt = openPrompts.pollFirst();
+        if (prompt == null) {
+            idleChecks.increment();
+        }
+        return prompt;
+    }
+    
+    /**
+     * Check for an open or recorded prompt without a WebDriver round trip
+     * Alerts accepted by the dialog policy count until they are read
+     * @return true if a prompt is open
+     */
+    boolean hasOpenPrompt() {
+        boolean open = !openPrompts.isEmpty();
+        if (!open) {
+            idleChecks.increment();
+        }
+        return open;
+    }
+    
+    /**
+     * Accept or dismiss a prompt in its own browsing context
+     * @param prompt Prompt taken from the queue
+     * @param accept true to accept (OK), false to dismiss (Cancel)
+     */
+    void close(Prompt prompt, boolean accept) {
+        if (prompt.accepted) {
+            return;
+        }
+        new BrowsingContext(driver, prompt.contextId).handleUserPrompt(accept);
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log how many alert waits were served by events and how many polls were avoided
+     */
+    public static void logSummary() {
+        if (promptsOpened.sum() == 0 && promptsAwaited.sum() == 0 && policyAccepted.sum() == 0) {
+            return;
+        }
+        logger.info("🔔 Prompt events: {} dialogs opened, {} alert waits served by events, {} alert checks without a round trip",
+                   promptsOpened.sum(), promptsAwaited.sum(), idleChecks.sum());
+        if (policyAccepted.sum() > 0) {
+            logger.info("   ↳ {} alerts accepted in the browser by the dialog policy (no dialog round trip)", policyAccepted.sum());
+        }
+    }
+}
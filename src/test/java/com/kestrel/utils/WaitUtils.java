@@ -316,8 +316,8 @@ public class WaitUtils {
         // Dynamic wait for products to load instead of Thread.sleep
         forCondition(d -> {
             try {
-                return ((JavascriptExecutor) d)
-                    .executeScript("return document.querySelectorAll('.card-title').length > 0");
+                return Boolean.TRUE.equals(((JavascriptExecutor) d)
+                    .executeScript("return document.querySelectorAll('.card-title').length > 0"));
             } catch (Exception e) {
                 return false;
             }
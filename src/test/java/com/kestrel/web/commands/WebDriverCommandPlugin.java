@@ -0,0 +1,138 @@
+package com.kestrel.web.commands;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kestrel.perf.PerformanceHistoryStore;
+import com.kestrel.utils.EnvironmentManager;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kestrel Engine WebDriver Command Plugin
+ * Cucumber plugin marking step boundaries for WebDriverCommandRecorder and writing its report
+ *
+ * Registered in cucumber.plugin as com.kestrel.web.commands.WebDriverCommandPlugin.
+ * Step events are delivered on the thread running the scenario, so commands of parallel
+ * scenarios are attributed to the right step.
+ *
+ * Output (per run under browser.commands.path):
+ * - {runId}/{pid}-steps.jsonl        One line per step that issued commands
+ * - {runId}/traces/{scenario}.trace  Protocol trace per scenario (browser.commands.trace=true)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class WebDriverCommandPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverCommandPlugin.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    private final String runId = PerformanceHistoryStore.currentRunId();
+    private final ThreadLocal<TestCase> currentScenario = new ThreadLocal<>();
+    private final ThreadLocal<List<WebDriverCommandRecorder.StepCommands>> scenarioSteps =
+        ThreadLocal.withInitial(ArrayList::new);
+    private final Queue<WebDriverCommandRecorder.StepCommands> runSteps = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> currentScenario.set(event.getTestCase()));
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, event -> onStepFinished());
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> onScenarioFinished());
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+    
+    private void onStepStarted(TestStepStarted event) {
+        TestCase testCase = currentScenario.get();
+        String scenario = testCase == null ? "" : testCase.getName();
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            WebDriverCommandRecorder.beginStep(scenario, step.getStep().getKeyword() + step.getStep().getText(), false);
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            WebDriverCommandRecorder.beginStep(scenario, hook.getHookType() + " " + hook.getCodeLocation(), true);
+        }
+    }
+    
+    private void onStepFinished() {
+        WebDriverCommandRecorder.StepCommands step = WebDriverCommandRecorder.finishStep();
+        if (step != null && step.commands > 0) {
+            scenarioSteps.get().add(step);
+        }
+    }
+    
+    private void onScenarioFinished() {
+        TestCase testCase = currentScenario.get();
+        List<WebDriverCommandRecorder.StepCommands> steps = scenarioSteps.get();
+        currentScenario.remove();
+        scenarioSteps.remove();
+        if (steps.isEmpty()) {
+            return;
+        }
+        runSteps.addAll(steps);
+        if (testCase != null && WebDriverCommandRecorder.isTraceEnabled()) {
+            writeTrace(testCase, steps);
+        }
+    }
+    
+    private void writeTrace(TestCase testCase, List<WebDriverCommandRecorder.StepCommands> steps) {
+        File directory = new File(runDirectory(), "traces");
+        directory.mkdirs();
+        String fileName = testCase.getName().replaceAll("[^A-Za-z0-9._-]+", "_") + "-" + testCase.getLocation().getLine() + ".trace";
+        
+        try (PrintWriter trace = new PrintWriter(new File(directory, fileName), StandardCharsets.UTF_8)) {
+            trace.println("# " + testCase.getUri() + ":" + testCase.getLocation().getLine() + " " + testCase.getName());
+            for (WebDriverCommandRecorder.StepCommands step : steps) {
+                trace.printf(Locale.ROOT, "%s%s (%d commands, %.0f ms protocol)%n",
+                             step.overBudget ? "⚠️ " : "", step.step, step.commands, step.protocolMs);
+                step.trace.forEach(trace::println);
+            }
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write protocol trace: {}", e.getMessage());
+        }
+    }
+    
+    private void onRunFinished() {
+        if (runSteps.isEmpty()) {
+            return;
+        }
+        File directory = runDirectory();
+        directory.mkdirs();
+        File file = new File(directory, ManagementFactory.getRuntimeMXBean().getPid() + "-steps.jsonl");
+        
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+            for (WebDriverCommandRecorder.StepCommands step : runSteps) {
+                writer.write(mapper.writeValueAsString(step));
+                writer.write('\n');
+            }
+            logger.info("📡 WebDriver command counts of {} step(s) written to: {}", runSteps.size(), file.getPath());
+        } catch (IOException e) {
+            logger.error("❌ Failed to write WebDriver command report: {}", e.getMessage());
+        }
+        runSteps.clear();
+    }
+    
+    private File runDirectory() {
+        return new File(EnvironmentManager.getProperty("browser.commands.path", "build/reports/webdriver-commands"), runId);
+    }
+}
@@ -0,0 +1,410 @@
+package com.kestrel.web.commands;
+
+import com.kestrel.utils.CpuThrottling;
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.utils.NetworkConditions;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Kestrel Engine WebDriver Command Recorder
+ * Counts and times every WebDriver command a step issues, through an EventFiringDecorator
+ *
+ * DriverManager decorates each session it creates, so page objects, waits and hooks are
+ * all counted without changes. Step boundaries come from WebDriverCommandPlugin.
+ *
+ * Features:
+ * - Commands per step by type (WebDriver.findElement, WebElement.click, ...) and total protocol time
+ * - Steps over the command budget logged, flagged in the Cucumber/Allure step log and the run report
+ * - Optional step time budget, scaled by the emulated network profile (NetworkConditions)
+ * - Optional compact protocol trace per scenario (offset, duration, command)
+ * - Optional wait attribution: time spent polling in each explicit wait (FluentWait.until),
+ *   keyed by the framework method that waits, e.g. CartPage.waitForCartToLoad:160
+ *
+ * Configuration:
+ * - browser.commands.enabled   Decorate sessions and count commands (default true)
+ * - browser.commands.budget    Commands a step may issue before it is flagged (default 50, 0 = no budget)
+ * - browser.commands.step.budget.ms  Wall time a step may take on the raw connection before it is
+ *                                   flagged (default 0 = no time budget)
+ * - browser.commands.trace     Write a protocol trace per scenario (default false)
+ * - browser.commands.waits     Attribute commands to explicit waits (default false; walks the
+ *                              stack on every command, meant for CpuThrottleSweep runs)
+ * - browser.commands.path      Report directory (default build/reports/webdriver-commands)
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class WebDriverCommandRecorder implements WebDriverListener {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverCommandRecorder.class);
+    
+    // Calls answered by the client without a protocol round trip, keyed by declaring type and method:
+    // switchTo() is local, but switchTo().window(handle) is a protocol command
+    private static final Set<String> LOCAL_METHODS = Set.of(
+        "WebDriver.manage", "WebDriver.navigate", "WebDriver.switchTo",
+        "WebDriver.Options.timeouts", "WebDriver.Options.window",
+        "WrapsDriver.getWrappedDriver", "WrapsElement.getWrappedElement",
+        "Object.toString", "Object.hashCode", "Object.equals",
+        "RemoteWebElement.toJson", "RemoteWebElement.getId",
+        "HasCapabilities.getCapabilities", "RemoteWebDriver.getCapabilities", "RemoteWebDriver.getSessionId",
+        "HasBiDi.getBiDi", "HasBiDi.maybeGetBiDi", "HasDevTools.getDevTools", "HasDevTools.maybeGetDevTools");
+    private static final Map<Method, String> commandNames = new ConcurrentHashMap<>();
+    
+    private static final String FRAMEWORK_PACKAGE = "com.kestrel.";
+    private static final String FLUENT_WAIT = "org.openqa.selenium.support.ui.FluentWait";
+    private static final String WAIT_UTILS = "com.kestrel.utils.WaitUtils";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    
+    private static final ThreadLocal<StepCommands> currentStep = new ThreadLocal<>();
+    private static final ThreadLocal<StepCommands> lastStep = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    // ===== STATISTICS =====
+    private static final LongAdder totalCommands = new LongAdder();
+    private static final LongAdder totalProtocolNanos = new LongAdder();
+    private static final LongAdder stepsRecorded = new LongAdder();
+    private static final LongAdder stepsOverBudget = new LongAdder();
+    private static final LongAdder stepsOverTimeBudget = new LongAdder();
+    
+    /**
+     * Commands issued by one step (or hook)
+     */
+    public static class StepCommands {
+        public String scenario;
+        public String step;
+        public boolean hook;
+        public int commands;
+        public int errors;
+        public double protocolMs;
+        public long durationMs;
+        public String networkProfile;
+        public double cpuThrottle;
+        public boolean overBudget;
+        public boolean overTimeBudget;
+        public Map<String, Integer> byCommand = new TreeMap<>();
+        public Map<String, WaitTime> waits;
+        
+        final long startNanos = System.nanoTime();
+        long protocolNanos;
+        List<String> trace;
+        
+        // Explicit wait currently polling: consecutive commands from the same wait site
+        String openWait;
+        long openWaitStart;
+        long openWaitEnd;
+        
+        void closeWait() {
+            if (openWait != null) {
+                waits.computeIfAbsent(openWait, site -> new WaitTime()).add((openWaitEnd - openWaitStart) / 1e6);
+                openWait = null;
+            }
+        }
+        
+        /**
+         * Most frequent commands first, e.g. "WebElement.isDisplayed×12, WebDriver.findElement×8"
+         * @param limit Max command types to list
+         * @return Compact breakdown
+         */
+        public String topCommands(int limit) {
+            return byCommand.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> entry.getKey() + "×" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        }
+    }
+    
+    /**
+     * Time spent in one explicit wait site during a step
+     */
+    public static class WaitTime {
+        public int count;
+        public double totalMs;
+        public double maxMs;
+        
+        void add(double ms) {
+            count++;
+            totalMs = Math.round((totalMs + ms) * 10) / 10.0;
+            maxMs = Math.max(maxMs, Math.round(ms * 10) / 10.0);
+        }
+    }
+    
+    // ===== SESSION DECORATION =====
+    
+    /**
+     * Check if command counting is enabled
+     * @return true unless browser.commands.enabled=false
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.commands.enabled", "true"));
+    }
+    
+    /**
+     * Wrap a freshly created session so its commands are counted
+     * @param driver Driver created by DriverManager
+     * @return Decorated driver, or the driver itself when counting is disabled
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new WebDriverCommandRecorder()).decorate(driver);
+    }
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(commandName(method))) {
+            callStarts.get().push(System.nanoTime());
+        }
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, false);
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, true);
+    }
+    
+    /**
+     * Command name with the declaring type, nested types included (e.g., WebDriver.TargetLocator.window)
+     */
+    private static String commandName(Method method) {
+        return commandNames.computeIfAbsent(method, m -> {
+            StringBuilder name = new StringBuilder(m.getName());
+            for (Class<?> type = m.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+                name.insert(0, type.getSimpleName() + ".");
+            }
+            return name.toString();
+        });
+    }
+    
+    private static void record(Method method, boolean failed) {
+        String command = commandName(method);
+        if (LOCAL_METHODS.contains(command)) {
+            return;
+        }
+        Long started = callStarts.get().poll();
+        long now = System.nanoTime();
+        long durationNanos = started == null ? 0 : now - started;
+        totalCommands.increment();
+        totalProtocolNanos.add(durationNanos);
+        
+        StepCommands step = currentStep.get();
+        if (step == null) {
+            return;
+        }
+        step.commands++;
+        step.protocolNanos += durationNanos;
+        step.byCommand.merge(command, 1, Integer::sum);
+        if (failed) {
+            step.errors++;
+        }
+        if (step.waits != null) {
+            attributeWait(step, now - durationNanos, now);
+        }
+        if (step.trace != null) {
+            step.trace.add(String.format(Locale.ROOT, "  +%6d ms %7.1f ms  %s%s", (now - step.startNanos) / 1_000_000,
+                                         durationNanos / 1e6, command, failed ? "  ✗" : ""));
+        }
+    }
+    
+    /**
+     * Extend the open wait, or close it and open the next one, for a command issued at start..end
+     */
+    private static void attributeWait(StepCommands step, long start, long end) {
+        String site = waitSite();
+        if (site != null && site.equals(step.openWait)) {
+            step.openWaitEnd = end;
+            return;
+        }
+        step.closeWait();
+        if (site != null) {
+            step.openWait = site;
+            step.openWaitStart = start;
+            step.openWaitEnd = end;
+        }
+    }
+    
+    /**
+     * Framework method that called FluentWait.until for the command being recorded
+     * @return e.g. "CartPage.waitForCartToLoad:160", or null outside an explicit wait
+     */
+    private static String waitSite() {
+        return stackWalker.walk(frames -> frames
+            .dropWhile(frame -> !(frame.getClassName().equals(FLUENT_WAIT) && frame.getMethodName().equals("until")))
+            .filter(frame -> frame.getClassName().startsWith(FRAMEWORK_PACKAGE) && !frame.getClassName().equals(WAIT_UTILS))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse(null));
+    }
+    
+    // ===== STEP BOUNDARIES =====
+    
+    /**
+     * Start counting commands of a step on this thread
+     * @param scenario Scenario name
+     * @param step Step text or hook name
+     * @param hook true for hooks, which are never flagged
+     */
+    static void beginStep(String scenario, String step, boolean hook) {
+        StepCommands commands = new StepCommands();
+        commands.scenario = scenario;
+        commands.step = step;
+        commands.hook = hook;
+        commands.trace = isTraceEnabled() ? new ArrayList<>() : null;
+        commands.waits = isWaitAttributionEnabled() ? new TreeMap<>() : null;
+        currentStep.set(commands);
+        callStarts.get().clear();
+    }
+    
+    /**
+     * Stop counting and evaluate the step against the budget
+     * @return Commands of the finished step, or null if no step was being counted
+     */
+    static StepCommands finishStep() {
+        StepCommands step = currentStep.get();
+        currentStep.remove();
+        if (step == null) {
+            return null;
+        }
+        step.protocolMs = Math.round(step.protocolNanos / 1e5) / 10.0;
+        step.durationMs = (System.nanoTime() - step.startNanos) / 1_000_000;
+        step.networkProfile = NetworkConditions.currentProfile().name();
+        step.cpuThrottle = CpuThrottling.currentRate();
+        if (step.waits != null) {
+            step.closeWait();
+        }
+        int budget = budget();
+        long timeBudget = timeBudgetMs();
+        if (!step.hook) {
+            stepsRecorded.increment();
+            step.overBudget = budget > 0 && step.commands > budget;
+            step.overTimeBudget = timeBudget > 0 && step.durationMs > timeBudget;
+            lastStep.set(step);
+            if (step.overBudget) {
+                stepsOverBudget.increment();
+                logger.warn("📡 Step over command budget ({} > {}): {} [{}]", step.commands, budget, step.step, step.topCommands(3));
+            }
+            if (step.overTimeBudget) {
+                stepsOverTimeBudget.increment();
+                logger.warn("📡 Step over time budget ({} ms > {} ms, network: {}): {}",
+                           step.durationMs, timeBudget, step.networkProfile, step.step);
+            }
+        }
+        return step;
+    }
+    
+    /**
+     * Flag the step that just finished in the scenario's report if it exceeded a budget
+     * Called from the @AfterStep hook, which runs after the step's commands were counted
+     * @param scenario Current scenario
+     */
+    public static void flagLastStep(Scenario scenario) {
+        StepCommands step = lastStep.get();
+        lastStep.remove();
+        if (step == null) {
+            return;
+        }
+        if (step.overBudget) {
+            scenario.log(String.format(Locale.ROOT, "⚠️ %d WebDriver commands in this step (budget %d), %.0f ms protocol time: %s",
+                                       step.commands, budget(), step.protocolMs, step.topCommands(5)));
+        }
+        if (step.overTimeBudget) {
+            scenario.log(String.format(Locale.ROOT, "⚠️ Step took %d ms (budget %d ms under network profile %s)",
+                                       step.durationMs, timeBudgetMs(), step.networkProfile));
+        }
+    }
+    
+    /**
+     * Text of the step that just finished on this thread, for hooks that label evidence
+     * @return Step text including its keyword, or null if no step was counted
+     */
+    public static String lastStepName() {
+        StepCommands step = lastStep.get();
+        return step == null ? null : step.step;
+    }
+    
+    /**
+     * Command budget per step
+     * @return browser.commands.budget, 0 when steps are never flagged
+     */
+    public static int budget() {
+        try {
+            return Integer.parseInt(EnvironmentManager.getProperty("browser.commands.budget", "50").trim());
+        } catch (NumberFormatException e) {
+            return 50;
+        }
+    }
+    
+    /**
+     * Step time budget under the network profile of this thread's session
+     * @return browser.commands.step.budget.ms scaled by the profile's budget factor, 0 when steps are never flagged
+     */
+    public static long timeBudgetMs() {
+        try {
+            long budget = Long.parseLong(EnvironmentManager.getProperty("browser.commands.step.budget.ms", "0").trim());
+            return NetworkConditions.scaleBudget(budget);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * Check if protocol traces are written
+     * @return true if browser.commands.trace is set
+     */
+    public static boolean isTraceEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.commands.trace", "false"));
+    }
+    
+    /**
+     * Check if commands are attributed to explicit waits
+     * @return true if browser.commands.waits is set
+     */
+    public static boolean isWaitAttributionEnabled() {
+        return Boolean.parseBoolean(EnvironmentManager.getProperty("browser.commands.waits", "false"));
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log total commands, protocol time and steps over budget
+     */
+    public static void logSummary() {
+        long steps = stepsRecorded.sum();
+        if (totalCommands.sum() == 0) {
+            return;
+        }
+        logger.info(String.format(Locale.ROOT, "📡 WebDriver commands: %d total, %.0f ms protocol time, %.1f per step over %d step(s)",
+                                  totalCommands.sum(), totalProtocolNanos.sum() / 1e6,
+                                  steps == 0 ? 0.0 : (double) totalCommands.sum() / steps, steps));
+        if (stepsOverBudget.sum() > 0) {
+            logger.info("   ↳ {} step(s) over the budget of {} commands", stepsOverBudget.sum(), budget());
+        }
+        if (stepsOverTimeBudget.sum() > 0) {
+            logger.info("   ↳ {} step(s) over their time budget", stepsOverTimeBudget.sum());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.kestrel.web.locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kestrel Engine Cached Element Locator
+ * Element locator of one page object field that resolves on first use and caches the element
+ *
+ * Features:
+ * - Lazy resolution: nothing is looked up until the field is first used
+ * - Cached WebElement per DOM generation of the driver, so repeated use of a field
+ *   (waits polling isDisplayed(), getText() after a wait) costs no findElement call
+ * - DOM generation bumped on navigation (DriverManager.navigateTo) and on any stale element,
+ *   so every cached element of that driver is re-resolved on next use
+ * - @Fallback locators tried only after the primary locator fails
+ * - Lists are located on every access (rows come and go without a navigation), with fallbacks
+ *   tried only when the primary locator matches nothing
+ *
+ * Statistics across all pages are logged at global teardown by logSummary().
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class CachedElementLocator implements ElementLocator {
+    private static final Logger logger = LoggerFactory.getLogger(CachedElementLocator.class);
+    
+    // ===== STATISTICS =====
+    private static final LongAdder elementAccesses = new LongAdder();
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder fallbackResolutions = new LongAdder();
+    private static final LongAdder staleRecoveries = new LongAdder();
+    
+    // DOM generation per driver (weak keys: a quit driver must not be kept alive)
+    private static final Map<SearchContext, AtomicLong> generations = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    private final SearchContext searchContext;
+    private final String fieldName;
+    private final List<By> locators = new ArrayList<>();
+    private WebElement cachedElement;
+    private long cachedGeneration;
+    
+    /**
+     * Create locator for a page object field
+     * @param searchContext Driver (or element) to search in
+     * @param field Field annotated with @FindBy and optionally @Fallback
+     */
+    public CachedElementLocator(SearchContext searchContext, Field field) {
+        this.searchContext = searchContext;
+        this.fieldName = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+        locators.add(new Annotations(field).buildBy());
+        
+        Fallback fallback = field.getAnnotation(Fallback.class);
+        if (fallback != null) {
+            FindBy.FindByBuilder builder = new FindBy.FindByBuilder();
+            for (FindBy alternative : fallback.value()) {
+                locators.add(builder.buildIt(alternative, field));
+            }
+        }
+    }
+    
+    /**
+     * Get the element, from cache while the DOM generation is unchanged
+     * @return Located element
+     * @throws NoSuchElementException from the primary locator if no locator matches
+     */
+    @Override
+    public WebElement findElement() {
+        elementAccesses.increment();
+        long generation = generationOf(searchContext).get();
+        if (cachedElement != null && cachedGeneration == generation) {
+            cacheHits.increment();
+            return cachedElement;
+        }
+        
+        NoSuchElementException primaryFailure = null;
+        for (int i = 0; i < locators.size(); i++) {
+            lookups.increment();
+            try {
+                WebElement element = searchContext.findElement(locators.get(i));
+                if (i > 0) {
+                    fallbackResolutions.increment();
+                    logger.debug("🔁 {} resolved by fallback locator {}", fieldName, locators.get(i));
+                }
+                cachedElement = element;
+                cachedGeneration = generation;
+                return element;
+            } catch (NoSuchElementException e) {
+                if (primaryFailure == null) {
+                    primaryFailure = e;
+                }
+            }
+        }
+        cachedElement = null;
+        throw primaryFailure;
+    }
+    
+    /**
+     * Locate all matching elements (never cached)
+     * @return Elements of the first locator that matches any, or an empty list
+     */
+    @Override
+    public List<WebElement> findElements() {
+        for (int i = 0; i < locators.size(); i++) {
+            lookups.increment();
+            List<WebElement> elements = searchContext.findElements(locators.get(i));
+            if (!elements.isEmpty()) {
+                if (i > 0) {
+                    fallbackResolutions.increment();
+                    logger.debug("🔁 {} resolved by fallback locator {}", fieldName, locators.get(i));
+                }
+                return elements;
+            }
+        }
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Drop every cached element of this locator's driver after one of them went stale
+     */
+    void recoverFromStaleElement() {
+        staleRecoveries.increment();
+        logger.debug("♻️ {} went stale, re-resolving cached elements", fieldName);
+        invalidate(searchContext);
+    }
+    
+    @Override
+    public String toString() {
+        return fieldName + " " + locators;
+    }
+    
+    // ===== DOM GENERATION =====
+    
+    /**
+     * Start a new DOM generation: all cached elements of the driver are re-resolved on next use
+     * Called on navigation; stale elements trigger it automatically
+     * @param driver Driver whose document changed
+     */
+    public static void invalidate(SearchContext driver) {
+        if (driver != null) {
+            generationOf(driver).incrementAndGet();
+        }
+    }
+    
+    private static AtomicLong generationOf(SearchContext driver) {
+        return generations.computeIfAbsent(driver, key -> new AtomicLong());
+    }
+    
+    // ===== REPORTING =====
+    
+    /**
+     * Log how many findElement calls the cache saved compared to re-locating on every use
+     */
+    public static void logSummary() {
+        long accesses = elementAccesses.sum();
+        if (accesses == 0) {
+            return;
+        }
+        long saved = cacheHits.sum();
+        logger.info("🎯 Locator cache: {} element accesses, {} findElement calls saved ({}%), {} lookups issued",
+                   accesses, saved, saved * 100 / accesses, lookups.sum());
+        logger.info("   ↳ fallback resolutions: {}, stale re-resolutions: {}",
+                   fallbackResolutions.sum(), staleRecoveries.sum());
+    }
+}
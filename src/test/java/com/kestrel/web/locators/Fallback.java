@@ -0,0 +1,33 @@
+package com.kestrel.web.locators;
+
+import org.openqa.selenium.support.FindBy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Kestrel Engine Fallback Locators
+ * Alternative locators of a page object field, tried in order only after its @FindBy finds nothing
+ *
+ * Usage:
+ *   @FindBy(id = "totalp")
+ *   @Fallback(@FindBy(xpath = "//h3[contains(text(),'Total')]"))
+ *   private WebElement totalPrice;
+ *
+ * Single elements fall back when the primary locator throws NoSuchElementException,
+ * lists when the primary locator matches no element.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Fallback {
+    
+    /**
+     * Alternative locators in the order they are tried
+     */
+    FindBy[] value();
+}
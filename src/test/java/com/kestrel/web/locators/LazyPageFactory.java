@@ -0,0 +1,104 @@
+package com.kestrel.web.locators;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Kestrel Engine Lazy Page Factory
+ * Drop-in replacement for PageFactory.initElements backed by CachedElementLocator
+ *
+ * Page object fields keep their @FindBy annotations and WebElement / List<WebElement> types.
+ * Each WebElement field becomes a proxy that resolves on first use, reuses the cached element
+ * and, when a call hits a stale element, re-resolves once and repeats the call.
+ *
+ * Usage: LazyPageFactory.initElements(driver, this);
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public final class LazyPageFactory {
+    
+    private LazyPageFactory() {
+    }
+    
+    /**
+     * Initialize the @FindBy fields of a page object
+     * @param searchContext Driver to locate elements with
+     * @param page Page object
+     */
+    public static void initElements(SearchContext searchContext, Object page) {
+        PageFactory.initElements(new CachedFieldDecorator(searchContext), page);
+    }
+    
+    /**
+     * Field decorator creating cached locators and stale-recovering element proxies
+     */
+    private static class CachedFieldDecorator extends DefaultFieldDecorator {
+        
+        CachedFieldDecorator(SearchContext searchContext) {
+            super(field -> new CachedElementLocator(searchContext, field));
+        }
+        
+        @Override
+        protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+            return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                new CachedElementHandler((CachedElementLocator) locator));
+        }
+    }
+    
+    /**
+     * Forwards calls to the cached element, re-resolving once if it went stale
+     */
+    private static class CachedElementHandler implements InvocationHandler {
+        private final CachedElementLocator locator;
+        
+        CachedElementHandler(CachedElementLocator locator) {
+            this.locator = locator;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            WebElement element;
+            try {
+                element = locator.findElement();
+            } catch (NoSuchElementException e) {
+                if ("toString".equals(method.getName())) {
+                    return "Proxy element for: " + locator;
+                }
+                throw e;
+            }
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            
+            // Page re-rendered or navigated since the element was cached
+            locator.recoverFromStaleElement();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.FormFiller;
 import com.kestrel.utils.WaitUtils;
 import com.kestrel.utils.AlertHandler;
+import com.kestrel.web.locators.Fallback;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
@@ -60,11 +62,9 @@ public class CartPage {
     
     // Cart Action Elements
     @FindBy(xpath = "//button[text()='Place Order']")
+    @Fallback(@FindBy(xpath = "//button[contains(@class,'btn-success')]"))
     private WebElement placeOrderButton;
     
-    @FindBy(xpath = "//button[contains(@class,'btn-success')]")
-    private WebElement placeOrderButtonAlt;
-    
     @FindBy(id = "orderModal")
     private WebElement checkoutModal;
     
@@ -73,21 +73,17 @@ public class CartPage {
     
     // Total Price Elements
     @FindBy(id = "totalp")
+    @Fallback(@FindBy(xpath = "//h3[@id='totalp']"))
     private WebElement totalPrice;
     
-    @FindBy(xpath = "//h3[@id='totalp']")
-    private WebElement totalPriceAlt;
-    
     @FindBy(xpath = "//h3[contains(text(),'Total:')]")
     private WebElement totalPriceHeader;
     
     // Cart Items
     @FindBy(xpath = "//tr[@class='success']")
+    @Fallback(@FindBy(xpath = "//tbody[@id='tbodyid']/tr"))
     private List<WebElement> cartItems;
     
-    @FindBy(xpath = "//tbody[@id='tbodyid']/tr")
-    private List<WebElement> cartItemsAlt;
-    
     // Empty Cart Elements
     @FindBy(xpath = "//p[contains(text(),'Your cart is empty')]")
     private WebElement emptyCartMessage;
@@ -115,11 +111,9 @@ public class CartPage {
     private WebElement checkoutYearField;
     
     @FindBy(xpath = "//button[text()='Purchase']")
+    @Fallback(@FindBy(xpath = "//button[@onclick='purchaseOrder()']"))
     private WebElement purchaseButton;
     
-    @FindBy(xpath = "//button[@onclick='purchaseOrder()']")
-    private WebElement purchaseButtonAlt;
-    
     @FindBy(xpath = "//div[@id='orderModal']//button[@class='close']")
     private WebElement checkoutCloseButton;
     
@@ -156,7 +150,7 @@ public class CartPage {
     private void initializePage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         
         logger.info("🦅 Initializing CartPage with enhanced validation");
         
@@ -247,7 +241,7 @@ public class CartPage {
                 return false;
             }
             
-            // Primary strategy - search in cart items
+            // Search cart items (tbody rows are the fallback locator)
             for (WebElement item : cartItems) {
                 try {
                     String itemText = item.getText().toLowerCase();
@@ -259,20 +253,7 @@ public class CartPage {
                     logger.debug("⚠️ Error reading cart item: {}", e.getMessage());
                 }
             }
-            
-            // Fallback strategy - search in alternative cart items
-            for (WebElement item : cartItemsAlt) {
-                try {
-                    String itemText = item.getText().toLowerCase();
-                    if (itemText.contains(productName.toLowerCase())) {
-                        logger.debug("✅ Product found in cart (alt): {}", productName);
-                        return true;
-                    }
-                } catch (Exception e) {
-                    logger.debug("⚠️ Error reading alternative cart item: {}", e.getMessage());
-                }
-            }
-            
+
             logger.debug("❌ Product not found in cart: {}", productName);
             return false;
             
@@ -288,20 +269,17 @@ public class CartPage {
      */
     public boolean isCartEmpty() {
         try {
-            // Primary check - cart items list
+            // Primary check - cart items list (fallback locator included)
             boolean itemsEmpty = cartItems.isEmpty();
             
-            // Secondary check - alternative items list
-            boolean altItemsEmpty = cartItemsAlt.isEmpty();
-            
-            // Tertiary check - empty message visibility
+            // Secondary check - empty message visibility
             boolean emptyMessageVisible = isEmptyCartMessageVisible();
             
-            boolean isEmpty = (itemsEmpty && altItemsEmpty) || emptyMessageVisible;
-            
-            logger.debug("🔍 Cart empty check: items={}, alt_items={}, message={}, result={}", 
-                        itemsEmpty, altItemsEmpty, emptyMessageVisible, isEmpty);
+            boolean isEmpty = itemsEmpty || emptyMessageVisible;
             
+            logger.debug("🔍 Cart empty check: items={}, message={}, result={}", 
+                        itemsEmpty, emptyMessageVisible, isEmpty);
+
             return isEmpty;
             
         } catch (Exception e) {
@@ -332,17 +310,11 @@ public class CartPage {
             // Wait for cart to stabilize
             Thread.sleep(500);
             
-            // Primary count
-            int primaryCount = cartItems.size();
-            
-            // Fallback count
-            int altCount = cartItemsAlt.size();
-            
-            // Use the higher count (more reliable)
-            int count = Math.max(primaryCount, altCount);
-            
-            logger.debug("🔢 Cart product count: primary={}, alt={}, final={}", primaryCount, altCount, count);
+            // Fallback rows are only counted when the primary locator finds none
+            int count = cartItems.size();
             
+            logger.debug("🔢 Cart product count: {}", count);
+
             return count;
             
         } catch (Exception e) {
@@ -366,13 +338,6 @@ public class CartPage {
                 }
             }
             
-            // Fallback strategy
-            if (WaitUtils.waitForElementVisible(driver, totalPriceAlt, QUICK_TIMEOUT)) {
-                String price = totalPriceAlt.getText().trim();
-                logger.debug("💰 Total price (alt): {}", price);
-                return price;
-            }
-            
             // Header strategy
             if (WaitUtils.waitForElementVisible(driver, totalPriceHeader, QUICK_TIMEOUT)) {
                 String headerText = totalPriceHeader.getText().trim();
@@ -401,7 +366,7 @@ public class CartPage {
         logger.info("🗑️ Removing product from cart: {}", productName);
         
         try {
-            // Search and remove from primary cart items
+            // Search and remove from cart items
             for (WebElement item : cartItems) {
                 try {
                     if (item.getText().toLowerCase().contains(productName.toLowerCase())) {
@@ -420,24 +385,6 @@ public class CartPage {
                 }
             }
             
-            // Fallback - search in alternative cart items
-            for (WebElement item : cartItemsAlt) {
-                try {
-                    if (item.getText().toLowerCase().contains(productName.toLowerCase())) {
-                        WebElement deleteButton = item.findElement(By.linkText("Delete"));
-                        WaitUtils.waitForElementClickable(driver, deleteButton, ELEMENT_TIMEOUT);
-                        deleteButton.click();
-                        
-                        Thread.sleep(1000);
-                        
-                        logger.info("✅ Product removed from cart (alt): {}", productName);
-                        return;
-                    }
-                } catch (Exception e) {
-                    logger.debug("⚠️ Error processing alternative cart item for removal: {}", e.getMessage());
-                }
-            }
-            
             logger.warn("⚠️ Product not found for removal: {}", productName);
             
         } catch (Exception e) {
@@ -457,7 +404,8 @@ public class CartPage {
             int maxAttempts = 10; // Prevent infinite loop
             
             while (!isCartEmpty() && attempts < maxAttempts) {
-                List<WebElement> currentItems = cartItems.isEmpty() ? cartItemsAlt : cartItems;
+                // Snapshot once instead of re-locating the rows for every call below
+                List<WebElement> currentItems = List.copyOf(cartItems);
                 
                 if (!currentItems.isEmpty()) {
                     try {
@@ -547,28 +495,16 @@ public class CartPage {
         logger.info("📝 Filling checkout form");
         
         try {
-            // Wait for form fields to be available
-            WaitUtils.waitForElementVisible(driver, checkoutNameField, ELEMENT_TIMEOUT);
-            
-            // Fill form fields with validation
-            checkoutNameField.clear();
-            checkoutNameField.sendKeys(name);
-            
-            checkoutCountryField.clear();
-            checkoutCountryField.sendKeys(country);
-            
-            checkoutCityField.clear();
-            checkoutCityField.sendKeys(city);
-            
-            checkoutCreditCardField.clear();
-            checkoutCreditCardField.sendKeys(creditCard);
-            
-            checkoutMonthField.clear();
-            checkoutMonthField.sendKeys(month);
-            
-            checkoutYearField.clear();
-            checkoutYearField.sendKeys(year);
-            
+            // Wait for the order modal, fill and verify all six fields in one script call
+            FormFiller.on(driver)
+                .field("name", checkoutNameField, name)
+                .field("country", checkoutCountryField, country)
+                .field("city", checkoutCityField, city)
+                .secretField("card", checkoutCreditCardField, creditCard)
+                .field("month", checkoutMonthField, month)
+                .field("year", checkoutYearField, year)
+                .fill(ELEMENT_TIMEOUT);
+
             logger.info("✅ Checkout form filled successfully");
             
         } catch (Exception e) {
@@ -1,10 +1,11 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.FormFiller;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
@@ -62,7 +63,7 @@ public class CheckoutPage {
     public CheckoutPage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         waitForModalToAppear();
     }
     
@@ -71,36 +72,34 @@ public class CheckoutPage {
     }
     
     public CheckoutPage fillCheckoutForm(Map<String, String> formData) {
+        FormFiller form = FormFiller.on(driver);
         if (formData.containsKey("name")) {
-            nameField.clear();
-            nameField.sendKeys(formData.get("name"));
+            form.field("name", nameField, formData.get("name"));
         }
         
         if (formData.containsKey("country")) {
-            countryField.clear();
-            countryField.sendKeys(formData.get("country"));
+            form.field("country", countryField, formData.get("country"));
         }
         
         if (formData.containsKey("city")) {
-            cityField.clear();
-            cityField.sendKeys(formData.get("city"));
+            form.field("city", cityField, formData.get("city"));
         }
         
         if (formData.containsKey("card")) {
-            cardField.clear();
-            cardField.sendKeys(formData.get("card"));
+            form.secretField("card", cardField, formData.get("card"));
         }
         
         if (formData.containsKey("month")) {
-            monthField.clear();
-            monthField.sendKeys(formData.get("month"));
+            form.field("month", monthField, formData.get("month"));
         }
         
         if (formData.containsKey("year")) {
-            yearField.clear();
-            yearField.sendKeys(formData.get("year"));
+            form.field("year", yearField, formData.get("year"));
         }
         
+        // All fields set and verified in one script call
+        form.fill(15);
+        
         logger.info("📝 Checkout form filled");
         return this;
     }
@@ -1,11 +1,12 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.EnvironmentManager;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
@@ -101,7 +102,7 @@ public class HomePage {
     public HomePage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         logger.debug("🦅 HomePage initialized");
     }
     
@@ -110,7 +111,7 @@ public class HomePage {
      * @return Current HomePage instance
      */
     public HomePage navigateToHome() {
-        driver.get("https://www.demoblaze.com");
+        driver.get(EnvironmentManager.getBaseUrl());
         waitForPageLoad();
         logger.info("🏠 Navigated to Demoblaze homepage");
         return this;
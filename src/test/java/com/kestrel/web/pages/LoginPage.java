@@ -1,12 +1,14 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.FormFiller;
 import com.kestrel.utils.WaitUtils;
 import com.kestrel.utils.AlertHandler;
+import com.kestrel.web.locators.Fallback;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
@@ -57,11 +59,9 @@ public class LoginPage {
     private WebElement passwordField;
     
     @FindBy(xpath = "//button[text()='Log in']")
+    @Fallback(@FindBy(xpath = "//div[@id='logInModal']//button[contains(@class,'btn-primary')]"))
     private WebElement loginSubmitButton;
     
-    @FindBy(xpath = "//div[@id='logInModal']//button[contains(@class,'btn-primary')]")
-    private WebElement loginSubmitButtonAlt;
-    
     @FindBy(xpath = "//div[@id='logInModal']//button[@class='close']")
     private WebElement loginCloseButton;
     
@@ -101,7 +101,7 @@ public class LoginPage {
     private void initializePage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         
         logger.info("🦅 Initializing LoginPage with enhanced validation");
         
@@ -179,30 +179,10 @@ public class LoginPage {
         logger.info("👤 Entering username: {}", username);
         
         try {
-            // Enhanced element readiness validation
-            WaitUtils.waitForElementReady(driver, usernameField, ELEMENT_TIMEOUT);
-            
-            // Clear field with validation
-            usernameField.clear();
-            
-            // Verify field is actually cleared
-            WaitUtils.waitForCondition(
-                driver -> usernameField.getAttribute("value").isEmpty(),
-                QUICK_TIMEOUT
-            );
-            
-            // Enter username with validation
-            usernameField.sendKeys(username);
-            
-            // Verify username was entered correctly
-            String enteredValue = usernameField.getAttribute("value");
-            if (!username.equals(enteredValue)) {
-                logger.warn("⚠️ Username verification failed. Expected: {}, Got: {}", username, enteredValue);
-                // Retry once
-                usernameField.clear();
-                Thread.sleep(200);
-                usernameField.sendKeys(username);
-            }
+            // Set, event-dispatch and verify in one script call
+            FormFiller.on(driver)
+                .field("username", usernameField, username)
+                .fill(ELEMENT_TIMEOUT);
             
             logger.debug("✅ Username entered and verified: {}", username);
             
@@ -223,30 +203,10 @@ public class LoginPage {
         logger.info("🔑 Entering password: [HIDDEN]");
         
         try {
-            // Enhanced element readiness validation
-            WaitUtils.waitForElementReady(driver, passwordField, ELEMENT_TIMEOUT);
-            
-            // Clear field with validation
-            passwordField.clear();
-            
-            // Verify field is actually cleared
-            WaitUtils.waitForCondition(
-                driver -> passwordField.getAttribute("value").isEmpty(),
-                QUICK_TIMEOUT
-            );
-            
-            // Enter password with validation
-            passwordField.sendKeys(password);
-            
-            // Verify password was entered (without logging actual value)
-            String enteredValue = passwordField.getAttribute("value");
-            if (enteredValue.length() != password.length()) {
-                logger.warn("⚠️ Password length verification failed. Expected: {}, Got: {}", password.length(), enteredValue.length());
-                // Retry once
-                passwordField.clear();
-                Thread.sleep(200);
-                passwordField.sendKeys(password);
-            }
+            // Set, event-dispatch and verify in one script call
+            FormFiller.on(driver)
+                .secretField("password", passwordField, password)
+                .fill(ELEMENT_TIMEOUT);
             
             logger.debug("✅ Password entered and verified (length: {})", password.length());
             
@@ -258,6 +218,31 @@ public class LoginPage {
         return this;
     }
     
+    /**
+     * Enter username and password in a single script call
+     * @param username Username to enter
+     * @param password Password to enter
+     * @return Current LoginPage instance
+     */
+    public LoginPage enterCredentials(String username, String password) {
+        logger.info("👤 Entering credentials for user: {}", username);
+        
+        try {
+            FormFiller.on(driver)
+                .field("username", usernameField, username)
+                .secretField("password", passwordField, password)
+                .fill(ELEMENT_TIMEOUT);
+            
+            logger.debug("✅ Credentials entered and verified (password length: {})", password.length());
+            
+        } catch (Exception e) {
+            logger.error("❌ Failed to enter credentials: {}", e.getMessage());
+            throw new RuntimeException("Credentials entry failed", e);
+        }
+        
+        return this;
+    }
+    
     /**
      * Enhanced login submit with comprehensive result handling
      * @return HomePage instance if successful
@@ -351,16 +336,8 @@ public class LoginPage {
         logger.info("🔐 Performing login operation for user: {}", username);
         
         try {
-            // Enhanced login sequence with validation
-            enterUsername(username);
-            
-            // Brief pause between fields for stability
-            Thread.sleep(200);
-            
-            enterPassword(password);
-            
-            // Brief pause before submit for form validation
-            Thread.sleep(300);
+            // Both fields set and verified in one round trip
+            enterCredentials(username, password);
             
             return clickLoginSubmit();
             
@@ -389,10 +366,7 @@ public class LoginPage {
         logger.info("🎯 Attempting login for user: {}", username);
         
         try {
-            enterUsername(username);
-            Thread.sleep(200);
-            enterPassword(password);
-            Thread.sleep(300);
+            enterCredentials(username, password);
             
             // Click submit and evaluate result
             WaitUtils.waitForElementClickable(driver, loginSubmitButton, ELEMENT_TIMEOUT);
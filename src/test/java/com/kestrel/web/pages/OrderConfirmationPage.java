@@ -1,10 +1,10 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
@@ -39,7 +39,7 @@ public class OrderConfirmationPage {
     public OrderConfirmationPage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         waitForConfirmation();
     }
     
@@ -3,10 +3,11 @@ package com.kestrel.web.pages;
 import com.kestrel.utils.DriverManager;
 import com.kestrel.utils.WaitUtils;
 import com.kestrel.utils.AlertHandler;
+import com.kestrel.web.locators.Fallback;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
@@ -44,33 +45,25 @@ public class ProductPage {
     
     // Product Information Elements - Enhanced with multiple locator strategies
     @FindBy(xpath = "//h2[@class='name']")
+    @Fallback(@FindBy(xpath = "//h2[contains(@class,'name')]"))
     private WebElement productTitle;
     
-    @FindBy(xpath = "//h2[contains(@class,'name')]")
-    private WebElement productTitleAlt;
-    
     @FindBy(xpath = "//h3[@class='price-container']")
+    @Fallback(@FindBy(xpath = "//h3[contains(@class,'price')]"))
     private WebElement productPrice;
     
-    @FindBy(xpath = "//h3[contains(@class,'price')]")
-    private WebElement productPriceAlt;
-    
     @FindBy(id = "more-information")
     private WebElement productDescription;
     
     @FindBy(xpath = "//div[@id='more-information']//p")
+    @Fallback(@FindBy(xpath = "//div[contains(@class,'item active')]//p"))
     private WebElement productDescriptionText;
     
-    @FindBy(xpath = "//div[contains(@class,'item active')]//p")
-    private WebElement productDescriptionAlt;
-    
     // Action Elements
     @FindBy(xpath = "//a[text()='Add to cart']")
+    @Fallback(@FindBy(xpath = "//a[contains(@class,'btn') and contains(text(),'Add to cart')]"))
     private WebElement addToCartButton;
     
-    @FindBy(xpath = "//a[contains(@class,'btn') and contains(text(),'Add to cart')]")
-    private WebElement addToCartButtonAlt;
-    
     @FindBy(linkText = "Add to cart")
     private WebElement addToCartButtonLink;
     
@@ -114,7 +107,7 @@ public class ProductPage {
     private void initializePage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         
         logger.info("🦅 Initializing ProductPage with enhanced validation");
         
@@ -246,13 +239,6 @@ public class ProductPage {
                 }
             }
             
-            // Fallback strategy
-            if (productTitleAlt.isDisplayed()) {
-                String name = productTitleAlt.getText().trim();
-                logger.debug("📝 Product name (alt): {}", name);
-                return name;
-            }
-            
             logger.warn("⚠️ Could not retrieve product name");
             return "Unknown Product";
             
@@ -277,13 +263,6 @@ public class ProductPage {
                 }
             }
             
-            // Fallback strategy
-            if (WaitUtils.waitForElementVisible(driver, productPriceAlt, QUICK_TIMEOUT)) {
-                String price = productPriceAlt.getText().trim();
-                logger.debug("💰 Product price (alt): {}", price);
-                return price;
-            }
-            
             logger.warn("⚠️ Could not retrieve product price");
             return "Price not available";
             
@@ -317,13 +296,6 @@ public class ProductPage {
                 }
             }
             
-            // Fallback strategy - alternative description
-            if (WaitUtils.waitForElementVisible(driver, productDescriptionAlt, QUICK_TIMEOUT)) {
-                String description = productDescriptionAlt.getText().trim();
-                logger.debug("📝 Product description (alt): {} chars", description.length());
-                return description;
-            }
-            
             logger.debug("ℹ️ No product description found");
             return "Description not available";
             
@@ -392,12 +364,6 @@ public class ProductPage {
                 return true;
             }
             
-            // Fallback button check
-            if (WaitUtils.waitForElementClickable(driver, addToCartButtonAlt, 1)) {
-                logger.debug("✅ Add to cart button (alt) is enabled and clickable");
-                return true;
-            }
-            
             // Link button check
             if (WaitUtils.waitForElementClickable(driver, addToCartButtonLink, 1)) {
                 logger.debug("✅ Add to cart button (link) is enabled and clickable");
@@ -552,14 +518,6 @@ public class ProductPage {
         return navbar;
     }
     
-    /**
-     * Get alternative add to cart button for fallback operations
-     * @return WebElement representing the alternative add to cart button
-     */
-    public WebElement getAddToCartButtonAlt() {
-        return addToCartButtonAlt;
-    }
-    
     /**
      * Get add to cart link button for link-based operations
      * @return WebElement representing the add to cart link
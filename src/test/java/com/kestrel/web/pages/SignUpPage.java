@@ -1,12 +1,14 @@
 package com.kestrel.web.pages;
 
 import com.kestrel.utils.DriverManager;
+import com.kestrel.utils.FormFiller;
 import com.kestrel.utils.WaitUtils;
 import com.kestrel.utils.AlertHandler;
+import com.kestrel.web.locators.Fallback;
+import com.kestrel.web.locators.LazyPageFactory;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.TimeoutException;
@@ -54,11 +56,9 @@ public class SignUpPage {
     private WebElement passwordField;
     
     @FindBy(xpath = "//button[text()='Sign up']")
+    @Fallback(@FindBy(xpath = "//div[@id='signInModal']//button[contains(@class,'btn-primary')]"))
     private WebElement signUpButton;
     
-    @FindBy(xpath = "//div[@id='signInModal']//button[contains(@class,'btn-primary')]")
-    private WebElement signUpButtonAlt;
-    
     @FindBy(xpath = "//div[@id='signInModal']//button[@class='close']")
     private WebElement signUpCloseButton;
     
@@ -97,7 +97,7 @@ public class SignUpPage {
     private void initializePage() {
         this.driver = DriverManager.getDriver();
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        PageFactory.initElements(driver, this);
+        LazyPageFactory.initElements(driver, this);
         
         logger.info("🦅 Initializing SignUpPage with enhanced validation");
         
@@ -175,30 +175,10 @@ public class SignUpPage {
         logger.info("👤 Entering signup username: {}", username);
         
         try {
-            // Enhanced element readiness validation
-            WaitUtils.waitForElementReady(driver, usernameField, ELEMENT_TIMEOUT);
-            
-            // Clear field with validation
-            usernameField.clear();
-            
-            // Verify field is actually cleared
-            WaitUtils.waitForCondition(
-                driver -> usernameField.getAttribute("value").isEmpty(),
-                QUICK_TIMEOUT
-            );
-            
-            // Enter username with validation
-            usernameField.sendKeys(username);
-            
-            // Verify username was entered correctly
-            String enteredValue = usernameField.getAttribute("value");
-            if (!username.equals(enteredValue)) {
-                logger.warn("⚠️ Username verification failed. Expected: {}, Got: {}", username, enteredValue);
-                // Retry once
-                usernameField.clear();
-                Thread.sleep(200);
-                usernameField.sendKeys(username);
-            }
+            // Set, event-dispatch and verify in one script call
+            FormFiller.on(driver)
+                .field("username", usernameField, username)
+                .fill(ELEMENT_TIMEOUT);
             
             logger.debug("✅ Signup username entered and verified: {}", username);
             
@@ -219,30 +199,10 @@ public class SignUpPage {
         logger.info("🔑 Entering signup password: [HIDDEN]");
         
         try {
-            // Enhanced element readiness validation
-            WaitUtils.waitForElementReady(driver, passwordField, ELEMENT_TIMEOUT);
-            
-            // Clear field with validation
-            passwordField.clear();
-            
-            // Verify field is actually cleared
-            WaitUtils.waitForCondition(
-                driver -> passwordField.getAttribute("value").isEmpty(),
-                QUICK_TIMEOUT
-            );
-            
-            // Enter password with validation
-            passwordField.sendKeys(password);
-            
-            // Verify password was entered (without logging actual value)
-            String enteredValue = passwordField.getAttribute("value");
-            if (enteredValue.length() != password.length()) {
-                logger.warn("⚠️ Password length verification failed. Expected: {}, Got: {}", password.length(), enteredValue.length());
-                // Retry once
-                passwordField.clear();
-                Thread.sleep(200);
-                passwordField.sendKeys(password);
-            }
+            // Set, event-dispatch and verify in one script call
+            FormFiller.on(driver)
+                .secretField("password", passwordField, password)
+                .fill(ELEMENT_TIMEOUT);
             
             logger.debug("✅ Signup password entered and verified (length: {})", password.length());
             
@@ -254,6 +214,31 @@ public class SignUpPage {
         return this;
     }
     
+    /**
+     * Enter username and password in a single script call
+     * @param username Username to enter
+     * @param password Password to enter
+     * @return Current SignUpPage instance
+     */
+    public SignUpPage enterCredentials(String username, String password) {
+        logger.info("👤 Entering signup credentials for user: {}", username);
+        
+        try {
+            FormFiller.on(driver)
+                .field("username", usernameField, username)
+                .secretField("password", passwordField, password)
+                .fill(ELEMENT_TIMEOUT);
+            
+            logger.debug("✅ Signup credentials entered and verified (password length: {})", password.length());
+            
+        } catch (Exception e) {
+            logger.error("❌ Failed to enter signup credentials: {}", e.getMessage());
+            throw new RuntimeException("Signup credentials entry failed", e);
+        }
+        
+        return this;
+    }
+    
     /**
      * Enhanced signup submit with comprehensive result handling
      * @return HomePage instance
@@ -342,16 +327,8 @@ public class SignUpPage {
         logger.info("📝 Performing signup operation for user: {}", username);
         
         try {
-            // Enhanced signup sequence with validation
-            enterUsername(username);
-            
-            // Brief pause between fields for stability
-            Thread.sleep(200);
-            
-            enterPassword(password);
-            
-            // Brief pause before submit for form validation
-            Thread.sleep(300);
+            // Both fields set and verified in one round trip
+            enterCredentials(username, password);
             
             return clickSignUpSubmit();
             
@@ -380,10 +357,7 @@ public class SignUpPage {
         logger.info("🎯 Attempting signup for user: {}", username);
         
         try {
-            enterUsername(username);
-            Thread.sleep(200);
-            enterPassword(password);
-            Thread.sleep(300);
+            enterCredentials(username, password);
             
             // Click submit and evaluate result
             WaitUtils.waitForElementClickable(driver, signUpButton, ELEMENT_TIMEOUT);
@@ -3,7 +3,6 @@ package com.kestrel.web.stepdefs;
 import com.kestrel.utils.AlertHandler;
 import com.kestrel.utils.WaitUtils;
 import com.kestrel.utils.DriverManager;
-import com.kestrel.utils.ScreenshotCapture;
 import com.kestrel.web.pages.*;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
@@ -80,11 +79,7 @@ public class WebStepDefinitions {
      */
     private void handleStepFailure(String stepDescription, Exception e) {
         try {
-            // Capture evidence
-            byte[] screenshot = ScreenshotCapture.captureScreenshot();
-            if (screenshot != null) {
-                logger.info("📸 Evidence captured for failed step: {}", stepDescription);
-            }
+            // Evidence is captured by Hooks.afterWebStep according to evidence.policy
             
             // Clean up any alerts
             AlertHandler.cleanupAnyAlerts(DriverManager.getDriver());
@@ -0,0 +1,215 @@
+package com.kestrel.web.stubs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Kestrel Engine Demoblaze Backend
+ * In-memory emulation of the api.demoblaze.com JSON endpoints used by the store front end
+ *
+ * Endpoints (request and response shapes as served by the live API):
+ * - entries, pagination, bycat, view     Catalog from /demoblaze-stub/catalog.json
+ * - signup, login, check                 Users and auth tokens (passwords arrive base64 encoded)
+ * - addtocart, viewcart, deleteitem,     Carts keyed by user (flag=true, cookie is the auth token)
+ *   deletecart                           or by guest cookie (flag=false)
+ *
+ * State lives for the lifetime of the server, like the shared live backend. Seed users make
+ * accounts the features expect (e.g. testuser) exist from the start.
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class DemoblazeBackend {
+    private static final Logger logger = LoggerFactory.getLogger(DemoblazeBackend.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String CATALOG_RESOURCE = "/demoblaze-stub/catalog.json";
+    private static final int PAGE_SIZE = 9;
+    
+    private final List<Map<String, Object>> catalog;
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> cartEntries = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Create backend with the bundled catalog
+     * @param seedUsers Comma separated username:password pairs that exist from the start
+     */
+    public DemoblazeBackend(String seedUsers) {
+        try (InputStream in = DemoblazeBackend.class.getResourceAsStream(CATALOG_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("❌ Catalog not found on classpath: " + CATALOG_RESOURCE);
+            }
+            this.catalog = mapper.readValue(in, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to read Demoblaze catalog: " + e.getMessage(), e);
+        }
+        for (String pair : seedUsers.split(",")) {
+            String[] credentials = pair.trim().split(":", 2);
+            if (credentials.length == 2 && !credentials[0].isEmpty()) {
+                passwords.put(credentials[0], encode(credentials[1]));
+            }
+        }
+        logger.debug("🛍️ Demoblaze backend ready: {} products, {} seed user(s)", catalog.size(), passwords.size());
+    }
+    
+    /**
+     * Answer one API call
+     * @param endpoint Endpoint name without slashes (e.g., "login")
+     * @param body JSON request body, empty for GET
+     * @return Response object serialized as JSON by the server, or null for an unknown endpoint
+     */
+    public Object handle(String endpoint, String body) {
+        Map<String, Object> request = parse(body);
+        return switch (endpoint) {
+            case "entries" -> page(0);
+            case "pagination" -> page(Integer.parseInt(text(request, "id")));
+            case "bycat" -> Map.of("Items", catalog.stream().filter(item -> item.get("cat").equals(text(request, "cat"))).toList());
+            case "view" -> product(Integer.parseInt(text(request, "id")));
+            case "signup" -> signUp(text(request, "username"), text(request, "password"));
+            case "login" -> login(text(request, "username"), text(request, "password"));
+            case "check" -> check(text(request, "token"));
+            case "addtocart" -> addToCart(request);
+            case "viewcart" -> viewCart(request);
+            case "deleteitem" -> deleteItem(text(request, "id"));
+            case "deletecart" -> deleteCart(text(request, "cookie"));
+            default -> null;
+        };
+    }
+    
+    // ===== CATALOG =====
+    
+    private Map<String, Object> page(int afterId) {
+        List<Map<String, Object>> items = catalog.stream()
+            .filter(item -> ((Number) item.get("id")).intValue() > afterId)
+            .limit(PAGE_SIZE)
+            .toList();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("Items", items);
+        if (!items.isEmpty() && afterId == 0) {
+            response.put("LastEvaluatedKey", Map.of("id", String.valueOf(items.get(items.size() - 1).get("id"))));
+        }
+        return response;
+    }
+    
+    private Object product(int id) {
+        return catalog.stream()
+            .filter(item -> ((Number) item.get("id")).intValue() == id)
+            .findFirst()
+            .map(item -> (Object) item)
+            .orElse(Map.of("errorMessage", "Product does not exist."));
+    }
+    
+    // ===== USERS =====
+    
+    private Object signUp(String username, String password) {
+        if (username.isEmpty()) {
+            return Map.of("errorMessage", "Please fill out Username and Password.");
+        }
+        if (passwords.putIfAbsent(username, password) != null) {
+            return Map.of("errorMessage", "This user already exist.");
+        }
+        return "";
+    }
+    
+    private Object login(String username, String password) {
+        String expected = passwords.get(username);
+        if (expected == null) {
+            return Map.of("errorMessage", "User does not exist.");
+        }
+        if (!expected.equals(password)) {
+            return Map.of("errorMessage", "Wrong password.");
+        }
+        String token = Base64.getEncoder().encodeToString((username + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        tokens.put(token, username);
+        return "Auth_token: " + token;
+    }
+    
+    private Object check(String token) {
+        String username = tokens.get(token);
+        if (username == null) {
+            return Map.of("errorMessage", "Token has expired.");
+        }
+        return Map.of("Item", Map.of("token", token, "username", username));
+    }
+    
+    // ===== CART =====
+    
+    private Object addToCart(Map<String, Object> request) {
+        String owner = cartOwner(request);
+        if (owner == null) {
+            return Map.of("errorMessage", "Token has expired.");
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("cookie", owner);
+        entry.put("id", text(request, "id").isEmpty() ? UUID.randomUUID().toString() : text(request, "id"));
+        entry.put("prod_id", Integer.parseInt(text(request, "prod_id")));
+        cartEntries.add(entry);
+        return "";
+    }
+    
+    private Object viewCart(Map<String, Object> request) {
+        String owner = cartOwner(request);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map<String, Object> entry : cartEntries) {
+            if (entry.get("cookie").equals(owner)) {
+                items.add(entry);
+            }
+        }
+        return Map.of("Items", items);
+    }
+    
+    private Object deleteItem(String id) {
+        cartEntries.removeIf(entry -> entry.get("id").equals(id));
+        return "Item deleted.";
+    }
+    
+    private Object deleteCart(String cookie) {
+        String owner = tokens.getOrDefault(cookie, cookie);
+        cartEntries.removeIf(entry -> entry.get("cookie").equals(owner));
+        return "";
+    }
+    
+    /**
+     * Logged-in carts belong to the user behind the token, guest carts to the guest cookie
+     */
+    private String cartOwner(Map<String, Object> request) {
+        String cookie = text(request, "cookie");
+        return Boolean.TRUE.equals(request.get("flag")) ? tokens.get(cookie) : cookie;
+    }
+    
+    // ===== HELPERS =====
+    
+    private static Map<String, Object> parse(String body) {
+        if (body == null || body.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return mapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Request body is not a JSON object: " + e.getMessage(), e);
+        }
+    }
+    
+    private static String text(Map<String, Object> request, String key) {
+        Object value = request.get(key);
+        return value == null ? "" : String.valueOf(value);
+    }
+    
+    private static String encode(String password) {
+        return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
+    }
+}
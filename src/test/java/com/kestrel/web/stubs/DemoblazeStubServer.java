@@ -0,0 +1,267 @@
+package com.kestrel.web.stubs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kestrel.utils.EnvironmentManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kestrel Engine Demoblaze Stub Server
+ * In-process stand-in for www.demoblaze.com and api.demoblaze.com for hermetic web runs
+ *
+ * Features:
+ * - Loopback-only server on a random free port, no network needed
+ * - Store front end (index.html, prod.html, cart.html) with the live site's markup, ids and alerts,
+ *   bundled under /demoblaze-stub on the classpath
+ * - A recorded snapshot of the live front end can be served instead (web.stub.root); its
+ *   references to https://api.demoblaze.com are rewritten to this server
+ * - JSON backend under /api emulated in memory by DemoblazeBackend
+ * - Product images without a recorded file are answered with a generated placeholder
+ * - Optional fixed latency on API calls to mimic the live backend
+ * - Started lazily on first use, stopped by Hooks.globalTeardown()
+ *
+ * Configuration (config/*.properties or -D):
+ * - web.mode=local            Point base.url at this server (EnvironmentManager.getBaseUrl())
+ * - web.stub.root             Directory of a recorded front end snapshot (default: bundled stand-in)
+ * - web.stub.users            Seed users as username:password pairs (default testuser:testpass)
+ * - web.stub.latency.ms       Fixed latency added to every API response
+ *
+ * @author Kestrel Engine
+ * @version 1.0.0
+ */
+public class DemoblazeStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(DemoblazeStubServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String BUNDLED_ROOT = "/demoblaze-stub";
+    private static final String LIVE_API_URL = "https://api.demoblaze.com";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "html", "text/html; charset=utf-8",
+        "js", "application/javascript; charset=utf-8",
+        "css", "text/css; charset=utf-8",
+        "json", "application/json",
+        "png", "image/png",
+        "jpg", "image/jpeg",
+        "svg", "image/svg+xml",
+        "ico", "image/x-icon");
+    private static DemoblazeStubServer instance;
+    
+    private final DemoblazeBackend backend;
+    private final Path snapshotRoot;
+    private final long latencyMs;
+    private final AtomicLong pagesServed = new AtomicLong();
+    private final AtomicLong apiCalls = new AtomicLong();
+    private final AtomicLong placeholderImages = new AtomicLong();
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Create stub server with explicit settings
+     * @param backend Backend answering /api calls
+     * @param snapshotRoot Recorded front end directory, or null for the bundled stand-in
+     * @param latencyMs Fixed latency in milliseconds added to API calls
+     */
+    public DemoblazeStubServer(DemoblazeBackend backend, Path snapshotRoot, long latencyMs) {
+        this.backend = backend;
+        this.snapshotRoot = snapshotRoot;
+        this.latencyMs = latencyMs;
+    }
+    
+    /**
+     * Get the shared stub server configured from the environment, starting it on first use
+     * @return Running stub server
+     */
+    public static synchronized DemoblazeStubServer getInstance() {
+        if (instance == null) {
+            String root = EnvironmentManager.getProperty("web.stub.root", "").trim();
+            DemoblazeStubServer stub = new DemoblazeStubServer(
+                new DemoblazeBackend(EnvironmentManager.getProperty("web.stub.users", "testuser:testpass")),
+                root.isEmpty() ? null : Path.of(root),
+                Long.parseLong(EnvironmentManager.getProperty("web.stub.latency.ms", "0")));
+            stub.start();
+            instance = stub;
+        }
+        return instance;
+    }
+    
+    /**
+     * Stop the shared stub server if it was started
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+    
+    /**
+     * Start listening on a random loopback port
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "kestrel-demoblaze-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/api/", this::handleApi);
+            server.createContext("/", this::handleStatic);
+            server.start();
+            logger.info("🛍️ Kestrel Demoblaze stand-in serving at: {} (front end: {}, API latency: {}ms)",
+                       getBaseUrl(), snapshotRoot != null ? snapshotRoot : "bundled", latencyMs);
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to start Demoblaze stub server: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stop the server and report traffic statistics
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("🛍️ Demoblaze stand-in stopped (pages: {}, API calls: {}, placeholder images: {})",
+                   pagesServed.get(), apiCalls.get(), placeholderImages.get());
+    }
+    
+    /**
+     * Get base URL of the running server
+     * @return Base URL (e.g., http://127.0.0.1:54321)
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("❌ Demoblaze stub server is not running");
+        }
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+    
+    // ===== REQUEST HANDLING =====
+    
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try {
+            String endpoint = exchange.getRequestURI().getPath().substring("/api/".length()).replace("/", "");
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            injectLatency();
+            apiCalls.incrementAndGet();
+            
+            Object response;
+            try {
+                response = backend.handle(endpoint, body);
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, "application/json", mapper.writeValueAsBytes(Map.of("errorMessage", e.getMessage())));
+                return;
+            }
+            if (response == null) {
+                respond(exchange, 404, "application/json", mapper.writeValueAsBytes(Map.of("errorMessage", "Unknown endpoint " + endpoint)));
+                return;
+            }
+            respond(exchange, 200, "application/json", mapper.writeValueAsBytes(response));
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/") || path.isEmpty()) {
+                path = "/index.html";
+            }
+            if (path.contains("..")) {
+                respond(exchange, 400, "text/plain", new byte[0]);
+                return;
+            }
+            
+            String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+            byte[] content = read(path);
+            if (content == null && path.startsWith("/imgs/")) {
+                placeholderImages.incrementAndGet();
+                respond(exchange, 200, CONTENT_TYPES.get("svg"), placeholder(path));
+                return;
+            }
+            if (content == null) {
+                respond(exchange, 404, "text/plain", ("Not found: " + path).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            
+            if (extension.equals("html") || extension.equals("js")) {
+                // Recorded pages call the live API host: send them to the emulated backend instead
+                content = new String(content, StandardCharsets.UTF_8)
+                    .replace(LIVE_API_URL, getBaseUrl() + "/api")
+                    .getBytes(StandardCharsets.UTF_8);
+            }
+            if (extension.equals("html")) {
+                pagesServed.incrementAndGet();
+            }
+            respond(exchange, 200, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"), content);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private byte[] read(String path) throws IOException {
+        if (snapshotRoot != null) {
+            Path file = snapshotRoot.resolve(path.substring(1)).normalize();
+            if (file.startsWith(snapshotRoot) && Files.isRegularFile(file)) {
+                return Files.readAllBytes(file);
+            }
+        }
+        try (InputStream in = DemoblazeStubServer.class.getResourceAsStream(BUNDLED_ROOT + path)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+    
+    private static byte[] placeholder(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1).replaceAll("[^A-Za-z0-9_.-]", "");
+        return ("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"400\" height=\"400\">"
+            + "<rect width=\"100%\" height=\"100%\" fill=\"#eceeef\"/>"
+            + "<text x=\"50%\" y=\"50%\" text-anchor=\"middle\" font-family=\"sans-serif\" font-size=\"20\" fill=\"#55595c\">"
+            + name + "</text></svg>").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private void injectLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,2 @@
+// Same contract as the live site's config: the stub server answers the API under /api
+var API_URL = window.location.origin + "/api";
@@ -0,0 +1,367 @@
+// Kestrel Engine Demoblaze stand-in front end
+// Reproduces the live store's behaviour (Bootstrap modals, alerts, sweet alert, cookies) without jQuery
+
+var SHELL = `
+    <nav class="navbar navbar-toggleable-md bg-inverse" id="narvbarx">
+        <a class="navbar-brand" id="nava" href="index.html">PRODUCT STORE</a>
+        <div class="navbar-collapse" id="navbarExample">
+            <ul class="navbar-nav ml-auto">
+                <li class="nav-item active"><a class="nav-link" href="index.html">Home <span class="sr-only">(current)</span></a></li>
+                <li class="nav-item"><a class="nav-link" href="#" data-toggle="modal" data-target="#exampleModal">Contact</a></li>
+                <li class="nav-item"><a class="nav-link" href="#" data-toggle="modal" data-target="#videoModal">About us</a></li>
+                <li class="nav-item"><a class="nav-link" href="cart.html" id="cartur">Cart</a></li>
+                <li class="nav-item"><a class="nav-link" href="#" id="login2" data-toggle="modal" data-target="#logInModal">Log in</a></li>
+                <li class="nav-item"><a class="nav-link" href="#" id="logout2" onclick="logOut()" style="display: none;">Log out</a></li>
+                <li class="nav-item"><a class="nav-link" href="#" id="nameofuser" style="display: none;"></a></li>
+                <li class="nav-item"><a class="nav-link" href="#" id="signin2" data-toggle="modal" data-target="#signInModal">Sign up</a></li>
+            </ul>
+        </div>
+    </nav>
+
+    <!-- Contact -->
+    <div class="modal fade" id="exampleModal" tabindex="-1" role="dialog" aria-hidden="true">
+        <div class="modal-dialog" role="document">
+            <div class="modal-content">
+                <div class="modal-header">
+                    <h5 class="modal-title" id="exampleModalLabel">New message</h5>
+                    <button type="button" class="close" data-dismiss="modal" aria-label="Close"><span aria-hidden="true">×</span></button>
+                </div>
+                <div class="modal-body">
+                    <form>
+                        <div class="form-group"><label for="recipient-email" class="form-control-label">Contact Email:</label><input type="text" class="form-control" id="recipient-email"></div>
+                        <div class="form-group"><label for="recipient-name" class="form-control-label">Contact Name:</label><input type="text" class="form-control" id="recipient-name"></div>
+                        <div class="form-group"><label for="message-text" class="form-control-label">Message:</label><textarea class="form-control" id="message-text"></textarea></div>
+                    </form>
+                </div>
+                <div class="modal-footer">
+                    <button type="button" class="btn btn-secondary" data-dismiss="modal">Close</button>
+                    <button type="button" class="btn btn-primary" onclick="send()">Send message</button>
+                </div>
+            </div>
+        </div>
+    </div>
+
+    <!-- About us -->
+    <div class="modal fade" id="videoModal" tabindex="-1" role="dialog" aria-hidden="true">
+        <div class="modal-dialog" role="document">
+            <div class="modal-content">
+                <div class="modal-header">
+                    <h5 class="modal-title" id="videoModalLabel">About us</h5>
+                    <button type="button" class="close" data-dismiss="modal" aria-label="Close"><span aria-hidden="true">×</span></button>
+                </div>
+                <div class="modal-body"><p>Local Demoblaze stand-in: the product video is not served.</p></div>
+                <div class="modal-footer"><button type="button" class="btn btn-secondary" data-dismiss="modal">Close</button></div>
+            </div>
+        </div>
+    </div>
+
+    <!-- Log in -->
+    <div class="modal fade" id="logInModal" tabindex="-1" role="dialog" aria-labelledby="logInModalLabel" aria-hidden="true">
+        <div class="modal-dialog" role="document">
+            <div class="modal-content">
+                <div class="modal-header">
+                    <h5 class="modal-title" id="logInModalLabel">Log in</h5>
+                    <button type="button" class="close" data-dismiss="modal" aria-label="Close"><span aria-hidden="true">×</span></button>
+                </div>
+                <div class="modal-body">
+                    <form>
+                        <div class="form-group"><label for="loginusername" class="form-control-label">Username:</label><input type="text" class="form-control" id="loginusername"></div>
+                        <div class="form-group"><label for="loginpassword" class="form-control-label">Password:</label><input type="password" class="form-control" id="loginpassword"></div>
+                    </form>
+                </div>
+                <div class="modal-footer">
+                    <button type="button" class="btn btn-secondary" data-dismiss="modal">Close</button>
+                    <button type="button" class="btn btn-primary" onclick="logIn()">Log in</button>
+                </div>
+            </div>
+        </div>
+    </div>
+
+    <!-- Sign up -->
+    <div class="modal fade" id="signInModal" tabindex="-1" role="dialog" aria-labelledby="signInModalLabel" aria-hidden="true">
+        <div class="modal-dialog" role="document">
+            <div class="modal-content">
+                <div class="modal-header">
+                    <h5 class="modal-title" id="signInModalLabel">Sign up</h5>
+                    <button type="button" class="close" data-dismiss="modal" aria-label="Close"><span aria-hidden="true">×</span></button>
+                </div>
+                <div class="modal-body">
+                    <form>
+                        <div class="form-group"><label for="sign-username" class="form-control-label">Username:</label><input type="text" class="form-control" id="sign-username"></div>
+                        <div class="form-group"><label for="sign-password" class="form-control-label">Password:</label><input type="password" class="form-control" id="sign-password"></div>
+                    </form>
+                </div>
+                <div class="modal-footer">
+                    <button type="button" class="btn btn-secondary" data-dismiss="modal">Close</button>
+                    <button type="button" class="btn btn-primary" onclick="register()">Sign up</button>
+                </div>
+            </div>
+        </div>
+    </div>
+`;
+
+// Nav bar and the log in / sign up / contact modals, shared by every page like on the live site
+document.currentScript.insertAdjacentHTML('afterend', SHELL);
+
+// ===== MODALS =====
+
+function showModal(id) {
+    var modal = document.getElementById(id);
+    modal.classList.add('show');
+    modal.setAttribute('style', 'display: block;');
+    modal.removeAttribute('aria-hidden');
+    document.body.classList.add('modal-open');
+    if (!document.querySelector('.modal-backdrop')) {
+        document.body.insertAdjacentHTML('beforeend', '<div class="modal-backdrop fade show"></div>');
+    }
+}
+
+function hideModal(id) {
+    var modal = document.getElementById(id);
+    modal.classList.remove('show');
+    modal.setAttribute('style', 'display: none;');
+    modal.setAttribute('aria-hidden', 'true');
+    document.body.classList.remove('modal-open');
+    var backdrop = document.querySelector('.modal-backdrop');
+    if (backdrop) {
+        backdrop.remove();
+    }
+}
+
+document.addEventListener('click', function (event) {
+    var toggle = event.target.closest('[data-toggle="modal"]');
+    if (toggle) {
+        event.preventDefault();
+        showModal(toggle.getAttribute('data-target').substring(1));
+        return;
+    }
+    var dismiss = event.target.closest('[data-dismiss="modal"]');
+    if (dismiss) {
+        hideModal(dismiss.closest('.modal').id);
+    }
+});
+
+// ===== API AND COOKIES =====
+
+function api(endpoint, body) {
+    return fetch(API_URL + '/' + endpoint, {
+        method: body === undefined ? 'GET' : 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: body === undefined ? undefined : JSON.stringify(body)
+    }).then(function (response) { return response.json(); });
+}
+
+function getCookie(name) {
+    var match = document.cookie.match(new RegExp('(?:^|; )' + name + '=([^;]*)'));
+    return match ? decodeURIComponent(match[1]) : '';
+}
+
+function setCookie(name, value) {
+    document.cookie = name + '=' + encodeURIComponent(value) + '; path=/';
+}
+
+function uuid() {
+    return 'xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx'.replace(/[xy]/g, function (c) {
+        var r = Math.random() * 16 | 0;
+        return (c === 'x' ? r : (r & 0x3 | 0x8)).toString(16);
+    });
+}
+
+// Cart owner: the auth token when logged in, otherwise a guest cookie
+function cartCookie() {
+    var token = getCookie('tokenp_');
+    if (token) {
+        return { cookie: token, flag: true };
+    }
+    if (!getCookie('user')) {
+        setCookie('user', uuid());
+    }
+    return { cookie: getCookie('user'), flag: false };
+}
+
+// ===== ACCOUNT =====
+
+function checkUser() {
+    var token = getCookie('tokenp_');
+    if (!token) {
+        return;
+    }
+    api('check', { token: token }).then(function (data) {
+        if (data.errorMessage) {
+            document.cookie = 'tokenp_=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+            return;
+        }
+        document.getElementById('nameofuser').textContent = 'Welcome ' + data.Item.username;
+        document.getElementById('nameofuser').style.display = 'block';
+        document.getElementById('logout2').style.display = 'block';
+        document.getElementById('login2').style.display = 'none';
+        document.getElementById('signin2').style.display = 'none';
+    });
+}
+
+function logIn() {
+    var username = document.getElementById('loginusername').value;
+    var password = document.getElementById('loginpassword').value;
+    if (username === '' || password === '') {
+        alert('Please fill out Username and Password.');
+        return;
+    }
+    api('login', { username: username, password: btoa(password) }).then(function (data) {
+        if (data.errorMessage) {
+            alert(data.errorMessage);
+            return;
+        }
+        setCookie('tokenp_', data.split('Auth_token: ')[1]);
+        window.location.href = 'index.html';
+    });
+}
+
+function logOut() {
+    document.cookie = 'tokenp_=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+    window.location.href = 'index.html';
+}
+
+function register() {
+    var username = document.getElementById('sign-username').value;
+    var password = document.getElementById('sign-password').value;
+    if (username === '' || password === '') {
+        alert('Please fill out Username and Password.');
+        return;
+    }
+    api('signup', { username: username, password: btoa(password) }).then(function (data) {
+        if (data && data.errorMessage) {
+            alert(data.errorMessage);
+            return;
+        }
+        alert('Sign up successful.');
+        hideModal('signInModal');
+    });
+}
+
+function send() {
+    alert('Thanks for the message!!');
+    hideModal('exampleModal');
+}
+
+// ===== CATALOG =====
+
+var lastEvaluatedId = null;
+
+function renderProducts(items) {
+    document.getElementById('tbodyid').innerHTML = items.map(function (item) {
+        return '<div class="col-lg-4 col-md-6 mb-4"><div class="card h-100">'
+            + '<a href="prod.html?idp_=' + item.id + '"><img class="card-img-top img-fluid" src="' + item.img + '" alt=""></a>'
+            + '<div class="card-block"><h4 class="card-title"><a href="prod.html?idp_=' + item.id + '" class="hrefch">' + item.title + '</a></h4>'
+            + '<h5>$' + item.price + '</h5><p id="article" class="card-text">' + item.desc + '</p></div></div></div>';
+    }).join('');
+}
+
+function showEntries() {
+    checkUser();
+    api('entries').then(function (data) {
+        renderProducts(data.Items);
+        lastEvaluatedId = data.LastEvaluatedKey ? data.LastEvaluatedKey.id : null;
+        document.getElementById('prev2').style.display = 'none';
+        document.getElementById('next2').style.display = lastEvaluatedId ? 'block' : 'none';
+    });
+}
+
+function nextPage() {
+    api('pagination', { id: lastEvaluatedId }).then(function (data) {
+        renderProducts(data.Items);
+        document.getElementById('next2').style.display = 'none';
+        document.getElementById('prev2').style.display = 'block';
+    });
+}
+
+function prevPage() {
+    showEntries();
+}
+
+function byCat(category) {
+    api('bycat', { cat: category }).then(function (data) {
+        renderProducts(data.Items);
+        document.getElementById('next2').style.display = 'none';
+        document.getElementById('prev2').style.display = 'none';
+    });
+}
+
+// ===== PRODUCT =====
+
+function showProduct() {
+    checkUser();
+    var id = new URLSearchParams(window.location.search).get('idp_');
+    api('view', { id: id }).then(function (item) {
+        document.getElementById('tbodyid').innerHTML =
+            '<div class="col-md-5 col-sm-12 col-xs-12"><div class="product-image"><div id="imgp">'
+            + '<div class="item active"><img class="img-responsive" src="' + item.img + '" width="400" height="400"></div></div></div></div>'
+            + '<div class="col-md-7 col-sm-12 col-xs-12"><h2 class="name">' + item.title + '</h2>'
+            + '<h3 class="price-container">$' + item.price + ' <small>*includes tax</small></h3><hr>'
+            + '<div class="description description-tabs"><div id="myTabContent" class="tab-content">'
+            + '<div class="tab-pane fade active in" id="more-information"><p>' + item.desc + '</p></div></div></div><hr>'
+            + '<div class="row"><div class="col-sm-12 col-md-6 col-lg-6">'
+            + '<a href="#" onclick="addToCart(' + item.id + '); return false;" class="btn btn-success btn-lg">Add to cart</a></div></div></div>';
+    });
+}
+
+function addToCart(id) {
+    var owner = cartCookie();
+    api('addtocart', { id: uuid(), cookie: owner.cookie, prod_id: id, flag: owner.flag }).then(function () {
+        alert('Product added.');
+    });
+}
+
+// ===== CART =====
+
+function showCart() {
+    checkUser();
+    var owner = cartCookie();
+    api('viewcart', owner).then(function (data) {
+        return Promise.all(data.Items.map(function (entry) {
+            return api('view', { id: entry.prod_id }).then(function (item) { return { entry: entry, item: item }; });
+        }));
+    }).then(function (rows) {
+        var total = 0;
+        document.getElementById('tbodyid').innerHTML = rows.map(function (row) {
+            total += row.item.price;
+            return '<tr class="success"><td><img width="100" height="100" src="' + row.item.img + '"></td>'
+                + '<td>' + row.item.title + '</td><td>' + row.item.price + '</td>'
+                + '<td><a href="#" onclick="deleteItem(\'' + row.entry.id + '\'); return false;">Delete</a></td></tr>';
+        }).join('');
+        document.getElementById('totalp').textContent = rows.length ? total : '';
+        document.getElementById('totalm').textContent = 'Total: ' + total;
+    });
+}
+
+function deleteItem(id) {
+    api('deleteitem', { id: id }).then(showCart);
+}
+
+function purchaseOrder() {
+    var name = document.getElementById('name').value;
+    var card = document.getElementById('card').value;
+    if (name === '' || card === '') {
+        alert('Please fill out Name and Creditcard.');
+        return;
+    }
+    var now = new Date();
+    var details = 'Id: ' + Math.floor(Math.random() * 9000000 + 1000000)
+        + '<br>Amount: ' + document.getElementById('totalm').textContent.replace('Total: ', '') + ' USD'
+        + '<br>Card Number: ' + card + '<br>Name: ' + name
+        + '<br>Date: ' + now.getDate() + '/' + (now.getMonth() + 1) + '/' + now.getFullYear();
+    hideModal('orderModal');
+    document.body.insertAdjacentHTML('beforeend',
+        '<div class="sweet-overlay" tabindex="-1" style="opacity: 1.1; display: block;"></div>'
+        + '<div class="sweet-alert showSweetAlert visible" style="display: block;">'
+        + '<div class="sa-icon sa-success animate" style="display: block;"></div>'
+        + '<h2>Thank you for your purchase!</h2><p class="lead text-muted " style="display: block;">' + details + '</p>'
+        + '<div class="sa-button-container"><div class="sa-confirm-button-container">'
+        + '<button class="confirm btn btn-lg btn-primary" tabindex="1" style="display: inline-block;" onclick="confirmOrder()">OK</button>'
+        + '</div></div></div>');
+}
+
+function confirmOrder() {
+    api('deletecart', { cookie: cartCookie().cookie }).then(function () {
+        window.location.href = 'index.html';
+    });
+}